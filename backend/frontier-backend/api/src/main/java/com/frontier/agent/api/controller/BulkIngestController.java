@@ -0,0 +1,47 @@
+package com.frontier.agent.api.controller;
+
+import com.frontier.agent.api.service.BulkIngestService;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * NDJSON bulk ingest: one request object per line in, one {@code BulkLineResult} per line
+ * out, streamed as chunks are committed. Lines are validated and committed independently of
+ * each other, so the response is always 200 and callers must check each line's status.
+ */
+@RestController
+@RequestMapping("/api")
+public class BulkIngestController {
+
+    static final String NDJSON = "application/x-ndjson";
+
+    private final BulkIngestService bulkIngestService;
+
+    public BulkIngestController(BulkIngestService bulkIngestService) {
+        this.bulkIngestService = bulkIngestService;
+    }
+
+    @PostMapping(value = "/notes:bulk", consumes = NDJSON)
+    public void notes(InputStream body, HttpServletResponse response) throws IOException {
+        ingest(BulkIngestService.NOTES, body, response);
+    }
+
+    @PostMapping(value = "/tasks:bulk", consumes = NDJSON)
+    public void tasks(InputStream body, HttpServletResponse response) throws IOException {
+        ingest(BulkIngestService.TASKS, body, response);
+    }
+
+    @PostMapping(value = "/events:bulk", consumes = NDJSON)
+    public void events(InputStream body, HttpServletResponse response) throws IOException {
+        ingest(BulkIngestService.EVENTS, body, response);
+    }
+
+    private void ingest(BulkIngestService.Kind<?> kind, InputStream body, HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        bulkIngestService.ingest(kind, body, response.getOutputStream());
+    }
+}
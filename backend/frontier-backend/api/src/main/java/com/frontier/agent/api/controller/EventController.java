@@ -2,6 +2,7 @@ package com.frontier.agent.api.controller;
 
 import com.frontier.agent.api.dto.EventRequest;
 import com.frontier.agent.api.service.TimelineService;
+import com.frontier.agent.api.service.UserListCache;
 import com.frontier.agent.domain.model.Event;
 import com.frontier.agent.domain.repository.EventRepository;
 import jakarta.validation.Valid;
@@ -21,10 +22,12 @@ public class EventController {
 
     private final EventRepository eventRepository;
     private final TimelineService timelineService;
+    private final UserListCache userListCache;
 
-    public EventController(EventRepository eventRepository, TimelineService timelineService) {
+    public EventController(EventRepository eventRepository, TimelineService timelineService, UserListCache userListCache) {
         this.eventRepository = eventRepository;
         this.timelineService = timelineService;
+        this.userListCache = userListCache;
     }
 
     @PostMapping
@@ -35,12 +38,13 @@ public class EventController {
         event.setDescription(request.description());
         event.setScheduledAt(Instant.parse(request.scheduledAt()));
         Event saved = eventRepository.save(event);
+        userListCache.invalidate(UserListCache.Kind.EVENT, saved.getUserId());
         timelineService.record(saved.getUserId(), saved.getScheduledAt(), "event", saved.getId(), "{}");
         return ResponseEntity.ok(saved);
     }
 
     @GetMapping("/user/{userId}")
     public List<Event> byUser(@PathVariable String userId) {
-        return eventRepository.findByUserId(userId);
+        return userListCache.list(UserListCache.Kind.EVENT, userId, () -> eventRepository.findByUserId(userId));
     }
 }
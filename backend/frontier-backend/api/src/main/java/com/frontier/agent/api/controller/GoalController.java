@@ -2,6 +2,7 @@ package com.frontier.agent.api.controller;
 
 import com.frontier.agent.api.dto.GoalRequest;
 import com.frontier.agent.api.service.TimelineService;
+import com.frontier.agent.api.service.UserListCache;
 import com.frontier.agent.domain.model.Goal;
 import com.frontier.agent.domain.repository.GoalRepository;
 import jakarta.validation.Valid;
@@ -21,10 +22,12 @@ public class GoalController {
 
     private final GoalRepository goalRepository;
     private final TimelineService timelineService;
+    private final UserListCache userListCache;
 
-    public GoalController(GoalRepository goalRepository, TimelineService timelineService) {
+    public GoalController(GoalRepository goalRepository, TimelineService timelineService, UserListCache userListCache) {
         this.goalRepository = goalRepository;
         this.timelineService = timelineService;
+        this.userListCache = userListCache;
     }
 
     @PostMapping
@@ -37,12 +40,13 @@ public class GoalController {
             goal.setDueAt(Instant.parse(request.dueAt()));
         }
         Goal saved = goalRepository.save(goal);
+        userListCache.invalidate(UserListCache.Kind.GOAL, saved.getUserId());
         timelineService.record(saved.getUserId(), Instant.now(), "goal", saved.getId(), "{}");
         return ResponseEntity.ok(saved);
     }
 
     @GetMapping("/user/{userId}")
     public List<Goal> byUser(@PathVariable String userId) {
-        return goalRepository.findByUserId(userId);
+        return userListCache.list(UserListCache.Kind.GOAL, userId, () -> goalRepository.findByUserId(userId));
     }
 }
@@ -2,6 +2,7 @@ package com.frontier.agent.api.controller;
 
 import com.frontier.agent.api.dto.NoteRequest;
 import com.frontier.agent.api.service.TimelineService;
+import com.frontier.agent.api.service.UserListCache;
 import com.frontier.agent.domain.model.Note;
 import com.frontier.agent.domain.model.NoteType;
 import com.frontier.agent.domain.repository.NoteRepository;
@@ -26,10 +27,12 @@ public class NoteController {
 
     private final NoteRepository noteRepository;
     private final TimelineService timelineService;
+    private final UserListCache userListCache;
 
-    public NoteController(NoteRepository noteRepository, TimelineService timelineService) {
+    public NoteController(NoteRepository noteRepository, TimelineService timelineService, UserListCache userListCache) {
         this.noteRepository = noteRepository;
         this.timelineService = timelineService;
+        this.userListCache = userListCache;
     }
 
     @PostMapping
@@ -44,6 +47,7 @@ public class NoteController {
             note.setOccurredAt(Instant.parse(request.occurredAt()));
         }
         Note saved = noteRepository.save(note);
+        userListCache.invalidate(UserListCache.Kind.NOTE, saved.getUserId());
         timelineService.record(saved.getUserId(), saved.getOccurredAt() != null ? saved.getOccurredAt() : Instant.now(),
                 "note", saved.getId(), "{}");
         log.info("note created {} for user {}", saved.getId(), saved.getUserId());
@@ -52,6 +56,6 @@ public class NoteController {
 
     @GetMapping("/user/{userId}")
     public List<Note> byUser(@PathVariable String userId) {
-        return noteRepository.findByUserId(userId);
+        return userListCache.list(UserListCache.Kind.NOTE, userId, () -> noteRepository.findByUserId(userId));
     }
 }
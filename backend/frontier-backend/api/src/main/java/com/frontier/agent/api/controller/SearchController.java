@@ -0,0 +1,42 @@
+package com.frontier.agent.api.controller;
+
+import com.frontier.agent.domain.search.SearchItemType;
+import com.frontier.agent.domain.search.SearchPage;
+import com.frontier.agent.domain.service.SearchService;
+import java.util.EnumSet;
+import java.util.List;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    @GetMapping("/{userId}")
+    public SearchPage search(
+            @PathVariable String userId,
+            @RequestParam String q,
+            @RequestParam(required = false) List<String> type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return searchService.search(userId, q, parseTypes(type), cursor, limit);
+    }
+
+    static EnumSet<SearchItemType> parseTypes(List<String> types) {
+        if (types == null || types.isEmpty()) {
+            return null;
+        }
+        var parsed = EnumSet.noneOf(SearchItemType.class);
+        types.forEach(type -> parsed.add(SearchItemType.valueOf(type.toUpperCase())));
+        return parsed;
+    }
+}
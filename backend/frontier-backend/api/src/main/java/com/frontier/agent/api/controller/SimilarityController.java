@@ -0,0 +1,43 @@
+package com.frontier.agent.api.controller;
+
+import com.frontier.agent.domain.service.SimilarityService;
+import com.frontier.agent.domain.vector.SimilarItem;
+import com.frontier.agent.domain.vector.VectorItemType;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/similar")
+public class SimilarityController {
+
+    private final SimilarityService similarityService;
+
+    public SimilarityController(SimilarityService similarityService) {
+        this.similarityService = similarityService;
+    }
+
+    @GetMapping("/{userId}/{type}/{id}")
+    public List<SimilarItem> related(
+            @PathVariable String userId,
+            @PathVariable String type,
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "10") int k,
+            @RequestParam(required = false) List<String> types) {
+        return similarityService.related(userId, VectorItemType.valueOf(type.toUpperCase()), id, k, parseTypes(types));
+    }
+
+    static EnumSet<VectorItemType> parseTypes(List<String> types) {
+        if (types == null || types.isEmpty()) {
+            return null;
+        }
+        var parsed = EnumSet.noneOf(VectorItemType.class);
+        types.forEach(type -> parsed.add(VectorItemType.valueOf(type.toUpperCase())));
+        return parsed;
+    }
+}
@@ -2,6 +2,7 @@ package com.frontier.agent.api.controller;
 
 import com.frontier.agent.api.dto.TaskRequest;
 import com.frontier.agent.api.service.TimelineService;
+import com.frontier.agent.api.service.UserListCache;
 import com.frontier.agent.domain.model.Task;
 import com.frontier.agent.domain.repository.TaskRepository;
 import jakarta.validation.Valid;
@@ -21,10 +22,12 @@ public class TaskController {
 
     private final TaskRepository taskRepository;
     private final TimelineService timelineService;
+    private final UserListCache userListCache;
 
-    public TaskController(TaskRepository taskRepository, TimelineService timelineService) {
+    public TaskController(TaskRepository taskRepository, TimelineService timelineService, UserListCache userListCache) {
         this.taskRepository = taskRepository;
         this.timelineService = timelineService;
+        this.userListCache = userListCache;
     }
 
     @PostMapping
@@ -37,6 +40,7 @@ public class TaskController {
             task.setDueAt(Instant.parse(request.dueAt()));
         }
         Task saved = taskRepository.save(task);
+        userListCache.invalidate(UserListCache.Kind.TASK, saved.getUserId());
         timelineService.record(saved.getUserId(), saved.getDueAt() != null ? saved.getDueAt() : Instant.now(),
                 "task", saved.getId(), "{}");
         return ResponseEntity.ok(saved);
@@ -44,6 +48,6 @@ public class TaskController {
 
     @GetMapping("/user/{userId}")
     public List<Task> byUser(@PathVariable String userId) {
-        return taskRepository.findByUserId(userId);
+        return userListCache.list(UserListCache.Kind.TASK, userId, () -> taskRepository.findByUserId(userId));
     }
 }
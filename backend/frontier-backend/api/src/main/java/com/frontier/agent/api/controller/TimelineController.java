@@ -0,0 +1,46 @@
+package com.frontier.agent.api.controller;
+
+import com.frontier.agent.api.dto.TimelinePage;
+import com.frontier.agent.api.service.TimelineService;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/timeline")
+public class TimelineController {
+
+    private final TimelineService timelineService;
+
+    public TimelineController(TimelineService timelineService) {
+        this.timelineService = timelineService;
+    }
+
+    @GetMapping("/{userId}")
+    public TimelinePage page(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) List<String> entryType,
+            @RequestParam(required = false) Integer limit) {
+        return timelineService.page(userId, cursor,
+                from != null ? Instant.parse(from) : null,
+                to != null ? Instant.parse(to) : null,
+                entryType, limit);
+    }
+
+    /** A malformed cursor or {@code from}/{@code to} instant is the client's mistake. */
+    @ExceptionHandler({IllegalArgumentException.class, DateTimeException.class})
+    public ProblemDetail badRequest(RuntimeException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+}
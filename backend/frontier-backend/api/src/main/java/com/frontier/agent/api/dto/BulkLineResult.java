@@ -0,0 +1,15 @@
+package com.frontier.agent.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.UUID;
+
+/** Outcome of one NDJSON line of a bulk request; {@code line} is 1-based. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkLineResult(long line, Status status, UUID id, String error) {
+
+    public enum Status {
+        CREATED,
+        REJECTED,
+        FAILED
+    }
+}
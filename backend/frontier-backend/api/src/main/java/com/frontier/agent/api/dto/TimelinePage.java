@@ -0,0 +1,7 @@
+package com.frontier.agent.api.dto;
+
+import com.frontier.agent.domain.model.TimelineEntryView;
+import java.util.List;
+
+public record TimelinePage(List<TimelineEntryView> items, String nextCursor) {
+}
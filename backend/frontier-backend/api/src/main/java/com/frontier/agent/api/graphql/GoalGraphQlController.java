@@ -0,0 +1,57 @@
+package com.frontier.agent.api.graphql;
+
+import com.frontier.agent.domain.model.Event;
+import com.frontier.agent.domain.model.Goal;
+import com.frontier.agent.domain.model.Note;
+import com.frontier.agent.domain.model.Task;
+import com.frontier.agent.domain.repository.EventRepository;
+import com.frontier.agent.domain.repository.NoteRepository;
+import com.frontier.agent.domain.repository.TaskRepository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.stereotype.Controller;
+
+/**
+ * Resolves the children of {@code Goal} through DataLoaders: every goal in a response
+ * shares one {@code goal_id IN (...)} query per field instead of one query per goal.
+ */
+@Controller
+public class GoalGraphQlController {
+
+    private final TaskRepository taskRepository;
+    private final NoteRepository noteRepository;
+    private final EventRepository eventRepository;
+
+    public GoalGraphQlController(TaskRepository taskRepository, NoteRepository noteRepository, EventRepository eventRepository) {
+        this.taskRepository = taskRepository;
+        this.noteRepository = noteRepository;
+        this.eventRepository = eventRepository;
+    }
+
+    @BatchMapping
+    public List<List<Task>> tasks(List<Goal> goals) {
+        return byGoal(goals, taskRepository::findByGoalIdIn, Task::getGoalId);
+    }
+
+    @BatchMapping
+    public List<List<Note>> notes(List<Goal> goals) {
+        return byGoal(goals, noteRepository::findByGoalIdIn, Note::getGoalId);
+    }
+
+    @BatchMapping
+    public List<List<Event>> events(List<Goal> goals) {
+        return byGoal(goals, eventRepository::findByGoalIdIn, Event::getGoalId);
+    }
+
+    private static <T> List<List<T>> byGoal(List<Goal> goals, Function<Collection<UUID>, List<T>> loader,
+                                            Function<T, UUID> goalId) {
+        var ids = goals.stream().map(Goal::getId).distinct().toList();
+        Map<UUID, List<T>> grouped = loader.apply(ids).stream().collect(Collectors.groupingBy(goalId));
+        return goals.stream().map(goal -> grouped.getOrDefault(goal.getId(), List.of())).toList();
+    }
+}
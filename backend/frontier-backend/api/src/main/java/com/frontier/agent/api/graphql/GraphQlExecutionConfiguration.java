@@ -0,0 +1,18 @@
+package com.frontier.agent.api.graphql;
+
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Routes document lookup through the persisted query cache. Instrumentation beans such as
+ * {@link QueryCostInstrumentation} are picked up by Boot without extra wiring.
+ */
+@Configuration
+public class GraphQlExecutionConfiguration {
+
+    @Bean
+    GraphQlSourceBuilderCustomizer persistedQueryCustomizer(PersistedQueryDocumentProvider documentProvider) {
+        return builder -> builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(documentProvider));
+    }
+}
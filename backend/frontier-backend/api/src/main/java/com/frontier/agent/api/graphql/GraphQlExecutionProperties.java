@@ -0,0 +1,51 @@
+package com.frontier.agent.api.graphql;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "frontier.graphql")
+public class GraphQlExecutionProperties {
+
+    /** Parsed and validated documents kept in memory, keyed by the SHA-256 of the query text. */
+    private int documentCacheSize = 1_000;
+
+    /** Queries whose static cost exceeds this are rejected before any resolver runs. */
+    private int maxCost = 10_000;
+
+    /** Assumed fan-out of list fields that take no page-size argument, such as {@code Goal.tasks}. */
+    private int defaultListSize = 10;
+
+    /** Distinct operation names tagged on metrics; later names are reported as {@code other}. */
+    private int maxOperationTags = 100;
+
+    public int getDocumentCacheSize() {
+        return documentCacheSize;
+    }
+
+    public void setDocumentCacheSize(int documentCacheSize) {
+        this.documentCacheSize = documentCacheSize;
+    }
+
+    public int getMaxCost() {
+        return maxCost;
+    }
+
+    public void setMaxCost(int maxCost) {
+        this.maxCost = maxCost;
+    }
+
+    public int getDefaultListSize() {
+        return defaultListSize;
+    }
+
+    public void setDefaultListSize(int defaultListSize) {
+        this.defaultListSize = defaultListSize;
+    }
+
+    public int getMaxOperationTags() {
+        return maxOperationTags;
+    }
+
+    public void setMaxOperationTags(int maxOperationTags) {
+        this.maxOperationTags = maxOperationTags;
+    }
+}
@@ -3,6 +3,8 @@ package com.frontier.agent.api.graphql;
 import com.frontier.agent.api.dto.GoalRequest;
 import com.frontier.agent.api.dto.NoteRequest;
 import com.frontier.agent.api.dto.TaskRequest;
+import com.frontier.agent.api.service.UserListCache;
+import com.frontier.agent.domain.datasource.ReadYourWrites;
 import com.frontier.agent.domain.model.Goal;
 import com.frontier.agent.domain.model.Note;
 import com.frontier.agent.domain.model.Task;
@@ -10,38 +12,56 @@ import com.frontier.agent.domain.repository.GoalRepository;
 import com.frontier.agent.domain.repository.NoteRepository;
 import com.frontier.agent.domain.repository.TaskRepository;
 import java.time.Instant;
-import java.util.List;
+import java.util.function.BiFunction;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.query.ScrollSubrange;
 import org.springframework.stereotype.Controller;
 
 @Controller
 public class NoteGraphQlController {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+    // id breaks created_at ties so keyset cursors are total.
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
     private final NoteRepository noteRepository;
     private final GoalRepository goalRepository;
     private final TaskRepository taskRepository;
+    private final UserListCache userListCache;
+    private final ReadYourWrites readYourWrites;
 
-    public NoteGraphQlController(NoteRepository noteRepository, GoalRepository goalRepository, TaskRepository taskRepository) {
+    public NoteGraphQlController(NoteRepository noteRepository, GoalRepository goalRepository, TaskRepository taskRepository,
+                                 UserListCache userListCache, ReadYourWrites readYourWrites) {
         this.noteRepository = noteRepository;
         this.goalRepository = goalRepository;
         this.taskRepository = taskRepository;
+        this.userListCache = userListCache;
+        this.readYourWrites = readYourWrites;
     }
 
     @QueryMapping
-    public List<Note> notesByUser(@Argument String userId) {
-        return noteRepository.findByUserId(userId);
+    public Window<Note> notesByUser(@Argument String userId, ScrollSubrange subrange) {
+        return page(UserListCache.Kind.NOTE, userId, subrange,
+                (position, limit) -> noteRepository.findByUserId(userId, position, limit, NEWEST_FIRST));
     }
 
     @QueryMapping
-    public List<Goal> goalsByUser(@Argument String userId) {
-        return goalRepository.findByUserId(userId);
+    public Window<Goal> goalsByUser(@Argument String userId, ScrollSubrange subrange) {
+        return page(UserListCache.Kind.GOAL, userId, subrange,
+                (position, limit) -> goalRepository.findByUserId(userId, position, limit, NEWEST_FIRST));
     }
 
     @QueryMapping
-    public List<Task> tasksByUser(@Argument String userId) {
-        return taskRepository.findByUserId(userId);
+    public Window<Task> tasksByUser(@Argument String userId, ScrollSubrange subrange) {
+        return page(UserListCache.Kind.TASK, userId, subrange,
+                (position, limit) -> taskRepository.findByUserId(userId, position, limit, NEWEST_FIRST));
     }
 
     @MutationMapping
@@ -52,7 +72,9 @@ public class NoteGraphQlController {
         if (input.occurredAt() != null) {
             note.setOccurredAt(Instant.parse(input.occurredAt()));
         }
-        return noteRepository.save(note);
+        Note saved = noteRepository.save(note);
+        userListCache.invalidate(UserListCache.Kind.NOTE, saved.getUserId());
+        return saved;
     }
 
     @MutationMapping
@@ -64,7 +86,9 @@ public class NoteGraphQlController {
         if (input.dueAt() != null) {
             goal.setDueAt(Instant.parse(input.dueAt()));
         }
-        return goalRepository.save(goal);
+        Goal saved = goalRepository.save(goal);
+        userListCache.invalidate(UserListCache.Kind.GOAL, saved.getUserId());
+        return saved;
     }
 
     @MutationMapping
@@ -76,6 +100,30 @@ public class NoteGraphQlController {
         if (input.dueAt() != null) {
             task.setDueAt(Instant.parse(input.dueAt()));
         }
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        userListCache.invalidate(UserListCache.Kind.TASK, saved.getUserId());
+        return saved;
+    }
+
+    /** Only the unpositioned first page is cached; that is what polling dashboards ask for. */
+    private <T> Window<T> page(UserListCache.Kind kind, String userId, ScrollSubrange subrange,
+                               BiFunction<ScrollPosition, Limit, Window<T>> query) {
+        var limit = limit(subrange);
+        if (subrange.position().isPresent() || !subrange.forward()) {
+            return readYourWrites.readFor(userId, () -> query.apply(position(subrange), limit));
+        }
+        return userListCache.get(kind, userId, "first:" + limit.max(),
+                () -> query.apply(ScrollPosition.keyset(), limit), Window::size);
+    }
+
+    private static ScrollPosition position(ScrollSubrange subrange) {
+        return subrange.position().orElseGet(() -> subrange.forward()
+                ? ScrollPosition.keyset()
+                : ScrollPosition.keyset().backward());
+    }
+
+    private static Limit limit(ScrollSubrange subrange) {
+        int count = subrange.count().orElse(DEFAULT_PAGE_SIZE);
+        return Limit.of(Math.max(1, Math.min(count, MAX_PAGE_SIZE)));
     }
 }
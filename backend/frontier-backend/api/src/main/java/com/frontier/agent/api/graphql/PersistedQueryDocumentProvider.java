@@ -0,0 +1,123 @@
+package com.frontier.agent.api.graphql;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import graphql.execution.preparsed.persisted.PersistedQueryCache;
+import graphql.execution.preparsed.persisted.PersistedQueryCacheMiss;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serves parsed and validated documents from an in-memory LRU keyed by the SHA-256 of the
+ * query text. Clients may send only the hash using Apollo's automatic persisted queries
+ * ({@code extensions.persistedQuery.sha256Hash}). A hash the cache has never seen answers
+ * {@code PersistedQueryNotFound}, and the client retries with the full text. Plain queries are
+ * hashed the same way, so repeated operations skip parsing and validation either way.
+ * Documents that fail validation are never cached.
+ */
+@Component
+@EnableConfigurationProperties(GraphQlExecutionProperties.class)
+public class PersistedQueryDocumentProvider extends ApolloPersistedQuerySupport {
+
+    public PersistedQueryDocumentProvider(GraphQlExecutionProperties properties, MeterRegistry meterRegistry) {
+        super(new DocumentCache(properties.getDocumentCacheSize(), meterRegistry));
+    }
+
+    @Override
+    protected Optional<Object> getPersistedQueryId(ExecutionInput executionInput) {
+        var persisted = super.getPersistedQueryId(executionInput);
+        if (persisted.isPresent()) {
+            return persisted;
+        }
+        var query = executionInput.getQuery();
+        if (query == null || query.isBlank() || PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(query)) {
+            return Optional.empty();
+        }
+        return Optional.of(sha256(query));
+    }
+
+    static String sha256(String query) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(query.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static final class DocumentCache implements PersistedQueryCache {
+
+        private final Map<Object, PreparsedDocumentEntry> documents;
+        private final Counter hits;
+        private final Counter misses;
+
+        private DocumentCache(int capacity, MeterRegistry meterRegistry) {
+            this.documents = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, PreparsedDocumentEntry> eldest) {
+                    return size() > capacity;
+                }
+            };
+            this.hits = documentCounter(meterRegistry, "hit");
+            this.misses = documentCounter(meterRegistry, "miss");
+            Gauge.builder("frontier.graphql.documents.cached", this, DocumentCache::size)
+                    .description("Parsed GraphQL documents held in the persisted query cache")
+                    .register(meterRegistry);
+        }
+
+        @Override
+        public CompletableFuture<PreparsedDocumentEntry> getPersistedQueryDocumentAsync(Object persistedQueryId,
+                                                                                        ExecutionInput executionInput,
+                                                                                        PersistedQueryCacheMiss onCacheMiss)
+                throws PersistedQueryNotFound {
+            PreparsedDocumentEntry cached;
+            synchronized (documents) {
+                cached = documents.get(persistedQueryId);
+            }
+            if (cached != null) {
+                hits.increment();
+                return CompletableFuture.completedFuture(cached);
+            }
+            misses.increment();
+            var query = executionInput.getQuery();
+            if (PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(query)) {
+                query = null;
+            }
+            // Parse outside the lock; two racing misses for the same text both validate, which is harmless.
+            var entry = onCacheMiss.apply(query);
+            if (!entry.hasErrors()) {
+                synchronized (documents) {
+                    documents.putIfAbsent(persistedQueryId, entry);
+                }
+            }
+            return CompletableFuture.completedFuture(entry);
+        }
+
+        private int size() {
+            synchronized (documents) {
+                return documents.size();
+            }
+        }
+
+        private static Counter documentCounter(MeterRegistry meterRegistry, String result) {
+            return Counter.builder("frontier.graphql.documents")
+                    .description("Persisted query cache lookups")
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.frontier.agent.api.graphql;
+
+import graphql.ExecutionResult;
+import graphql.analysis.FieldComplexityEnvironment;
+import graphql.analysis.QueryComplexityCalculator;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.schema.GraphQLTypeUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Prices every operation from its document and variables before execution and aborts those
+ * above {@code frontier.graphql.max-cost}. Each field costs one. A list field multiplies the
+ * cost of its selection by the expected number of elements. That number is the
+ * {@code first}/{@code last}/{@code k} argument on the field or its parent, the default page
+ * size if the field is pageable, or {@code default-list-size} otherwise. Records latency and
+ * cost per operation name.
+ */
+@Component
+@EnableConfigurationProperties(GraphQlExecutionProperties.class)
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final String[] PAGE_ARGUMENTS = {"first", "last", "k"};
+    private static final String ANONYMOUS = "anonymous";
+    private static final String OTHER = "other";
+
+    private final GraphQlExecutionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> taggedOperations = ConcurrentHashMap.newKeySet();
+    private final Counter rejected;
+
+    public QueryCostInstrumentation(GraphQlExecutionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.rejected = Counter.builder("frontier.graphql.rejected")
+                .description("Operations refused because their static cost exceeded the budget")
+                .tag("reason", "cost")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        return new CostState(parameters.getExecutionInput().getOperationName());
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecution(InstrumentationExecutionParameters parameters,
+                                                                  InstrumentationState state) {
+        long start = System.nanoTime();
+        var costState = (CostState) state;
+        return SimpleInstrumentationContext.whenCompleted((result, throwable) -> {
+            String outcome;
+            if (costState.rejected) {
+                outcome = "rejected";
+            } else if (throwable != null || (result != null && !result.getErrors().isEmpty())) {
+                outcome = "error";
+            } else {
+                outcome = "success";
+            }
+            String operation = operationTag(costState.operationName);
+            Timer.builder("frontier.graphql.operation")
+                    .description("GraphQL request latency including parse, validation and execution")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (costState.cost >= 0) {
+                DistributionSummary.builder("frontier.graphql.operation.cost")
+                        .description("Static cost of executed GraphQL operations")
+                        .tag("operation", operation)
+                        .register(meterRegistry)
+                        .record(costState.cost);
+            }
+        });
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters,
+                                                                         InstrumentationState state) {
+        var context = parameters.getExecutionContext();
+        var costState = (CostState) state;
+        if (costState.operationName == null) {
+            costState.operationName = context.getOperationDefinition().getName();
+        }
+        int cost = QueryComplexityCalculator.newCalculator()
+                .schema(context.getGraphQLSchema())
+                .document(context.getDocument())
+                .operationName(context.getExecutionInput().getOperationName())
+                .variables(context.getCoercedVariables())
+                .fieldComplexityCalculator(this::fieldCost)
+                .build()
+                .calculate();
+        costState.cost = cost;
+        if (cost > properties.getMaxCost()) {
+            costState.rejected = true;
+            rejected.increment();
+            throw new AbortExecutionException("Query cost " + cost + " exceeds the limit of " + properties.getMaxCost());
+        }
+        return SimpleInstrumentationContext.noOp();
+    }
+
+    private int fieldCost(FieldComplexityEnvironment environment, int childComplexity) {
+        long cost = 1 + (long) fanOut(environment) * childComplexity;
+        return (int) Math.min(cost, Integer.MAX_VALUE);
+    }
+
+    private int fanOut(FieldComplexityEnvironment environment) {
+        if (!GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(environment.getFieldDefinition().getType()))) {
+            return 1;
+        }
+        var parent = environment.getParentEnvironment();
+        Integer requested = pageSize(environment);
+        if (requested == null && parent != null) {
+            requested = pageSize(parent);
+        }
+        if (requested != null) {
+            return requested;
+        }
+        if (pageable(environment) || (parent != null && pageable(parent))) {
+            return NoteGraphQlController.DEFAULT_PAGE_SIZE;
+        }
+        return properties.getDefaultListSize();
+    }
+
+    private static Integer pageSize(FieldComplexityEnvironment environment) {
+        for (var name : PAGE_ARGUMENTS) {
+            if (environment.getArguments().get(name) instanceof Number size) {
+                return Math.max(0, size.intValue());
+            }
+        }
+        return null;
+    }
+
+    private static boolean pageable(FieldComplexityEnvironment environment) {
+        for (var name : PAGE_ARGUMENTS) {
+            if (environment.getFieldDefinition().getArgument(name) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String operationTag(String operationName) {
+        if (operationName == null || operationName.isBlank()) {
+            return ANONYMOUS;
+        }
+        if (taggedOperations.contains(operationName)) {
+            return operationName;
+        }
+        // Operation names come from clients; cap how many become meter tags.
+        if (taggedOperations.size() < properties.getMaxOperationTags() && taggedOperations.add(operationName)) {
+            return operationName;
+        }
+        return taggedOperations.contains(operationName) ? operationName : OTHER;
+    }
+
+    private static final class CostState implements InstrumentationState {
+        private volatile String operationName;
+        private volatile int cost = -1;
+        private volatile boolean rejected;
+
+        private CostState(String operationName) {
+            this.operationName = operationName;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.frontier.agent.api.graphql;
+
+import com.frontier.agent.domain.search.SearchItemType;
+import com.frontier.agent.domain.search.SearchPage;
+import com.frontier.agent.domain.service.SearchService;
+import java.util.EnumSet;
+import java.util.List;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.stereotype.Controller;
+
+@Controller
+public class SearchGraphQlController {
+
+    private final SearchService searchService;
+
+    public SearchGraphQlController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    @QueryMapping
+    public SearchPage search(@Argument String userId, @Argument String query, @Argument List<String> types,
+                             @Argument Integer first, @Argument String after) {
+        EnumSet<SearchItemType> filter = null;
+        if (types != null && !types.isEmpty()) {
+            filter = EnumSet.noneOf(SearchItemType.class);
+            for (var value : types) {
+                filter.add(SearchItemType.valueOf(value.toUpperCase()));
+            }
+        }
+        return searchService.search(userId, query, filter, after, first);
+    }
+}
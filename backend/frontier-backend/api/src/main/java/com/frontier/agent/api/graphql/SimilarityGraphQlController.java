@@ -0,0 +1,35 @@
+package com.frontier.agent.api.graphql;
+
+import com.frontier.agent.domain.service.SimilarityService;
+import com.frontier.agent.domain.vector.SimilarItem;
+import com.frontier.agent.domain.vector.VectorItemType;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.stereotype.Controller;
+
+@Controller
+public class SimilarityGraphQlController {
+
+    private final SimilarityService similarityService;
+
+    public SimilarityGraphQlController(SimilarityService similarityService) {
+        this.similarityService = similarityService;
+    }
+
+    @QueryMapping
+    public List<SimilarItem> relatedItems(@Argument String userId, @Argument String type, @Argument String id,
+                                          @Argument Integer k, @Argument List<String> types) {
+        EnumSet<VectorItemType> filter = null;
+        if (types != null && !types.isEmpty()) {
+            filter = EnumSet.noneOf(VectorItemType.class);
+            for (var value : types) {
+                filter.add(VectorItemType.valueOf(value.toUpperCase()));
+            }
+        }
+        return similarityService.related(userId, VectorItemType.valueOf(type.toUpperCase()), UUID.fromString(id),
+                k != null ? k : 10, filter);
+    }
+}
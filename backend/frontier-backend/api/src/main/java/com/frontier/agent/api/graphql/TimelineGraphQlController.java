@@ -0,0 +1,28 @@
+package com.frontier.agent.api.graphql;
+
+import com.frontier.agent.api.dto.TimelinePage;
+import com.frontier.agent.api.service.TimelineService;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.stereotype.Controller;
+
+@Controller
+public class TimelineGraphQlController {
+
+    private final TimelineService timelineService;
+
+    public TimelineGraphQlController(TimelineService timelineService) {
+        this.timelineService = timelineService;
+    }
+
+    @QueryMapping
+    public TimelinePage timeline(@Argument String userId, @Argument Integer first, @Argument String after,
+                                 @Argument String from, @Argument String to, @Argument List<String> entryTypes) {
+        return timelineService.page(userId, after,
+                from != null ? Instant.parse(from) : null,
+                to != null ? Instant.parse(to) : null,
+                entryTypes, first);
+    }
+}
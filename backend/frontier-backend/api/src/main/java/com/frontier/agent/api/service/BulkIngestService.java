@@ -0,0 +1,285 @@
+package com.frontier.agent.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.frontier.agent.api.dto.BulkLineResult;
+import com.frontier.agent.api.dto.BulkLineResult.Status;
+import com.frontier.agent.api.dto.EventRequest;
+import com.frontier.agent.api.dto.NoteRequest;
+import com.frontier.agent.api.dto.TaskRequest;
+import com.frontier.agent.domain.model.NoteType;
+import com.frontier.agent.domain.model.TaskStatus;
+import com.frontier.agent.domain.model.Uuids;
+import com.frontier.agent.domain.repository.CopyBatch;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Streams NDJSON bulk requests into Postgres. The body is read one bounded line at a time
+ * and written in chunks, so memory stays constant however large the upload. Each chunk
+ * inserts its entities, their timeline rows and their projection outbox rows with
+ * {@code COPY} in one transaction, which is what {@code TimelineService.record} does for a
+ * single entity. Results are streamed back as one NDJSON line per input line.
+ */
+@Service
+public class BulkIngestService {
+
+    static final int CHUNK_SIZE = 500;
+    static final int MAX_LINE_CHARS = 256 * 1024;
+
+    private static final Logger log = LoggerFactory.getLogger(BulkIngestService.class);
+    private static final String METADATA = "{}";
+    private static final int LINE = 0;
+    private static final int TOO_LONG = 1;
+    private static final int END_OF_INPUT = -1;
+
+    public static final Kind<NoteRequest> NOTES = new Kind<>("note", NoteRequest.class, request -> {
+        var type = request.type() != null ? NoteType.valueOf(request.type().toUpperCase(Locale.ROOT)) : NoteType.NOTE;
+        var occurredAt = request.occurredAt() != null ? Instant.parse(request.occurredAt()) : null;
+        return new BulkRow(request.userId(), occurredAt, (batch, id, now) -> batch
+                .uuid(id).text(request.userId()).text(request.content()).text(type.name()).timestamp(occurredAt)
+                .timestamp(now).timestamp(now).number(0).endRow());
+    }, "note", "id", "user_id", "content", "type", "occurred_at", "created_at", "updated_at", "version");
+
+    public static final Kind<TaskRequest> TASKS = new Kind<>("task", TaskRequest.class, request -> {
+        var dueAt = request.dueAt() != null ? Instant.parse(request.dueAt()) : null;
+        return new BulkRow(request.userId(), dueAt, (batch, id, now) -> batch
+                .uuid(id).text(request.userId()).text(request.title()).text(request.description())
+                .text(TaskStatus.PENDING.name()).timestamp(dueAt)
+                .timestamp(now).timestamp(now).number(0).endRow());
+    }, "task", "id", "user_id", "title", "description", "status", "due_at", "created_at", "updated_at", "version");
+
+    public static final Kind<EventRequest> EVENTS = new Kind<>("event", EventRequest.class, request -> {
+        var scheduledAt = Instant.parse(request.scheduledAt());
+        return new BulkRow(request.userId(), scheduledAt, (batch, id, now) -> batch
+                .uuid(id).text(request.userId()).text(request.name()).text(request.description()).timestamp(scheduledAt)
+                .timestamp(now).timestamp(now).number(0).endRow());
+    }, "event", "id", "user_id", "name", "description", "scheduled_at", "created_at", "updated_at", "version");
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserListCache userListCache;
+
+    public BulkIngestService(ObjectMapper objectMapper, Validator validator, JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate, UserListCache userListCache) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.userListCache = userListCache;
+    }
+
+    public <T> void ingest(Kind<T> kind, InputStream body, OutputStream out) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(kind.requestType());
+        var writer = objectMapper.writer();
+        var input = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        var line = new StringBuilder();
+        List<Pending> chunk = new ArrayList<>(CHUNK_SIZE);
+        long lineNumber = 0;
+        int state;
+        while ((state = readLine(input, line)) != END_OF_INPUT) {
+            lineNumber++;
+            if (state == TOO_LONG) {
+                chunk.add(Pending.rejected(lineNumber, "line exceeds " + MAX_LINE_CHARS + " characters"));
+            } else if (!line.toString().isBlank()) {
+                chunk.add(parse(kind, reader, lineNumber, line.toString()));
+            }
+            if (chunk.size() >= CHUNK_SIZE) {
+                writeChunk(kind, chunk);
+                respond(writer, out, chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(kind, chunk);
+            respond(writer, out, chunk);
+        }
+    }
+
+    private <T> Pending parse(Kind<T> kind, ObjectReader reader, long lineNumber, String line) {
+        T request;
+        try {
+            request = reader.readValue(line);
+        } catch (JsonProcessingException ex) {
+            return Pending.rejected(lineNumber, "malformed JSON: " + ex.getOriginalMessage());
+        }
+        if (request == null) {
+            return Pending.rejected(lineNumber, "expected a JSON object");
+        }
+        var violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return Pending.rejected(lineNumber, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        try {
+            return new Pending(lineNumber, kind.mapper().apply(request));
+        } catch (DateTimeParseException | IllegalArgumentException ex) {
+            return Pending.rejected(lineNumber, ex.getMessage());
+        }
+    }
+
+    private void writeChunk(Kind<?> kind, List<Pending> chunk) {
+        var accepted = chunk.stream().filter(pending -> pending.record != null).toList();
+        if (accepted.isEmpty()) {
+            return;
+        }
+        var knownUsers = knownUsers(accepted);
+        var entities = new CopyBatch(kind.table(), kind.columns());
+        var timeline = new CopyBatch("timeline_entry", "id", "user_id", "occurred_at", "entry_type", "entry_id",
+                "metadata", "created_at", "updated_at", "version");
+        var outbox = new CopyBatch("projection_outbox", "target_table", "user_id", "occurred_at", "entry_type",
+                "entry_id", "metadata", "next_attempt_at", "created_at");
+        var now = Instant.now();
+        List<Pending> written = new ArrayList<>(accepted.size());
+        for (var pending : accepted) {
+            var record = pending.record;
+            if (!knownUsers.contains(record.userId())) {
+                pending.reject("unknown user " + record.userId());
+                continue;
+            }
+            var id = Uuids.timeOrdered();
+            var occurredAt = record.timelineAt() != null ? record.timelineAt() : now;
+            record.row().append(entities, id, now);
+            timeline.uuid(Uuids.timeOrdered()).text(record.userId()).timestamp(occurredAt).text(kind.entryType())
+                    .uuid(id).text(METADATA).timestamp(now).timestamp(now).number(0).endRow();
+            outbox.text("timeline_feed").text(record.userId()).timestamp(occurredAt).text(kind.entryType())
+                    .uuid(id).text(METADATA).timestamp(now).timestamp(now).endRow();
+            pending.id = id;
+            written.add(pending);
+        }
+        if (written.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                try {
+                    entities.copyIn(connection);
+                    timeline.copyIn(connection);
+                    outbox.copyIn(connection);
+                } catch (IOException ex) {
+                    throw new SQLException("COPY stream failed", ex);
+                }
+                return null;
+            }));
+            written.forEach(pending -> pending.status = Status.CREATED);
+            UserListCache.Kind.fromTable(kind.table()).ifPresent(cacheKind -> written.stream()
+                    .map(pending -> pending.record.userId())
+                    .distinct()
+                    .forEach(userId -> userListCache.invalidate(cacheKind, userId)));
+        } catch (RuntimeException ex) {
+            log.warn("bulk {} chunk of {} rows failed", kind.entryType(), written.size(), ex);
+            var message = NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+            for (var pending : written) {
+                pending.id = null;
+                pending.status = Status.FAILED;
+                pending.error = message;
+            }
+        }
+    }
+
+    private Set<String> knownUsers(List<Pending> accepted) {
+        var userIds = accepted.stream().map(pending -> pending.record.userId()).distinct().toArray(String[]::new);
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM app_user WHERE id = ANY (?)", String.class,
+                (Object) userIds));
+    }
+
+    private static void respond(ObjectWriter writer, OutputStream out, List<Pending> chunk) throws IOException {
+        for (var pending : chunk) {
+            out.write(writer.writeValueAsBytes(new BulkLineResult(pending.line, pending.status, pending.id, pending.error)));
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads up to the next newline into {@code line}. Lines longer than
+     * {@link #MAX_LINE_CHARS} are skipped rather than buffered.
+     */
+    private static int readLine(BufferedReader input, StringBuilder line) throws IOException {
+        line.setLength(0);
+        boolean tooLong = false;
+        int c = input.read();
+        if (c == -1) {
+            return END_OF_INPUT;
+        }
+        while (c != -1 && c != '\n') {
+            if (!tooLong) {
+                if (line.length() == MAX_LINE_CHARS) {
+                    tooLong = true;
+                    line.setLength(0);
+                } else if (c != '\r') {
+                    line.append((char) c);
+                }
+            }
+            c = input.read();
+        }
+        return tooLong ? TOO_LONG : LINE;
+    }
+
+    /** Bulk-insertable entity kind: request type, target table and how a request becomes a row. */
+    public record Kind<T>(String entryType, Class<T> requestType, Function<T, BulkRow> mapper, String table,
+                          String... columns) {
+    }
+
+    /** A validated line: its owner, its timeline position ({@code null} for now) and its row. */
+    public record BulkRow(String userId, Instant timelineAt, RowWriter row) {
+    }
+
+    @FunctionalInterface
+    public interface RowWriter {
+        void append(CopyBatch batch, UUID id, Instant now);
+    }
+
+    private static final class Pending {
+        private final long line;
+        private final BulkRow record;
+        private Status status;
+        private UUID id;
+        private String error;
+
+        private Pending(long line, BulkRow record) {
+            this.line = line;
+            this.record = record;
+        }
+
+        static Pending rejected(long line, String error) {
+            var pending = new Pending(line, null);
+            pending.reject(error);
+            return pending;
+        }
+
+        void reject(String error) {
+            this.status = Status.REJECTED;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.frontier.agent.api.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque {@code (occurredAt, id)} position in a user's timeline. Clients only ever echo
+ * the encoded form back, which leaves us free to change the layout later.
+ */
+public record TimelineCursor(Instant occurredAt, UUID id) {
+
+    /** Sorts below every real id so a cursor built from a window end excludes that instant. */
+    static final UUID MIN_ID = new UUID(0L, 0L);
+
+    public String encode() {
+        var raw = occurredAt.toString() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TimelineCursor decode(String encoded) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new TimelineCursor(Instant.parse(raw.substring(0, separator)), UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Malformed timeline cursor", ex);
+        }
+    }
+}
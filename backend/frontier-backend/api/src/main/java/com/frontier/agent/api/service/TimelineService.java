@@ -1,24 +1,44 @@
 package com.frontier.agent.api.service;
 
-import com.frontier.agent.clients.aws.DynamoProjectionWriter;
+import com.frontier.agent.api.dto.TimelinePage;
+import com.frontier.agent.domain.datasource.ReadYourWrites;
+import com.frontier.agent.domain.model.ProjectionOutbox;
 import com.frontier.agent.domain.model.TimelineEntry;
+import com.frontier.agent.domain.model.TimelineEntryView;
+import com.frontier.agent.domain.repository.ProjectionOutboxRepository;
 import com.frontier.agent.domain.repository.TimelineEntryRepository;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class TimelineService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+    private static final Instant OPEN_START = Instant.EPOCH;
+    private static final Instant OPEN_END = Instant.parse("9999-12-31T00:00:00Z");
+
     private final TimelineEntryRepository repository;
-    private final DynamoProjectionWriter projectionWriter;
+    private final ProjectionOutboxRepository outboxRepository;
+    private final ReadYourWrites readYourWrites;
 
-    public TimelineService(TimelineEntryRepository repository, DynamoProjectionWriter projectionWriter) {
+    public TimelineService(TimelineEntryRepository repository, ProjectionOutboxRepository outboxRepository,
+                           ReadYourWrites readYourWrites) {
         this.repository = repository;
-        this.projectionWriter = projectionWriter;
+        this.outboxRepository = outboxRepository;
+        this.readYourWrites = readYourWrites;
     }
 
+    /**
+     * Persists the entry and queues its DynamoDB projection in the same transaction. The
+     * worker's outbox relay performs the actual write, keeping the round trip off the
+     * request path.
+     */
     @Transactional
     public TimelineEntry record(String userId, Instant occurredAt, String type, UUID entryId, String metadata) {
         TimelineEntry entry = new TimelineEntry();
@@ -28,7 +48,45 @@ public class TimelineService {
         entry.setEntryId(entryId);
         entry.setMetadata(metadata);
         var saved = repository.save(entry);
-        projectionWriter.writeTimelineEntry("timeline_feed", userId, occurredAt, type, entryId.toString(), metadata);
+        outboxRepository.save(new ProjectionOutbox("timeline_feed", userId, occurredAt, type, entryId, metadata));
+        readYourWrites.recordWrite(userId);
         return saved;
     }
+
+    /**
+     * Returns one page of a user's timeline, newest first, within {@code [from, to)}. Pages
+     * seek from the cursor rather than skipping rows, so page cost stays flat however deep
+     * the client has scrolled.
+     * <p>
+     * The connection is fetched lazily at the first query, so pinning the user to the primary
+     * here still takes effect inside this read-only transaction.
+     */
+    @Transactional(readOnly = true)
+    public TimelinePage page(String userId, String cursor, Instant from, Instant to,
+                             Collection<String> entryTypes, Integer size) {
+        return readYourWrites.readFor(userId, () -> readPage(userId, cursor, from, to, entryTypes, size));
+    }
+
+    private TimelinePage readPage(String userId, String cursor, Instant from, Instant to,
+                                  Collection<String> entryTypes, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        var position = cursor != null
+                ? TimelineCursor.decode(cursor)
+                : new TimelineCursor(to != null ? to : OPEN_END, TimelineCursor.MIN_ID);
+        if (to != null && position.occurredAt().isAfter(to)) {
+            position = new TimelineCursor(to, TimelineCursor.MIN_ID);
+        }
+        var lowerBound = from != null ? from : OPEN_START;
+        // Fetch one extra row to learn whether another page exists without a count query.
+        var limit = Limit.of(pageSize + 1);
+        List<TimelineEntryView> rows = entryTypes == null || entryTypes.isEmpty()
+                ? repository.findPage(userId, lowerBound, position.occurredAt(), position.id(), limit)
+                : repository.findPageByEntryTypes(userId, entryTypes, lowerBound, position.occurredAt(), position.id(), limit);
+        if (rows.size() <= pageSize) {
+            return new TimelinePage(rows, null);
+        }
+        var items = rows.subList(0, pageSize);
+        var last = items.get(pageSize - 1);
+        return new TimelinePage(List.copyOf(items), new TimelineCursor(last.occurredAt(), last.id()).encode());
+    }
 }
@@ -0,0 +1,234 @@
+package com.frontier.agent.api.service;
+
+import com.frontier.agent.domain.datasource.ReadYourWrites;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-through cache of per-user lists. Entries are weighted by row count and evicted
+ * least-recently-used once the total passes {@code max-weight}. One user can hold several
+ * views of the same list, such as the full REST list and the first GraphQL page. They are
+ * all dropped together on {@link #invalidate}.
+ * <p>
+ * Writes reach the cache through {@link UserListChangeListener}. The cache is only consulted
+ * while that listener holds a live LISTEN connection. A load that overlaps an invalidation
+ * of the same user is returned but not stored, so a stale read cannot outlive the
+ * notification that should have removed it.
+ * <p>
+ * Loads run through {@link ReadYourWrites}, and every invalidation counts as a write by that
+ * user. With read replicas enabled, a user whose lists just changed, on any instance, is read
+ * from the primary, so a lagging replica cannot refill the cache with the old list.
+ */
+@Component
+@EnableConfigurationProperties(UserListCacheProperties.class)
+public class UserListCache {
+
+    public enum Kind {
+        NOTE("note"), GOAL("goal"), TASK("task"), EVENT("event");
+
+        private final String table;
+
+        Kind(String table) {
+            this.table = table;
+        }
+
+        public static Optional<Kind> fromTable(String table) {
+            for (var kind : values()) {
+                if (kind.table.equals(table)) {
+                    return Optional.of(kind);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    static final String FULL_LIST = "all";
+
+    private static final int STRIPES = 1024;
+
+    private final UserListCacheProperties properties;
+    private final ReadYourWrites readYourWrites;
+    private final long maxAgeNanos;
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+    private final Map<Kind, Counter> hits = new EnumMap<>(Kind.class);
+    private final Map<Kind, Counter> misses = new EnumMap<>(Kind.class);
+    private final Map<Kind, Counter> bypassed = new EnumMap<>(Kind.class);
+    private final Counter sizeEvictions;
+    private final Counter expiredEvictions;
+    private final Counter invalidations;
+    private long weight;
+    private volatile boolean live;
+
+    public UserListCache(UserListCacheProperties properties, ReadYourWrites readYourWrites, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.readYourWrites = readYourWrites;
+        this.maxAgeNanos = properties.getMaxAge().toNanos();
+        for (var kind : Kind.values()) {
+            hits.put(kind, getCounter(meterRegistry, kind, "hit"));
+            misses.put(kind, getCounter(meterRegistry, kind, "miss"));
+            bypassed.put(kind, getCounter(meterRegistry, kind, "bypass"));
+        }
+        this.sizeEvictions = evictionCounter(meterRegistry, "size");
+        this.expiredEvictions = evictionCounter(meterRegistry, "expired");
+        this.invalidations = meterRegistry.counter("frontier.user_list_cache.invalidations");
+        Gauge.builder("frontier.user_list_cache.weight", this, UserListCache::weight)
+                .description("Rows held across all cached user lists")
+                .register(meterRegistry);
+        Gauge.builder("frontier.user_list_cache.users", this, UserListCache::users)
+                .description("User and kind pairs with at least one cached view")
+                .register(meterRegistry);
+    }
+
+    public <T> List<T> list(Kind kind, String userId, Supplier<List<T>> loader) {
+        return get(kind, userId, FULL_LIST, loader, List::size);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Kind kind, String userId, String view, Supplier<T> loader, ToIntFunction<? super T> weigher) {
+        if (!properties.isEnabled() || !live) {
+            bypassed.get(kind).increment();
+            return readYourWrites.readFor(userId, loader);
+        }
+        var key = new Key(kind, userId);
+        synchronized (entries) {
+            var entry = entries.get(key);
+            var slot = entry != null ? entry.views.get(view) : null;
+            if (slot != null) {
+                if (System.nanoTime() - slot.loadedAt <= maxAgeNanos) {
+                    hits.get(kind).increment();
+                    return (T) slot.value;
+                }
+                remove(key, entry, view);
+                expiredEvictions.increment();
+            }
+        }
+        misses.get(kind).increment();
+        int stripe = stripe(key);
+        long stamp = stamps.get(stripe);
+        var loadedAt = System.nanoTime();
+        T value = readYourWrites.readFor(userId, loader);
+        int slotWeight = Math.max(1, weigher.applyAsInt(value));
+        if (slotWeight > properties.getMaxWeight()) {
+            return value;
+        }
+        synchronized (entries) {
+            if (!live || stamps.get(stripe) != stamp) {
+                return value;
+            }
+            var entry = entries.computeIfAbsent(key, ignore -> new Entry());
+            var previous = entry.views.put(view, new Slot(value, slotWeight, loadedAt));
+            int delta = slotWeight - (previous != null ? previous.weight : 0);
+            entry.weight += delta;
+            weight += delta;
+            evictToFit();
+        }
+        return value;
+    }
+
+    public void invalidate(Kind kind, String userId) {
+        readYourWrites.recordWrite(userId);
+        var key = new Key(kind, userId);
+        stamps.incrementAndGet(stripe(key));
+        synchronized (entries) {
+            var entry = entries.remove(key);
+            if (entry != null) {
+                weight -= entry.weight;
+                invalidations.increment();
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        for (int i = 0; i < STRIPES; i++) {
+            stamps.incrementAndGet(i);
+        }
+        synchronized (entries) {
+            entries.clear();
+            weight = 0;
+        }
+    }
+
+    /**
+     * Called by the change listener. Anything cached before a connection drop may have missed
+     * its notification, so both transitions start from an empty cache.
+     */
+    void setLive(boolean live) {
+        this.live = live;
+        invalidateAll();
+    }
+
+    private void remove(Key key, Entry entry, String view) {
+        var slot = entry.views.remove(view);
+        if (slot != null) {
+            entry.weight -= slot.weight;
+            weight -= slot.weight;
+        }
+        if (entry.views.isEmpty()) {
+            entries.remove(key);
+        }
+    }
+
+    private void evictToFit() {
+        var iterator = entries.values().iterator();
+        while (weight > properties.getMaxWeight() && iterator.hasNext()) {
+            var eldest = iterator.next();
+            iterator.remove();
+            weight -= eldest.weight;
+            sizeEvictions.increment();
+        }
+    }
+
+    private double weight() {
+        synchronized (entries) {
+            return weight;
+        }
+    }
+
+    private double users() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static int stripe(Key key) {
+        return (key.hashCode() & 0x7fffffff) % STRIPES;
+    }
+
+    private static Counter getCounter(MeterRegistry meterRegistry, Kind kind, String result) {
+        return Counter.builder("frontier.user_list_cache.gets")
+                .description("User list lookups; hit ratio is hit / (hit + miss)")
+                .tag("kind", kind.table)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Counter evictionCounter(MeterRegistry meterRegistry, String cause) {
+        return Counter.builder("frontier.user_list_cache.evictions")
+                .tag("cause", cause)
+                .register(meterRegistry);
+    }
+
+    private record Key(Kind kind, String userId) {
+    }
+
+    private static final class Entry {
+        private final Map<String, Slot> views = new HashMap<>(4);
+        private long weight;
+    }
+
+    private record Slot(Object value, int weight, long loadedAt) {
+    }
+}
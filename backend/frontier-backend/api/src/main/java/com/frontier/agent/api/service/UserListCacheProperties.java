@@ -0,0 +1,61 @@
+package com.frontier.agent.api.service;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "frontier.user-list-cache")
+public class UserListCacheProperties {
+
+    private boolean enabled = true;
+
+    /** Total rows held across all cached lists; least recently used users are evicted first. */
+    private long maxWeight = 200_000;
+
+    /** Backstop for a notification that never arrives; entries older than this are reloaded. */
+    private Duration maxAge = Duration.ofMinutes(5);
+
+    /** How long the listener waits for notifications before checking its connection again. */
+    private Duration pollTimeout = Duration.ofSeconds(10);
+
+    private Duration reconnectBackoff = Duration.ofSeconds(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    public void setMaxWeight(long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    public Duration getPollTimeout() {
+        return pollTimeout;
+    }
+
+    public void setPollTimeout(Duration pollTimeout) {
+        this.pollTimeout = pollTimeout;
+    }
+
+    public Duration getReconnectBackoff() {
+        return reconnectBackoff;
+    }
+
+    public void setReconnectBackoff(Duration reconnectBackoff) {
+        this.reconnectBackoff = reconnectBackoff;
+    }
+}
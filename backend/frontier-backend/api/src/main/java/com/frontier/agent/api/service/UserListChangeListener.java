@@ -0,0 +1,112 @@
+package com.frontier.agent.api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds a dedicated connection LISTENing on {@value #CHANNEL}, which the V6 triggers signal
+ * with {@code <table>:<user id>} whenever a user's notes, goals, tasks or events change,
+ * on this instance or any other. The connection sits outside the Hikari pool so it never
+ * costs a request a slot and a dropped socket is simply replaced. A poll that returns nothing
+ * is followed by a bounded {@link java.sql.Connection#isValid} round trip, so a half-open
+ * connection that would never deliver another notification is noticed and replaced too.
+ * While it is down the cache is bypassed.
+ */
+@Component
+public class UserListChangeListener {
+
+    static final String CHANNEL = "frontier_user_lists";
+
+    private static final Logger log = LoggerFactory.getLogger(UserListChangeListener.class);
+
+    private final UserListCache cache;
+    private final UserListCacheProperties properties;
+    private final DataSource dataSource;
+    private final Counter notifications;
+    private final Counter reconnects;
+    private final Thread listener;
+    private volatile boolean running = true;
+
+    public UserListChangeListener(UserListCache cache, UserListCacheProperties properties,
+                                  DataSourceProperties dataSourceProperties, MeterRegistry meterRegistry) {
+        this.cache = cache;
+        this.properties = properties;
+        this.dataSource = dataSourceProperties.initializeDataSourceBuilder().type(SimpleDriverDataSource.class).build();
+        this.notifications = meterRegistry.counter("frontier.user_list_cache.notifications");
+        this.reconnects = meterRegistry.counter("frontier.user_list_cache.listener.reconnects");
+        this.listener = new Thread(this::run, "user-list-listener");
+        this.listener.setDaemon(true);
+        if (properties.isEnabled()) {
+            this.listener.start();
+        }
+    }
+
+    private void run() {
+        int pollMillis = (int) Math.max(1, properties.getPollTimeout().toMillis());
+        int checkSeconds = (int) Math.max(1, properties.getPollTimeout().toSeconds());
+        while (running) {
+            try (var connection = dataSource.getConnection()) {
+                var pgConnection = connection.unwrap(PGConnection.class);
+                try (var statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                cache.setLive(true);
+                log.info("Listening for user list changes on {}", CHANNEL);
+                while (running) {
+                    var received = pgConnection.getNotifications(pollMillis);
+                    if (received == null || received.length == 0) {
+                        if (!connection.isValid(checkSeconds)) {
+                            throw new SQLException("Listener connection failed its check after an empty poll");
+                        }
+                        continue;
+                    }
+                    for (var notification : received) {
+                        handle(notification.getParameter());
+                    }
+                }
+            } catch (SQLException | RuntimeException ex) {
+                if (running) {
+                    log.warn("User list change listener lost its connection; caching is off until it reconnects", ex);
+                }
+            } finally {
+                cache.setLive(false);
+            }
+            if (running) {
+                reconnects.increment();
+                try {
+                    Thread.sleep(properties.getReconnectBackoff().toMillis());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void handle(String payload) {
+        notifications.increment();
+        int separator = payload.indexOf(':');
+        if (separator <= 0) {
+            log.warn("Ignoring malformed user list notification '{}'", payload);
+            return;
+        }
+        var userId = payload.substring(separator + 1);
+        UserListCache.Kind.fromTable(payload.substring(0, separator))
+                .ifPresent(kind -> cache.invalidate(kind, userId));
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        listener.interrupt();
+    }
+}
@@ -0,0 +1,29 @@
+package com.frontier.agent.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.Main;
+
+/**
+ * Entry point of {@code benchmarks.jar}. Behaves like JMH's own main but defaults to JSON
+ * results in {@code jmh-result.json} so runs can be diffed with tooling such as
+ * jmh.morethan.io; pass {@code -rf}/{@code -rff} to override.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>(List.of(args));
+        if (!arguments.contains("-rf")) {
+            arguments.add("-rf");
+            arguments.add("json");
+        }
+        if (!arguments.contains("-rff")) {
+            arguments.add("-rff");
+            arguments.add("jmh-result.json");
+        }
+        Main.main(arguments.toArray(String[]::new));
+    }
+}
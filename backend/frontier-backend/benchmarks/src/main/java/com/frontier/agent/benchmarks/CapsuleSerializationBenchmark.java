@@ -0,0 +1,92 @@
+package com.frontier.agent.benchmarks;
+
+import com.frontier.agent.clients.debug.DebugCapsuleLocation;
+import com.frontier.agent.clients.debug.DebugCapsuleProperties;
+import com.frontier.agent.clients.debug.S3DebugCapsuleWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+
+/**
+ * Caller-side cost of {@link S3DebugCapsuleWriter#write}: JSON serialization plus request
+ * building, against an S3 client that completes immediately. With {@code batch} the call
+ * only serializes and enqueues; packing happens on the pipeline's flusher thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CapsuleSerializationBenchmark {
+
+    @Param({"false", "true"})
+    private boolean batch;
+
+    private S3DebugCapsuleWriter writer;
+    private Map<String, Object> payload;
+
+    @Setup
+    public void setUp() {
+        var properties = new DebugCapsuleProperties();
+        properties.setBatchEnabled(batch);
+        // Keep the queue from sampling so every call measures the accepted path.
+        properties.setSampleAbove(1.0);
+        properties.setQueueCapacity(1_000_000);
+        properties.setQueueMaxBytes(Long.MAX_VALUE);
+        writer = new S3DebugCapsuleWriter(new CompletingS3Client(), properties, new SimpleMeterRegistry());
+        payload = new HashMap<>();
+        payload.put("user_id", "user-7f3c2a");
+        payload.put("content", "x".repeat(2_000));
+        payload.put("tags", List.of("career", "interview", "health"));
+        payload.put("context", Map.of("schema_version", "v1", "agent", "NoteParserAgent", "attempt", 3));
+    }
+
+    @TearDown
+    public void tearDown() {
+        writer.close();
+    }
+
+    @Benchmark
+    public CompletableFuture<DebugCapsuleLocation> write() {
+        return writer.write("debug-capsules", "note-parser-bench.json", payload);
+    }
+
+    static final class CompletingS3Client implements S3AsyncClient {
+
+        private static final PutObjectResponse RESPONSE = PutObjectResponse.builder().versionId("bench").build();
+
+        @Override
+        public CompletableFuture<PutObjectResponse> putObject(PutObjectRequest request, AsyncRequestBody body) {
+            return CompletableFuture.completedFuture(RESPONSE);
+        }
+
+        @Override
+        public String serviceName() {
+            return "s3";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.frontier.agent.benchmarks;
+
+import com.frontier.agent.observability.logging.CorrelationIdFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Per-request overhead of {@link CorrelationIdFilter}, with the header supplied by the
+ * caller and with an ID generated server-side.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CorrelationIdFilterBenchmark {
+
+    private static final FilterChain NOOP_CHAIN = (request, response) -> {
+    };
+
+    private final CorrelationIdFilter filter = new CorrelationIdFilter();
+    private MockHttpServletRequest withHeader;
+    private MockHttpServletRequest withoutHeader;
+
+    @Setup
+    public void setUp() throws ServletException {
+        filter.init(new MockFilterConfig());
+        withHeader = new MockHttpServletRequest("GET", "/api/notes/user/user-7f3c2a");
+        withHeader.addHeader(CorrelationIdFilter.HEADER, "4b7e0c8e-1f7a-4d8e-9a57-0c3b1e2f6d90");
+        withoutHeader = new MockHttpServletRequest("GET", "/api/notes/user/user-7f3c2a");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse propagatedId() throws ServletException, IOException {
+        return run(withHeader);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse generatedId() throws ServletException, IOException {
+        return run(withoutHeader);
+    }
+
+    private MockHttpServletResponse run(MockHttpServletRequest request) throws ServletException, IOException {
+        // OncePerRequestFilter marks the request as filtered; clear it so each call does the work.
+        request.clearAttributes();
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, NOOP_CHAIN);
+        return response;
+    }
+}
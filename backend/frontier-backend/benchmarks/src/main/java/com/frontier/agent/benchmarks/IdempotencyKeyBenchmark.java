@@ -0,0 +1,53 @@
+package com.frontier.agent.benchmarks;
+
+import com.frontier.agent.domain.service.PayloadFingerprint;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Idempotency-key derivation for a typical job payload: the original 32-bit
+ * {@code toString().hashCode()} scheme against the canonical 128-bit fingerprint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdempotencyKeyBenchmark {
+
+    private Map<String, Object> payload;
+
+    @Setup
+    public void setUp() {
+        payload = new HashMap<>();
+        payload.put("user_id", "user-7f3c2a");
+        payload.put("goal_id", "0d6f5a1e-5b8e-4a55-9c7e-3f0c7e2b9a11");
+        payload.put("content", "Prepare for the system design interview on Friday: review caching, queues and sharding.");
+        payload.put("source", "mobile");
+        payload.put("attempt", 1);
+        payload.put("tags", List.of("career", "interview"));
+    }
+
+    @Benchmark
+    public String legacyHashKey() {
+        return "note-parser-" + Integer.toHexString(payload.toString().hashCode());
+    }
+
+    @Benchmark
+    public String fingerprintKey() {
+        return "note-parser-" + PayloadFingerprint.of(payload);
+    }
+}
@@ -0,0 +1,137 @@
+package com.frontier.agent.benchmarks;
+
+import com.frontier.agent.clients.aws.DynamoBatchProperties;
+import com.frontier.agent.clients.aws.DynamoProjectionWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+
+/**
+ * One outbox batch of {@code rows} projections over {@code users} users, relayed through
+ * {@link DynamoProjectionWriter} in batch mode to a stub client that answers each
+ * {@code BatchWriteItem} after {@code callMillis}. {@code USER_CHAIN} submits each user's
+ * rows one after another, as the relay first did; {@code ITEM_KEYED} submits every row at
+ * once and only chains rows for the same item, as {@code ProjectionOutboxRelay} does now.
+ * The {@code calls} and {@code items} counters give items per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OutboxBatchingBenchmark {
+
+    @Param({"USER_CHAIN", "ITEM_KEYED"})
+    String submission;
+
+    @Param({"500"})
+    int rows;
+
+    @Param({"1", "20"})
+    int users;
+
+    @Param({"5"})
+    long callMillis;
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong items = new AtomicLong();
+    private DynamoProjectionWriter writer;
+    private List<Row> batch;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class BatchCounters {
+        public long calls;
+        public long items;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var properties = new DynamoBatchProperties();
+        properties.setEnabled(true);
+        writer = new DynamoProjectionWriter(new StubClient(), properties, new SimpleMeterRegistry());
+        var start = Instant.parse("2026-01-01T00:00:00Z");
+        batch = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Row("user-" + (i % users), start.plusSeconds(i), "NOTE", "entry-" + i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        writer.close();
+    }
+
+    @Benchmark
+    public void relay(BatchCounters counters) {
+        long callsBefore = calls.get();
+        long itemsBefore = items.get();
+        Map<String, List<Row>> chains = new LinkedHashMap<>();
+        for (var row : batch) {
+            var key = "USER_CHAIN".equals(submission)
+                    ? row.userId()
+                    : DynamoProjectionWriter.timelineItemKey("timeline", row.userId(), row.occurredAt(), row.entryType());
+            chains.computeIfAbsent(key, ignore -> new ArrayList<>()).add(row);
+        }
+        CompletableFuture.allOf(chains.values().stream().map(this::publishInOrder).toArray(CompletableFuture[]::new))
+                .join();
+        counters.calls += calls.get() - callsBefore;
+        counters.items += items.get() - itemsBefore;
+    }
+
+    private CompletableFuture<Void> publishInOrder(List<Row> chain) {
+        CompletableFuture<Void> future = CompletableFuture.completedFuture(null);
+        for (var row : chain) {
+            future = future.thenCompose(ignore -> writer.writeTimelineEntry(
+                    "timeline", row.userId(), row.occurredAt(), row.entryType(), row.entryId(), null));
+        }
+        return future;
+    }
+
+    private record Row(String userId, Instant occurredAt, String entryType, String entryId) {
+    }
+
+    private final class StubClient implements DynamoDbAsyncClient {
+
+        @Override
+        public CompletableFuture<BatchWriteItemResponse> batchWriteItem(BatchWriteItemRequest request) {
+            calls.incrementAndGet();
+            request.requestItems().values().forEach(requests -> items.addAndGet(requests.size()));
+            return CompletableFuture.supplyAsync(() -> BatchWriteItemResponse.builder().build(),
+                    CompletableFuture.delayedExecutor(callMillis, TimeUnit.MILLISECONDS));
+        }
+
+        @Override
+        public String serviceName() {
+            return "dynamodb";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.frontier.agent.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frontier.agent.domain.model.Goal;
+import com.frontier.agent.domain.model.GoalStatus;
+import com.frontier.agent.domain.model.Note;
+import com.frontier.agent.domain.model.NoteType;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Serialization of the {@code /user/{userId}} list responses with the same Jackson setup
+ * Spring MVC uses. The embedding is serialized as part of the entity today, so it is a
+ * parameter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({"0", "1536"})
+    int embeddingDimensions;
+
+    @Param({"50"})
+    int listSize;
+
+    private ObjectMapper mapper;
+    private List<Note> notes;
+    private List<Goal> goals;
+
+    @Setup
+    public void setUp() {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        var random = new Random(42);
+        notes = new ArrayList<>(listSize);
+        goals = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            var note = new Note();
+            note.setUserId("user-7f3c2a");
+            note.setContent("Reflection " + i + ": shipped the planner, need better sleep before interviews.");
+            note.setType(NoteType.JOURNAL);
+            note.setOccurredAt(Instant.parse("2024-06-01T08:00:00Z").plusSeconds(i * 3600L));
+            note.setTags(Set.of("career", "health"));
+            note.setGoalId(UUID.randomUUID());
+            note.setEmbedding(embedding(random));
+            notes.add(note);
+
+            var goal = new Goal();
+            goal.setUserId("user-7f3c2a");
+            goal.setTitle("Goal " + i);
+            goal.setDescription("Run a half marathon under two hours by autumn.");
+            goal.setStatus(GoalStatus.ACTIVE);
+            goal.setDueAt(Instant.parse("2024-10-01T00:00:00Z"));
+            goal.setPlanId(UUID.randomUUID());
+            goal.setEmbedding(embedding(random));
+            goals.add(goal);
+        }
+    }
+
+    private float[] embedding(Random random) {
+        if (embeddingDimensions == 0) {
+            return null;
+        }
+        var vector = new float[embeddingDimensions];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    @Benchmark
+    public byte[] notes() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(notes);
+    }
+
+    @Benchmark
+    public byte[] goals() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(goals);
+    }
+}
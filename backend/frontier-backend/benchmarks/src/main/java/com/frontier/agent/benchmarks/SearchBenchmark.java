@@ -0,0 +1,158 @@
+package com.frontier.agent.benchmarks;
+
+import com.frontier.agent.domain.datasource.ReadReplicaProperties;
+import com.frontier.agent.domain.datasource.ReadYourWrites;
+import com.frontier.agent.domain.search.SearchPage;
+import com.frontier.agent.domain.search.SearchProperties;
+import com.frontier.agent.domain.service.SearchService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@link SearchService} latency against a real Postgres, migrated to V13, holding
+ * {@code rows} notes plus a tenth as many each of goals, tasks and events over {@code users}
+ * users. A tenth of all rows belong to user 0, the heavy account where ranking every match
+ * costs most. The dataset is seeded on first run and reused while its marker user exists.
+ * Point {@code jdbcUrl} at a disposable database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(8)
+@Fork(1)
+public class SearchBenchmark {
+
+    private static final String[] TERMS = {"deadline", "launch", "review", "budget", "migration", "hiring"};
+    private static final String VOCABULARY = "'{deadline,launch,review,budget,migration,hiring,design,meeting,"
+            + "customer,invoice,roadmap,incident,feedback,travel,training,release,contract,report,planning,"
+            + "research,prototype,interview,onboarding,quarterly,metrics,backlog,sprint,retro,vendor,audit}'";
+
+    @Param({"jdbc:postgresql://localhost:5432/frontier_bench"})
+    String jdbcUrl;
+
+    @Param({"frontier"})
+    String username;
+
+    @Param({"frontier"})
+    String password;
+
+    @Param({"2000000"})
+    int rows;
+
+    @Param({"1000"})
+    int users;
+
+    private HikariDataSource dataSource;
+    private TransactionTemplate transactions;
+    private SearchService searchService;
+    private String nextCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(jdbcUrl);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(8);
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        seed(jdbcTemplate);
+        transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactions.setReadOnly(true);
+        searchService = new SearchService(new NamedParameterJdbcTemplate(jdbcTemplate), new SearchProperties(),
+                new ReadYourWrites(new ReadReplicaProperties()), new SimpleMeterRegistry());
+        nextCursor = search(0, TERMS[0], null).nextCursor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public SearchPage typicalUserFirstPage() {
+        var random = ThreadLocalRandom.current();
+        return search(1 + random.nextInt(users - 1), TERMS[random.nextInt(TERMS.length)], null);
+    }
+
+    @Benchmark
+    public SearchPage heavyUserFirstPage() {
+        return search(0, TERMS[ThreadLocalRandom.current().nextInt(TERMS.length)], null);
+    }
+
+    @Benchmark
+    public SearchPage heavyUserNextPage() {
+        return search(0, TERMS[0], nextCursor);
+    }
+
+    @Benchmark
+    public SearchPage heavyUserPhrase() {
+        return search(0, "\"quarterly review\" -travel", null);
+    }
+
+    private SearchPage search(int user, String query, String cursor) {
+        return transactions.execute(status -> searchService.search(userId(user), query, null, cursor, 20));
+    }
+
+    private static String userId(int user) {
+        return new UUID(0xBE4C4L, user).toString();
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        var marker = "search-bench-" + rows + "-" + users + "@frontier.invalid";
+        Integer seeded = jdbcTemplate.queryForObject("SELECT count(*) FROM app_user WHERE email = ?", Integer.class, marker);
+        if (seeded != null && seeded > 0) {
+            return;
+        }
+        // Users are UUIDs with a fixed high half so userId(n) finds them again.
+        jdbcTemplate.update("""
+                INSERT INTO app_user (id, email)
+                SELECT CAST('00000000000be4c4' || lpad(to_hex(u), 16, '0') AS uuid),
+                       'search-bench-user-' || u || '@frontier.invalid'
+                FROM generate_series(0, ? - 1) u
+                ON CONFLICT DO NOTHING""", users);
+        // 30 words per note, 6 per title and 20 per description, drawn from a small vocabulary
+        // so every term matches a realistic share of rows; the g > 0 keeps the draw per row.
+        String owner = "CAST('00000000000be4c4' || lpad(to_hex("
+                + "CASE WHEN g % 10 = 0 THEN 0 ELSE 1 + g % (" + (users - 1) + ") END), 16, '0') AS uuid)::text";
+        String words = "array_to_string(ARRAY(SELECT (" + VOCABULARY + "::text[])[1 + floor(random() * 30)::int] "
+                + "FROM generate_series(1, %d) WHERE g > 0), ' ')";
+        jdbcTemplate.update("INSERT INTO note (id, user_id, content, type) SELECT uuid_generate_v4(), " + owner + ", "
+                + words.formatted(30) + ", 'NOTE' FROM generate_series(1, ?) g", rows);
+        for (var table : new String[] {"goal", "task"}) {
+            jdbcTemplate.update("INSERT INTO " + table + " (id, user_id, title, description, status) "
+                    + "SELECT uuid_generate_v4(), " + owner + ", " + words.formatted(6) + ", " + words.formatted(20)
+                    + ", 'ACTIVE' FROM generate_series(1, ?) g", rows / 10);
+        }
+        jdbcTemplate.update("INSERT INTO event (id, user_id, name, description, scheduled_at) "
+                + "SELECT uuid_generate_v4(), " + owner + ", " + words.formatted(6) + ", " + words.formatted(20)
+                + ", now() + g * INTERVAL '1 minute' FROM generate_series(1, ?) g", rows / 10);
+        jdbcTemplate.update("INSERT INTO app_user (id, email) VALUES (uuid_generate_v4(), ?)", marker);
+        jdbcTemplate.execute("ANALYZE note");
+        jdbcTemplate.execute("ANALYZE goal");
+        jdbcTemplate.execute("ANALYZE task");
+        jdbcTemplate.execute("ANALYZE event");
+    }
+}
@@ -0,0 +1,91 @@
+package com.frontier.agent.benchmarks;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Platform versus virtual threads for the request shape of the API and worker: a little
+ * CPU around a blocking round trip. {@code PLATFORM} mirrors Tomcat's default pool of 200
+ * threads; {@code VIRTUAL} starts a virtual thread per request, as with
+ * {@code spring.threads.virtual.enabled}. JMH's client threads keep more requests in
+ * flight than the platform pool can serve, so throughput approximates the maximum
+ * sustainable RPS and the sample-time run reports p99 latency. {@code pinned} holds a
+ * monitor across the blocking call, as a {@code synchronized} JDBC path would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(400)
+@Fork(1)
+public class ThreadModelBenchmark {
+
+    static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    String threads;
+
+    @Param({"2"})
+    long blockingMillis;
+
+    @Param({"false", "true"})
+    boolean pinned;
+
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = "VIRTUAL".equals(threads)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void request(Blackhole blackhole) throws InterruptedException, ExecutionException {
+        executor.submit(() -> handle(blackhole)).get();
+    }
+
+    private void handle(Blackhole blackhole) {
+        Blackhole.consumeCPU(2_000);
+        if (pinned) {
+            var lock = new Object();
+            synchronized (lock) {
+                block();
+            }
+        } else {
+            block();
+        }
+        blackhole.consume(blockingMillis);
+    }
+
+    private void block() {
+        try {
+            Thread.sleep(blockingMillis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
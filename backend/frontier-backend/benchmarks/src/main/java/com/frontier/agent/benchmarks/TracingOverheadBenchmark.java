@@ -0,0 +1,123 @@
+package com.frontier.agent.benchmarks;
+
+import brave.Span;
+import brave.Tracer;
+import brave.Tracing;
+import com.frontier.agent.observability.config.TracingProperties;
+import com.frontier.agent.observability.tracing.RecentSpans;
+import com.frontier.agent.observability.tracing.SampledTracing;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import zipkin2.reporter.BytesMessageSender;
+import zipkin2.reporter.Encoding;
+import zipkin2.reporter.brave.AsyncZipkinSpanHandler;
+
+/**
+ * Tracer cost per request, modelled as a root span with {@code children} child spans, for the
+ * pipeline built by {@link SampledTracing}. {@code NONE} is Brave in noop mode,
+ * {@code HEAD} exports only head-sampled traces and {@code TAIL} also records every other
+ * trace locally for the tail sampler. Export goes to a sender that discards its messages, so
+ * the figures cover recording, sampling, queueing and encoding but not the network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class TracingOverheadBenchmark {
+
+    @Param({"NONE", "HEAD", "TAIL"})
+    String sampling;
+
+    @Param({"0.1"})
+    float sampleRate;
+
+    @Param({"3"})
+    int children;
+
+    private AsyncZipkinSpanHandler exporter;
+    private Tracing tracing;
+    private Tracer tracer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var properties = new TracingProperties();
+        properties.setSampleRate(sampleRate);
+        properties.setTailSampling("TAIL".equals(sampling));
+        var meterRegistry = new SimpleMeterRegistry();
+        exporter = SampledTracing.exporter(new DiscardingSender(), properties, meterRegistry);
+        tracing = SampledTracing.tracing("benchmark", properties, new RecentSpans(properties.getRecentSpans()),
+                exporter, meterRegistry);
+        tracing.setNoop("NONE".equals(sampling));
+        tracer = tracing.tracer();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        tracing.close();
+        exporter.close();
+    }
+
+    @Benchmark
+    public Span request() {
+        Span root = tracer.newTrace().name("GET /api/notes").kind(Span.Kind.SERVER).start();
+        try (var ignored = tracer.withSpanInScope(root)) {
+            for (int i = 0; i < children; i++) {
+                Span child = tracer.nextSpan().name("SELECT note").kind(Span.Kind.CLIENT).start();
+                child.tag("db.system", "postgresql");
+                child.finish();
+            }
+        } finally {
+            root.finish();
+        }
+        return root;
+    }
+
+    private static final class DiscardingSender implements BytesMessageSender {
+
+        @Override
+        public Encoding encoding() {
+            return Encoding.JSON;
+        }
+
+        @Override
+        public int messageMaxBytes() {
+            return 512 * 1024;
+        }
+
+        @Override
+        public int messageSizeInBytes(List<byte[]> encodedSpans) {
+            return Encoding.JSON.listSizeInBytes(encodedSpans);
+        }
+
+        @Override
+        public int messageSizeInBytes(int encodedSizeInBytes) {
+            return Encoding.JSON.listSizeInBytes(encodedSizeInBytes);
+        }
+
+        @Override
+        public void send(List<byte[]> encodedSpans) {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.frontier.agent.benchmarks;
+
+import com.frontier.agent.domain.model.Uuids;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Insert throughput into a real Postgres primary key already holding {@code rows} keys, for
+ * the previous random v4 ids ({@code RANDOM}), time-ordered v7 ids ({@code TIME_ORDERED})
+ * and name-based replay ids ({@code DETERMINISTIC}). Each operation commits
+ * {@code batchSize} rows. Random keys land on leaf pages all over the B-tree, splitting them
+ * half full and dirtying a new page per row, while v7 keys keep appending to the right-hand
+ * leaf. After every iteration the benchmark prints the WAL written per inserted row and the
+ * primary key's size per row, which is where that difference shows up.
+ * <p>
+ * Each scheme gets its own table, dropped afterwards. WAL includes full-page images after
+ * every checkpoint, so point {@code jdbcUrl} at a disposable, otherwise idle database.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class UuidInsertBenchmark {
+
+    public enum Scheme {
+        RANDOM(UUID::randomUUID),
+        TIME_ORDERED(Uuids::timeOrdered),
+        DETERMINISTIC(new Supplier<>() {
+            private long sequence;
+
+            @Override
+            public UUID get() {
+                return Uuids.deterministic("note", "note-parser-" + sequence++);
+            }
+        });
+
+        final Supplier<UUID> ids;
+
+        Scheme(Supplier<UUID> ids) {
+            this.ids = ids;
+        }
+    }
+
+    @Param({"jdbc:postgresql://localhost:5432/frontier_bench"})
+    String jdbcUrl;
+
+    @Param({"frontier"})
+    String username;
+
+    @Param({"frontier"})
+    String password;
+
+    @Param({"RANDOM", "TIME_ORDERED", "DETERMINISTIC"})
+    Scheme scheme;
+
+    @Param({"1000000"})
+    int rows;
+
+    @Param({"500"})
+    int batchSize;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactions;
+    private String table;
+    private long total;
+    private long inserted;
+    private String startLsn;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(jdbcUrl);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(1);
+        dataSource.addDataSourceProperty("reWriteBatchedInserts", "true");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        table = "uuid_insert_bench_" + scheme.name().toLowerCase(Locale.ROOT);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        jdbcTemplate.execute("CREATE TABLE " + table
+                + " (id UUID PRIMARY KEY, user_id TEXT NOT NULL, created_at TIMESTAMPTZ NOT NULL DEFAULT now())");
+        for (int loaded = 0; loaded < rows; loaded += 10_000) {
+            insert(Math.min(10_000, rows - loaded));
+        }
+        jdbcTemplate.execute("VACUUM ANALYZE " + table);
+        total = rows;
+    }
+
+    @Setup(Level.Iteration)
+    public void startIteration() {
+        inserted = 0;
+        startLsn = jdbcTemplate.queryForObject("SELECT CAST(pg_current_wal_lsn() AS text)", String.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        Long walBytes = jdbcTemplate.queryForObject(
+                "SELECT CAST(pg_wal_lsn_diff(pg_current_wal_lsn(), CAST(? AS pg_lsn)) AS bigint)", Long.class, startLsn);
+        Long indexBytes = jdbcTemplate.queryForObject(
+                "SELECT pg_relation_size(CAST(? AS regclass))", Long.class, table + "_pkey");
+        total += inserted;
+        System.out.printf("%n%s: %.0f WAL bytes per inserted row; primary key %d MB, %.1f bytes per row%n",
+                scheme, inserted == 0 ? 0.0 : (double) walBytes / inserted, indexBytes >> 20,
+                (double) indexBytes / total);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        dataSource.close();
+    }
+
+    @Benchmark
+    public int insert() {
+        inserted += batchSize;
+        return insert(batchSize);
+    }
+
+    private int insert(int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(scheme.ids.get());
+        }
+        return transactions.execute(status -> jdbcTemplate.batchUpdate(
+                "INSERT INTO " + table + " (id, user_id) VALUES (?, 'bench')", ids, count,
+                (ps, id) -> ps.setObject(1, id)).length);
+    }
+}
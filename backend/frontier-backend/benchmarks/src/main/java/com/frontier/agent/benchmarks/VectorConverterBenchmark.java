@@ -0,0 +1,109 @@
+package com.frontier.agent.benchmarks;
+
+import com.frontier.agent.domain.vector.FloatArrayVectorConverter;
+import com.frontier.agent.domain.vector.PgVectorCodec;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Load (decode) and store (encode) cost of an embedding, comparing the original
+ * {@code Arrays.toString}/regex converter with {@link PgVectorCodec}'s text and binary
+ * paths. Run with {@code -prof gc} to see allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VectorConverterBenchmark {
+
+    @Param({"384", "1536"})
+    int dimensions;
+
+    private float[] vector;
+    private String legacyText;
+    private String pgvectorText;
+    private byte[] binary;
+    private final FloatArrayVectorConverter converter = new FloatArrayVectorConverter();
+
+    @Setup
+    public void setUp() {
+        var random = new Random(42);
+        vector = new float[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        legacyText = Arrays.toString(vector);
+        pgvectorText = PgVectorCodec.format(vector);
+        binary = new byte[PgVectorCodec.binaryLength(vector)];
+        PgVectorCodec.toBinary(vector, binary, 0);
+    }
+
+    @Benchmark
+    public Object legacyStore() {
+        return LegacyTextConverter.toDatabase(vector);
+    }
+
+    @Benchmark
+    public float[] legacyLoad() {
+        return LegacyTextConverter.toEntity(legacyText);
+    }
+
+    @Benchmark
+    public Object converterStore() {
+        return converter.convertToDatabaseColumn(vector);
+    }
+
+    @Benchmark
+    public String textStore() {
+        return PgVectorCodec.format(vector);
+    }
+
+    @Benchmark
+    public float[] textLoad() {
+        return converter.convertToEntityAttribute(pgvectorText);
+    }
+
+    @Benchmark
+    public byte[] binaryStore() {
+        var target = new byte[PgVectorCodec.binaryLength(vector)];
+        PgVectorCodec.toBinary(vector, target, 0);
+        return target;
+    }
+
+    @Benchmark
+    public float[] binaryLoad() {
+        return converter.convertToEntityAttribute(binary);
+    }
+
+    /** The converter as it shipped before {@link PgVectorCodec}, kept as the baseline. */
+    static final class LegacyTextConverter {
+
+        static Object toDatabase(float[] attribute) {
+            return Arrays.toString(attribute);
+        }
+
+        static float[] toEntity(Object dbData) {
+            var sanitized = dbData.toString().replaceAll("[\\[\\] ]", "");
+            var parts = sanitized.split(",");
+            var result = new float[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                result[i] = Float.parseFloat(parts[i]);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.frontier.agent.benchmarks;
+
+import com.frontier.agent.domain.model.NoteNeighbor;
+import com.frontier.agent.domain.repository.NearestNeighborQueries;
+import com.frontier.agent.domain.vector.PgVectorObject;
+import com.frontier.agent.domain.vector.VectorDistance;
+import com.frontier.agent.domain.vector.VectorIndexProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@link NearestNeighborQueries} latency and recall against a real Postgres with pgvector,
+ * migrated to V16, holding {@code rows} clustered 1536-dimension note embeddings spread over
+ * {@code users} users. {@code hnsw} is the indexed top-10 at {@code efSearch}; {@code exact}
+ * is the same query with index scans disabled, which is also the ground truth. {@code recall}
+ * runs the indexed query and reports recall@10 against it as the {@code recall} counter; it
+ * runs on one thread for one measurement iteration, because JMH sums event counters over both.
+ * The dataset is seeded on first run and reused while its marker user exists. Point
+ * {@code jdbcUrl} at a disposable database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(4)
+@Fork(1)
+public class VectorKnnBenchmark {
+
+    private static final int DIMENSIONS = NearestNeighborQueries.DIMENSIONS;
+    private static final int K = 10;
+    private static final int CLUSTERS = 64;
+    private static final int QUERIES = 200;
+
+    @Param({"jdbc:postgresql://localhost:5432/frontier_bench"})
+    String jdbcUrl;
+
+    @Param({"frontier"})
+    String username;
+
+    @Param({"frontier"})
+    String password;
+
+    @Param({"200000"})
+    int rows;
+
+    @Param({"10"})
+    int users;
+
+    @Param({"16", "40", "100", "200"})
+    int efSearch;
+
+    private HikariDataSource dataSource;
+    private TransactionTemplate transactions;
+    private NearestNeighborQueries queries;
+    private float[][] queryVectors;
+    private List<Set<UUID>> expected;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class RecallCounters {
+        public long found;
+        public long expected;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            found = 0;
+            expected = 0;
+        }
+
+        public double recall() {
+            return expected == 0 ? 0 : (double) found / expected;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(jdbcUrl);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(4);
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        var random = new SplittableRandom(42);
+        var centers = new float[CLUSTERS][];
+        for (int i = 0; i < CLUSTERS; i++) {
+            centers[i] = gaussian(random, 1f);
+        }
+        seed(jdbcTemplate, centers, random.split());
+        transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactions.setReadOnly(true);
+        queries = new NearestNeighborQueries(new NamedParameterJdbcTemplate(jdbcTemplate), new VectorIndexProperties(),
+                new SimpleMeterRegistry());
+        // Queries fall near the data, like "related items" lookups do, but are never stored rows.
+        var queryRandom = new SplittableRandom(7);
+        queryVectors = new float[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            queryVectors[i] = near(centers[queryRandom.nextInt(CLUSTERS)], queryRandom, 0.3f);
+        }
+        expected = new ArrayList<>(QUERIES);
+        for (var query : queryVectors) {
+            var ids = new HashSet<UUID>();
+            search(query, efSearch, false).forEach(hit -> ids.add(hit.id()));
+            expected.add(ids);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public List<NoteNeighbor> hnsw() {
+        return search(randomQuery(), efSearch, true);
+    }
+
+    @Benchmark
+    public List<NoteNeighbor> exact() {
+        return search(randomQuery(), efSearch, false);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Threads(1)
+    @Measurement(iterations = 1, time = 10)
+    public List<NoteNeighbor> recall(RecallCounters counters) {
+        int i = ThreadLocalRandom.current().nextInt(QUERIES);
+        var hits = search(queryVectors[i], efSearch, true);
+        for (var hit : hits) {
+            if (expected.get(i).contains(hit.id())) {
+                counters.found++;
+            }
+        }
+        counters.expected += K;
+        return hits;
+    }
+
+    private float[] randomQuery() {
+        return queryVectors[ThreadLocalRandom.current().nextInt(QUERIES)];
+    }
+
+    private List<NoteNeighbor> search(float[] query, int ef, boolean indexed) {
+        return transactions.execute(status -> {
+            if (!indexed) {
+                new JdbcTemplate(dataSource).execute("SET LOCAL enable_indexscan = off");
+            }
+            return queries.notes(userId(0), query, VectorDistance.COSINE, K, ef);
+        });
+    }
+
+    private static String userId(int user) {
+        return new UUID(0x4B4E4EL, user).toString();
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate, float[][] centers, SplittableRandom random) {
+        var marker = "knn-bench-" + rows + "-" + users + "@frontier.invalid";
+        Integer seeded = jdbcTemplate.queryForObject("SELECT count(*) FROM app_user WHERE email = ?", Integer.class, marker);
+        if (seeded != null && seeded > 0) {
+            return;
+        }
+        for (int u = 0; u < users; u++) {
+            jdbcTemplate.update("INSERT INTO app_user (id, email) VALUES (CAST(? AS uuid), ?) ON CONFLICT DO NOTHING",
+                    userId(u), "knn-bench-user-" + u + "@frontier.invalid");
+        }
+        var batch = new ArrayList<Object[]>(1_000);
+        for (int i = 0; i < rows; i++) {
+            var embedding = near(centers[random.nextInt(CLUSTERS)], random, 0.3f);
+            batch.add(new Object[] {userId(i % users), "note " + i, new PgVectorObject(embedding)});
+            if (batch.size() == 1_000 || i == rows - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO note (user_id, content, type, embedding) VALUES (?, ?, 'NOTE', ?)",
+                        batch);
+                batch.clear();
+            }
+        }
+        jdbcTemplate.update("INSERT INTO app_user (id, email) VALUES (uuid_generate_v4(), ?)", marker);
+        jdbcTemplate.execute("ANALYZE note");
+    }
+
+    private static float[] near(float[] center, SplittableRandom random, float spread) {
+        var noise = gaussian(random, spread);
+        for (int i = 0; i < DIMENSIONS; i++) {
+            noise[i] += center[i];
+        }
+        return noise;
+    }
+
+    private static float[] gaussian(SplittableRandom random, float scale) {
+        var vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = (float) (random.nextGaussian() * scale);
+        }
+        return vector;
+    }
+}
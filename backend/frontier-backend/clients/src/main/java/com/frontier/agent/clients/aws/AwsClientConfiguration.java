@@ -1,24 +1,47 @@
 package com.frontier.agent.clients.aws;
 
 import java.net.URI;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientAsyncConfiguration;
+import software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 
 @Configuration(proxyBeanMethods = false)
-@EnableConfigurationProperties(AwsClientProperties.class)
+@EnableConfigurationProperties({AwsClientProperties.class, DynamoBatchProperties.class})
 public class AwsClientConfiguration {
 
+    static final String COMPLETION_EXECUTOR = "awsFutureCompletionExecutor";
+
+    /**
+     * In virtual-thread mode the SDK completes its futures, and so runs our dependent
+     * stages, on virtual threads instead of its bounded platform pool, so blocking work
+     * chained onto a response cannot starve other completions.
+     */
+    @Bean(name = COMPLETION_EXECUTOR, destroyMethod = "close")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ExecutorService awsFutureCompletionExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("aws-completion-", 0).factory());
+    }
+
     @Bean
     @ConditionalOnMissingBean
-    public SqsAsyncClient sqsAsyncClient(AwsClientProperties properties) {
+    public SqsAsyncClient sqsAsyncClient(AwsClientProperties properties,
+            @Qualifier(COMPLETION_EXECUTOR) ObjectProvider<ExecutorService> completionExecutor) {
         return SqsAsyncClient.builder()
+                .asyncConfiguration(asyncConfiguration(completionExecutor))
                 .region(Region.of(properties.getRegion()))
                 .credentialsProvider(DefaultCredentialsProvider.create())
                 .endpointOverride(properties.getEndpointOverride())
@@ -27,8 +50,10 @@ public class AwsClientConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public DynamoDbAsyncClient dynamoDbAsyncClient(AwsClientProperties properties) {
+    public DynamoDbAsyncClient dynamoDbAsyncClient(AwsClientProperties properties,
+            @Qualifier(COMPLETION_EXECUTOR) ObjectProvider<ExecutorService> completionExecutor) {
         return DynamoDbAsyncClient.builder()
+                .asyncConfiguration(asyncConfiguration(completionExecutor))
                 .region(Region.of(properties.getRegion()))
                 .endpointOverride(properties.getEndpointOverride())
                 .credentialsProvider(DefaultCredentialsProvider.create())
@@ -37,11 +62,20 @@ public class AwsClientConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public S3AsyncClient s3AsyncClient(AwsClientProperties properties) {
+    public S3AsyncClient s3AsyncClient(AwsClientProperties properties,
+            @Qualifier(COMPLETION_EXECUTOR) ObjectProvider<ExecutorService> completionExecutor) {
         return S3AsyncClient.builder()
+                .asyncConfiguration(asyncConfiguration(completionExecutor))
                 .region(Region.of(properties.getRegion()))
                 .endpointOverride(properties.getEndpointOverride())
                 .credentialsProvider(DefaultCredentialsProvider.create())
                 .build();
     }
+
+    private static ClientAsyncConfiguration asyncConfiguration(ObjectProvider<ExecutorService> completionExecutor) {
+        var builder = ClientAsyncConfiguration.builder();
+        completionExecutor.ifAvailable(executor ->
+                builder.advancedOption(SdkAdvancedAsyncClientOption.FUTURE_COMPLETION_EXECUTOR, executor));
+        return builder.build();
+    }
 }
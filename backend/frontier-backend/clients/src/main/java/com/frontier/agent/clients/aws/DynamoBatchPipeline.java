@@ -0,0 +1,249 @@
+package com.frontier.agent.clients.aws;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutRequest;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+/**
+ * Buffers PutItem-shaped writes and ships them as {@code BatchWriteItem} calls of up to
+ * 25 items, flushing when a batch fills or the first item has lingered long enough.
+ * Writes to the same key inside one batch are coalesced (last write wins) because
+ * DynamoDB rejects duplicate keys in a single request. {@code UnprocessedItems} are
+ * re-driven with full-jitter backoff; a bounded queue pushes back on callers instead of
+ * buffering without limit.
+ */
+final class DynamoBatchPipeline implements AutoCloseable {
+
+    static final int MAX_BATCH_ITEMS = 25;
+
+    private static final Logger log = LoggerFactory.getLogger(DynamoBatchPipeline.class);
+
+    private final DynamoDbAsyncClient client;
+    private final DynamoBatchProperties properties;
+    private final int batchSize;
+    private final BlockingQueue<PendingWrite> queue;
+    private final Semaphore inFlight;
+    private final Thread flusher;
+    private final Timer flushTimer;
+    private final DistributionSummary batchItems;
+    private final Counter redriven;
+    private final Counter rejected;
+    private final Counter failed;
+    private volatile boolean running = true;
+
+    DynamoBatchPipeline(DynamoDbAsyncClient client, DynamoBatchProperties properties, MeterRegistry meterRegistry) {
+        this.client = client;
+        this.properties = properties;
+        this.batchSize = Math.max(1, Math.min(properties.getBatchSize(), MAX_BATCH_ITEMS));
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.inFlight = new Semaphore(properties.getMaxInFlight());
+        Gauge.builder("frontier.dynamo.batch.queue.depth", queue, BlockingQueue::size)
+                .description("Projection writes waiting to be batched")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("frontier.dynamo.batch.flush")
+                .description("BatchWriteItem latency including re-drives of unprocessed items")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchItems = DistributionSummary.builder("frontier.dynamo.batch.items")
+                .description("Items per BatchWriteItem call, re-drives included")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.redriven = meterRegistry.counter("frontier.dynamo.batch.redriven");
+        this.rejected = meterRegistry.counter("frontier.dynamo.batch.rejected");
+        this.failed = meterRegistry.counter("frontier.dynamo.batch.failed");
+        this.flusher = new Thread(this::run, "dynamo-batch-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Queues an item, blocking up to {@code enqueueTimeout} when the buffer is full. The
+     * returned future completes once DynamoDB has accepted the item.
+     */
+    CompletableFuture<Void> submit(String table, String dedupeKey, Map<String, AttributeValue> item) {
+        var pending = new PendingWrite(table, dedupeKey, item, new CompletableFuture<>());
+        if (!running) {
+            pending.result().completeExceptionally(new RejectedExecutionException("DynamoDB batch pipeline is shut down"));
+            return pending.result();
+        }
+        try {
+            if (!queue.offer(pending, properties.getEnqueueTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                pending.result().completeExceptionally(new RejectedExecutionException("DynamoDB batch queue is full"));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            pending.result().completeExceptionally(ex);
+        }
+        return pending.result();
+    }
+
+    private void run() {
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                var first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + properties.getLinger().toNanos();
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    var next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                inFlight.acquire();
+                send(coalesce(batch), 0, System.nanoTime());
+                batch = new ArrayList<>(batchSize);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                batch.forEach(pending -> pending.result().completeExceptionally(ex));
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Unexpected failure in DynamoDB batch flusher", ex);
+                batch.forEach(pending -> pending.result().completeExceptionally(ex));
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+    }
+
+    private List<Slot> coalesce(List<PendingWrite> batch) {
+        Map<String, Slot> slots = new LinkedHashMap<>();
+        for (var pending : batch) {
+            var slot = slots.computeIfAbsent(pending.table() + '\u0000' + pending.dedupeKey(), ignore -> new Slot(pending.table()));
+            slot.request = WriteRequest.builder().putRequest(PutRequest.builder().item(pending.item()).build()).build();
+            slot.waiters.add(pending.result());
+        }
+        return new ArrayList<>(slots.values());
+    }
+
+    private void send(List<Slot> slots, int attempt, long startNanos) {
+        Map<String, List<WriteRequest>> requestItems = new HashMap<>();
+        for (var slot : slots) {
+            requestItems.computeIfAbsent(slot.table, ignore -> new ArrayList<>()).add(slot.request);
+        }
+        batchItems.record(slots.size());
+        CompletableFuture<BatchWriteItemResponse> call;
+        try {
+            call = client.batchWriteItem(builder -> builder.requestItems(requestItems));
+        } catch (RuntimeException ex) {
+            call = CompletableFuture.failedFuture(ex);
+        }
+        call.whenComplete((response, throwable) -> {
+            if (throwable != null) {
+                log.warn("BatchWriteItem of {} items failed", slots.size(), throwable);
+                finish(slots, throwable, startNanos);
+                return;
+            }
+            var unprocessed = response.unprocessedItems();
+            if (unprocessed == null || unprocessed.isEmpty()) {
+                finish(slots, null, startNanos);
+                return;
+            }
+            Map<String, Set<WriteRequest>> leftovers = new HashMap<>();
+            unprocessed.forEach((table, requests) -> leftovers.put(table, new HashSet<>(requests)));
+            List<Slot> retry = new ArrayList<>();
+            List<Slot> done = new ArrayList<>();
+            for (var slot : slots) {
+                if (leftovers.getOrDefault(slot.table, Set.of()).contains(slot.request)) {
+                    retry.add(slot);
+                } else {
+                    done.add(slot);
+                }
+            }
+            done.forEach(slot -> slot.waiters.forEach(waiter -> waiter.complete(null)));
+            if (attempt >= properties.getMaxRetries()) {
+                finish(retry, new IllegalStateException("DynamoDB left " + retry.size() + " items unprocessed after "
+                        + attempt + " re-drives"), startNanos);
+                return;
+            }
+            redriven.increment(retry.size());
+            CompletableFuture.delayedExecutor(backoff(attempt), TimeUnit.MILLISECONDS)
+                    .execute(() -> send(retry, attempt + 1, startNanos));
+        });
+    }
+
+    private void finish(List<Slot> slots, Throwable error, long startNanos) {
+        flushTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        for (var slot : slots) {
+            for (var waiter : slot.waiters) {
+                if (error == null) {
+                    waiter.complete(null);
+                } else {
+                    waiter.completeExceptionally(error);
+                }
+            }
+        }
+        if (error != null) {
+            failed.increment(slots.size());
+        }
+        inFlight.release();
+    }
+
+    private long backoff(int attempt) {
+        long cap = Math.min(properties.getMaxBackoff().toMillis(), properties.getBaseBackoff().toMillis() << Math.min(attempt, 16));
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    /**
+     * Stops accepting writes, drains what is queued and waits for in-flight batches up to
+     * {@code shutdownTimeout}.
+     */
+    @Override
+    public void close() {
+        running = false;
+        long timeoutMillis = properties.getShutdownTimeout().toMillis();
+        try {
+            flusher.join(timeoutMillis);
+            if (!inFlight.tryAcquire(properties.getMaxInFlight(), timeoutMillis, TimeUnit.MILLISECONDS)) {
+                log.warn("DynamoDB batch pipeline closed with writes still in flight");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        PendingWrite leftover;
+        while ((leftover = queue.poll()) != null) {
+            leftover.result().completeExceptionally(new RejectedExecutionException("DynamoDB batch pipeline is shut down"));
+        }
+    }
+
+    private record PendingWrite(String table, String dedupeKey, Map<String, AttributeValue> item, CompletableFuture<Void> result) {
+    }
+
+    private static final class Slot {
+        private final String table;
+        private final List<CompletableFuture<Void>> waiters = new ArrayList<>(1);
+        private WriteRequest request;
+
+        private Slot(String table) {
+            this.table = table;
+        }
+    }
+}
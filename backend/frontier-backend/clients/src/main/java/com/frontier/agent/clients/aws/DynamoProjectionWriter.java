@@ -1,8 +1,14 @@
 package com.frontier.agent.clients.aws;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import java.time.Instant;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -10,30 +16,86 @@ import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
 
+/**
+ * Writes read-optimized timeline projections. With {@code frontier.aws.dynamo-batch.enabled}
+ * the writes are coalesced into {@code BatchWriteItem} calls by {@link DynamoBatchPipeline};
+ * otherwise each entry is a single PutItem. {@code frontier.dynamo.projection.write} times
+ * each write until DynamoDB accepts it, batching delay included, and
+ * {@code frontier.aws.in_flight} tracks the futures still waiting.
+ */
 @Component
 public class DynamoProjectionWriter {
 
     private static final Logger log = LoggerFactory.getLogger(DynamoProjectionWriter.class);
 
     private final DynamoDbAsyncClient dynamoDbAsyncClient;
+    private final DynamoBatchPipeline batchPipeline;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Timer succeeded;
+    private final Timer failed;
 
-    public DynamoProjectionWriter(DynamoDbAsyncClient dynamoDbAsyncClient) {
+    public DynamoProjectionWriter(DynamoDbAsyncClient dynamoDbAsyncClient, DynamoBatchProperties batchProperties,
+                                  MeterRegistry meterRegistry) {
         this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+        this.batchPipeline = batchProperties.isEnabled()
+                ? new DynamoBatchPipeline(dynamoDbAsyncClient, batchProperties, meterRegistry)
+                : null;
+        var mode = batchProperties.isEnabled() ? "batch" : "single";
+        this.succeeded = writeTimer(meterRegistry, mode, "success");
+        this.failed = writeTimer(meterRegistry, mode, "failure");
+        Gauge.builder("frontier.aws.in_flight", inFlight, AtomicInteger::get)
+                .description("AWS SDK futures not yet completed")
+                .tag("client", "dynamodb")
+                .register(meterRegistry);
+    }
+
+    private static Timer writeTimer(MeterRegistry meterRegistry, String mode, String outcome) {
+        return Timer.builder("frontier.dynamo.projection.write")
+                .description("Time from submitting a projection to DynamoDB accepting it")
+                .tag("mode", mode)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Identifies the DynamoDB item a timeline entry is written to. Writes with different keys
+     * never affect each other, so only writes sharing a key need to be ordered.
+     */
+    public static String timelineItemKey(String table, String userId, Instant occurredAt, String entryType) {
+        return table + '\u0000' + userId + '#' + sortKey(occurredAt, entryType);
+    }
+
+    private static String sortKey(Instant occurredAt, String entryType) {
+        return occurredAt.toString() + '#' + entryType;
     }
 
     public CompletableFuture<Void> writeTimelineEntry(String table, String userId, Instant occurredAt, String entryType, String entryId, String metadata) {
+        var sortKey = sortKey(occurredAt, entryType);
         var item = Map.of(
                 "user_id", AttributeValue.fromS(userId),
-                "sort_key", AttributeValue.fromS(String.format("%s#%s", occurredAt.toString(), entryType)),
+                "sort_key", AttributeValue.fromS(sortKey),
                 "entry_id", AttributeValue.fromS(entryId),
                 "metadata", AttributeValue.fromS(metadata == null ? "{}" : metadata));
-        var request = PutItemRequest.builder().tableName(table).item(item).build();
-        return dynamoDbAsyncClient.putItem(request)
-                .whenComplete((result, throwable) -> {
-                    if (throwable != null) {
-                        log.warn("Failed to project timeline entry {}", entryId, throwable);
-                    }
-                })
-                .thenApply(ignore -> null);
+        long start = System.nanoTime();
+        inFlight.incrementAndGet();
+        CompletableFuture<Void> write = batchPipeline != null
+                ? batchPipeline.submit(table, userId + '#' + sortKey, item)
+                : dynamoDbAsyncClient.putItem(PutItemRequest.builder().tableName(table).item(item).build())
+                        .thenApply(ignore -> null);
+        return write.whenComplete((result, throwable) -> {
+            inFlight.decrementAndGet();
+            (throwable == null ? succeeded : failed).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (throwable != null) {
+                log.warn("Failed to project timeline entry {}", entryId, throwable);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        if (batchPipeline != null) {
+            batchPipeline.close();
+        }
     }
 }
@@ -0,0 +1,22 @@
+package com.frontier.agent.clients.debug;
+
+/**
+ * Where a debug capsule ended up. Without batching it is the object at {@code key} itself;
+ * batched capsules live inside a segment, and {@code indexKey} names the index object that
+ * holds their offset. Hand it to {@link S3DebugCapsuleWriter#read} to fetch the capsule back.
+ */
+public record DebugCapsuleLocation(String bucket, String key, String indexKey) {
+
+    static DebugCapsuleLocation object(String bucket, String key) {
+        return new DebugCapsuleLocation(bucket, key, null);
+    }
+
+    public boolean segmented() {
+        return indexKey != null;
+    }
+
+    @Override
+    public String toString() {
+        return segmented() ? "s3://" + bucket + '/' + indexKey + '#' + key : "s3://" + bucket + '/' + key;
+    }
+}
@@ -0,0 +1,275 @@
+package com.frontier.agent.clients.debug;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+/**
+ * Packs queued capsules into segment objects, one PutObject per segment instead of per
+ * failure. Each capsule is its own gzip member, so the segment as a whole is a valid gzip
+ * stream of NDJSON and any capsule can be read alone with a ranged GET. The offsets live
+ * in a {@code .index.json} object written next to the segment.
+ * <p>
+ * Callers never block. Past {@code sample-above} the queue keeps only a sample of new
+ * capsules, and once it is full by count or bytes they are dropped.
+ */
+final class DebugCapsulePipeline implements AutoCloseable {
+
+    static final String SEGMENT_SUFFIX = ".ndjson.gz";
+    static final String INDEX_SUFFIX = ".index.json";
+
+    private static final Logger log = LoggerFactory.getLogger(DebugCapsulePipeline.class);
+    private static final DateTimeFormatter HOUR_PATH = DateTimeFormatter.ofPattern("yyyy/MM/dd/HH").withZone(ZoneOffset.UTC);
+
+    private final S3AsyncClient s3Client;
+    private final ObjectMapper mapper;
+    private final DebugCapsuleProperties properties;
+    private final BlockingQueue<Capsule> queue;
+    private final AtomicLong queuedBytes = new AtomicLong();
+    private final Semaphore inFlight;
+    private final Thread flusher;
+    private final Counter sampledOut;
+    private final Counter droppedFull;
+    private final Counter shipped;
+    private final Counter failed;
+    private final Counter segments;
+    private final Counter rawBytes;
+    private final Counter compressedBytes;
+    private volatile boolean running = true;
+
+    DebugCapsulePipeline(S3AsyncClient s3Client, ObjectMapper mapper, DebugCapsuleProperties properties,
+                         MeterRegistry meterRegistry) {
+        this.s3Client = s3Client;
+        this.mapper = mapper;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+        this.inFlight = new Semaphore(Math.max(1, properties.getMaxInFlight()));
+        Gauge.builder("frontier.debug_capsules.queue.depth", queue, BlockingQueue::size)
+                .description("Capsules waiting to be packed into a segment")
+                .register(meterRegistry);
+        Gauge.builder("frontier.debug_capsules.queue.bytes", queuedBytes, AtomicLong::get)
+                .description("Serialized bytes of the queued capsules")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.sampledOut = droppedCounter(meterRegistry, "sampled");
+        this.droppedFull = droppedCounter(meterRegistry, "full");
+        this.shipped = meterRegistry.counter("frontier.debug_capsules.shipped");
+        this.failed = meterRegistry.counter("frontier.debug_capsules.failed");
+        this.segments = meterRegistry.counter("frontier.debug_capsules.segments");
+        this.rawBytes = bytesCounter(meterRegistry, "raw");
+        this.compressedBytes = bytesCounter(meterRegistry, "compressed");
+        this.flusher = new Thread(this::run, "debug-capsule-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Queues one serialized capsule line. The future completes with the capsule's location,
+     * naming the segment's index, once both segment and index are stored.
+     */
+    CompletableFuture<DebugCapsuleLocation> submit(String bucket, String key, byte[] line, Map<String, String> attributes) {
+        var capsule = new Capsule(bucket, key, line, attributes, new CompletableFuture<>());
+        if (!running) {
+            capsule.result().completeExceptionally(new RejectedExecutionException("Debug capsule pipeline is shut down"));
+            return capsule.result();
+        }
+        double fill = Math.max((double) queue.size() / properties.getQueueCapacity(),
+                (double) queuedBytes.get() / properties.getQueueMaxBytes());
+        if (fill >= properties.getSampleAbove() && ThreadLocalRandom.current().nextDouble() >= properties.getSampleRate()) {
+            sampledOut.increment();
+            capsule.result().completeExceptionally(new RejectedExecutionException("Debug capsule sampled out under load"));
+            return capsule.result();
+        }
+        if (queuedBytes.addAndGet(line.length) > properties.getQueueMaxBytes() || !queue.offer(capsule)) {
+            queuedBytes.addAndGet(-line.length);
+            droppedFull.increment();
+            capsule.result().completeExceptionally(new RejectedExecutionException("Debug capsule queue is full"));
+        }
+        return capsule.result();
+    }
+
+    private void run() {
+        List<Capsule> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                var first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long bytes = first.line().length;
+                long deadline = System.nanoTime() + properties.getLinger().toNanos();
+                while (batch.size() < properties.getMaxSegmentCapsules() && bytes < properties.getMaxSegmentBytes()) {
+                    long remaining = running ? deadline - System.nanoTime() : 0;
+                    var next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    bytes += next.line().length;
+                }
+                queuedBytes.addAndGet(-bytes);
+                Map<String, List<Capsule>> byBucket = new LinkedHashMap<>();
+                batch.forEach(capsule -> byBucket.computeIfAbsent(capsule.bucket(), ignore -> new ArrayList<>()).add(capsule));
+                for (var bucket : byBucket.entrySet()) {
+                    inFlight.acquire();
+                    ship(bucket.getKey(), bucket.getValue());
+                }
+                batch = new ArrayList<>();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                batch.forEach(capsule -> capsule.result().completeExceptionally(ex));
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Unexpected failure in debug capsule flusher", ex);
+                batch.forEach(capsule -> capsule.result().completeExceptionally(ex));
+                batch = new ArrayList<>();
+            }
+        }
+    }
+
+    private void ship(String bucket, List<Capsule> capsules) {
+        Segment segment;
+        try {
+            segment = pack(capsules);
+        } catch (IOException | RuntimeException ex) {
+            log.error("Failed to pack {} debug capsules", capsules.size(), ex);
+            failed.increment(capsules.size());
+            capsules.forEach(capsule -> capsule.result().completeExceptionally(ex));
+            inFlight.release();
+            return;
+        }
+        rawBytes.increment(segment.rawBytes());
+        put(bucket, segment.key(), "application/gzip", segment.body())
+                .thenCompose(ignore -> put(bucket, indexKey(segment.key()), "application/json", segment.index()))
+                .whenComplete((result, throwable) -> {
+                    try {
+                        if (throwable != null) {
+                            log.error("Failed to ship a segment of {} debug capsules to {}", capsules.size(), bucket, throwable);
+                            failed.increment(capsules.size());
+                            capsules.forEach(capsule -> capsule.result().completeExceptionally(throwable));
+                        } else {
+                            segments.increment();
+                            shipped.increment(capsules.size());
+                            compressedBytes.increment(segment.body().length + segment.index().length);
+                            var indexKey = indexKey(segment.key());
+                            capsules.forEach(capsule -> capsule.result()
+                                    .complete(new DebugCapsuleLocation(bucket, capsule.key(), indexKey)));
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+    }
+
+    private Segment pack(List<Capsule> capsules) throws IOException {
+        var out = new ByteArrayOutputStream();
+        List<Map<String, Object>> entries = new ArrayList<>(capsules.size());
+        long raw = 0;
+        for (var capsule : capsules) {
+            int offset = out.size();
+            // Closing the member only finishes it; closing a ByteArrayOutputStream is a no-op.
+            try (var gzip = new GZIPOutputStream(out)) {
+                gzip.write(capsule.line());
+            }
+            raw += capsule.line().length;
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("key", capsule.key());
+            entry.put("offset", offset);
+            entry.put("length", out.size() - offset);
+            entry.putAll(capsule.attributes());
+            entries.add(entry);
+        }
+        var key = segmentKey();
+        var index = mapper.writeValueAsBytes(Map.of(
+                "segment", key,
+                "schema_version", S3DebugCapsuleWriter.SCHEMA_VERSION,
+                "capsules", entries));
+        return new Segment(key, out.toByteArray(), index, raw);
+    }
+
+    private CompletableFuture<?> put(String bucket, String key, String contentType, byte[] body) {
+        try {
+            return s3Client.putObject(PutObjectRequest.builder().bucket(bucket).key(key).contentType(contentType).build(),
+                    AsyncRequestBody.fromBytes(body));
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private String segmentKey() {
+        var now = Instant.now();
+        return properties.getSegmentPrefix() + HOUR_PATH.format(now) + '/' + now.toEpochMilli() + '-' + UUID.randomUUID()
+                + SEGMENT_SUFFIX;
+    }
+
+    static String indexKey(String segmentKey) {
+        return segmentKey.substring(0, segmentKey.length() - SEGMENT_SUFFIX.length()) + INDEX_SUFFIX;
+    }
+
+    /** Stops accepting capsules, ships what is queued and waits for uploads up to {@code shutdown-timeout}. */
+    @Override
+    public void close() {
+        running = false;
+        long timeoutMillis = properties.getShutdownTimeout().toMillis();
+        try {
+            flusher.join(timeoutMillis);
+            if (!inFlight.tryAcquire(Math.max(1, properties.getMaxInFlight()), timeoutMillis, TimeUnit.MILLISECONDS)) {
+                log.warn("Debug capsule pipeline closed with segments still uploading");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        Capsule leftover;
+        while ((leftover = queue.poll()) != null) {
+            leftover.result().completeExceptionally(new RejectedExecutionException("Debug capsule pipeline is shut down"));
+        }
+    }
+
+    private static Counter droppedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("frontier.debug_capsules.dropped")
+                .description("Capsules not shipped because the queue was under pressure")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static Counter bytesCounter(MeterRegistry meterRegistry, String stage) {
+        return Counter.builder("frontier.debug_capsules.bytes")
+                .description("Capsule bytes before compression and as stored in S3, index included")
+                .baseUnit("bytes")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    private record Segment(String key, byte[] body, byte[] index, long rawBytes) {
+    }
+
+    private record Capsule(String bucket, String key, byte[] line, Map<String, String> attributes,
+                           CompletableFuture<DebugCapsuleLocation> result) {
+    }
+}
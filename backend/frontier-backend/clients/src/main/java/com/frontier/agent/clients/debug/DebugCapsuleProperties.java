@@ -0,0 +1,128 @@
+package com.frontier.agent.clients.debug;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "frontier.debug-capsules")
+public class DebugCapsuleProperties {
+
+    /**
+     * Packs capsules into compressed segments. When disabled every capsule is its own
+     * uncompressed PutObject at the key the caller passed, as before segments existed.
+     */
+    private boolean batchEnabled;
+
+    /** Prefix of segment and index keys; capsule keys passed by callers become index entries. */
+    private String segmentPrefix = "segments/";
+
+    private int maxSegmentCapsules = 500;
+
+    /** Uncompressed bytes per segment; a segment is shipped once it would grow past this. */
+    private long maxSegmentBytes = 8L * 1024 * 1024;
+
+    private Duration linger = Duration.ofSeconds(5);
+
+    private int queueCapacity = 5_000;
+
+    /** Serialized capsule bytes held in memory at most; new capsules are dropped beyond it. */
+    private long queueMaxBytes = 64L * 1024 * 1024;
+
+    /**
+     * Once the queue is this full (as a fraction of capacity or bytes), capsules are only
+     * kept with probability {@code sample-rate}. The first failures of an incident are kept
+     * in full, and later ones still leave a sample.
+     */
+    private double sampleAbove = 0.5;
+    private double sampleRate = 0.1;
+
+    private int maxInFlight = 2;
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    public boolean isBatchEnabled() {
+        return batchEnabled;
+    }
+
+    public void setBatchEnabled(boolean batchEnabled) {
+        this.batchEnabled = batchEnabled;
+    }
+
+    public String getSegmentPrefix() {
+        return segmentPrefix;
+    }
+
+    public void setSegmentPrefix(String segmentPrefix) {
+        this.segmentPrefix = segmentPrefix;
+    }
+
+    public int getMaxSegmentCapsules() {
+        return maxSegmentCapsules;
+    }
+
+    public void setMaxSegmentCapsules(int maxSegmentCapsules) {
+        this.maxSegmentCapsules = maxSegmentCapsules;
+    }
+
+    public long getMaxSegmentBytes() {
+        return maxSegmentBytes;
+    }
+
+    public void setMaxSegmentBytes(long maxSegmentBytes) {
+        this.maxSegmentBytes = maxSegmentBytes;
+    }
+
+    public Duration getLinger() {
+        return linger;
+    }
+
+    public void setLinger(Duration linger) {
+        this.linger = linger;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getQueueMaxBytes() {
+        return queueMaxBytes;
+    }
+
+    public void setQueueMaxBytes(long queueMaxBytes) {
+        this.queueMaxBytes = queueMaxBytes;
+    }
+
+    public double getSampleAbove() {
+        return sampleAbove;
+    }
+
+    public void setSampleAbove(double sampleAbove) {
+        this.sampleAbove = sampleAbove;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public Duration getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    public void setShutdownTimeout(Duration shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+    }
+}
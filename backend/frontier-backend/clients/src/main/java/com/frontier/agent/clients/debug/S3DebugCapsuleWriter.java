@@ -1,15 +1,30 @@
 package com.frontier.agent.clients.debug;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.stereotype.Component;
 import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
 import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
@@ -17,30 +32,84 @@ import software.amazon.awssdk.services.s3.model.PutObjectRequest;
  * Ships “debug capsules” to S3 so incidents can be reproduced without re-running
  * expensive inference. Capsules include correlation IDs, agent names, and a schema
  * version to make triage deterministic.
+ * <p>
+ * With {@code frontier.debug-capsules.batch-enabled} capsules are compressed and packed
+ * into segments by {@link DebugCapsulePipeline}, so an incident costs a few PutObjects
+ * rather than one per failure. The key a caller passes then only names the capsule inside
+ * its segment's index, so {@link #write} completes with a {@link DebugCapsuleLocation} that
+ * callers log, and {@link #read} takes it to fetch the capsule back.
+ * {@code frontier.debug_capsules.write} times each capsule until S3 has it.
  */
 @Component
+@EnableConfigurationProperties(DebugCapsuleProperties.class)
 public class S3DebugCapsuleWriter {
 
+    static final String SCHEMA_VERSION = "v1";
+
     private static final Logger log = LoggerFactory.getLogger(S3DebugCapsuleWriter.class);
     private static final ObjectMapper mapper = new ObjectMapper();
 
     private final S3AsyncClient s3Client;
+    private final DebugCapsulePipeline pipeline;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Timer succeeded;
+    private final Timer failed;
 
-    public S3DebugCapsuleWriter(S3AsyncClient s3Client) {
+    public S3DebugCapsuleWriter(S3AsyncClient s3Client, DebugCapsuleProperties properties, MeterRegistry meterRegistry) {
         this.s3Client = s3Client;
+        this.pipeline = properties.isBatchEnabled()
+                ? new DebugCapsulePipeline(s3Client, mapper, properties, meterRegistry)
+                : null;
+        var mode = properties.isBatchEnabled() ? "batch" : "single";
+        this.succeeded = writeTimer(meterRegistry, mode, "success");
+        this.failed = writeTimer(meterRegistry, mode, "failure");
+        Gauge.builder("frontier.aws.in_flight", inFlight, AtomicInteger::get)
+                .description("AWS SDK futures not yet completed")
+                .tag("client", "s3")
+                .register(meterRegistry);
+    }
+
+    private static Timer writeTimer(MeterRegistry meterRegistry, String mode, String outcome) {
+        return Timer.builder("frontier.debug_capsules.write")
+                .description("Time from submitting a debug capsule to S3 accepting it")
+                .tag("mode", mode)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<DebugCapsuleLocation> write(String bucket, String key, Map<String, Object> payload) {
+        long start = System.nanoTime();
+        inFlight.incrementAndGet();
+        return submit(bucket, key, payload).whenComplete((result, throwable) -> {
+            inFlight.decrementAndGet();
+            (throwable == null ? succeeded : failed).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        });
     }
 
-    public CompletableFuture<Void> write(String bucket, String key, Map<String, Object> payload) {
+    private CompletableFuture<DebugCapsuleLocation> submit(String bucket, String key, Map<String, Object> payload) {
+        var correlationId = Objects.requireNonNullElse(MDC.get("X-Correlation-Id"), "unknown");
+        var createdAt = Instant.now().toString();
         try {
+            if (pipeline != null) {
+                Map<String, Object> envelope = new LinkedHashMap<>();
+                envelope.put("key", key);
+                envelope.put("correlation_id", correlationId);
+                envelope.put("schema_version", SCHEMA_VERSION);
+                envelope.put("created_at", createdAt);
+                envelope.put("payload", payload);
+                var line = (mapper.writeValueAsString(envelope) + '\n').getBytes(StandardCharsets.UTF_8);
+                return pipeline.submit(bucket, key, line, Map.of("correlation_id", correlationId, "created_at", createdAt));
+            }
             var serialized = mapper.writeValueAsString(payload);
             var request = PutObjectRequest.builder()
                     .bucket(bucket)
                     .key(key)
                     .contentType("application/json")
                     .metadata(Map.of(
-                            "correlation_id", MDC.getOrDefault("X-Correlation-Id", "unknown"),
-                            "schema_version", "v1",
-                            "created_at", Instant.now().toString()))
+                            "correlation_id", correlationId,
+                            "schema_version", SCHEMA_VERSION,
+                            "created_at", createdAt))
                     .build();
             return s3Client.putObject(request, AsyncRequestBody.fromString(serialized, StandardCharsets.UTF_8))
                     .whenComplete((result, throwable) -> {
@@ -50,10 +119,62 @@ public class S3DebugCapsuleWriter {
                             log.info("Capsule {} uploaded with version {}", key, result.versionId());
                         }
                     })
-                    .thenApply(ignore -> null);
+                    .thenApply(ignore -> DebugCapsuleLocation.object(bucket, key));
         } catch (Exception ex) {
             log.error("Unable to serialize debug capsule {}", key, ex);
-            return CompletableFuture.completedFuture(null);
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /**
+     * Reads back the capsule {@link #write} stored at {@code location}: the JSON envelope of a
+     * batched capsule, read from its segment with a ranged GET for just its gzip member, or
+     * the payload object of an unbatched one. Empty when the index has no such key.
+     */
+    public CompletableFuture<Optional<String>> read(DebugCapsuleLocation location) {
+        if (!location.segmented()) {
+            return s3Client.getObject(builder -> builder.bucket(location.bucket()).key(location.key()),
+                            AsyncResponseTransformer.toBytes())
+                    .thenApply(object -> Optional.of(object.asUtf8String()));
+        }
+        return read(location.bucket(), location.indexKey(), location.key());
+    }
+
+    private CompletableFuture<Optional<String>> read(String bucket, String indexKey, String key) {
+        return s3Client.getObject(builder -> builder.bucket(bucket).key(indexKey), AsyncResponseTransformer.toBytes())
+                .thenCompose(indexObject -> {
+                    try {
+                        var index = mapper.readTree(indexObject.asByteArray());
+                        for (var entry : index.path("capsules")) {
+                            if (key.equals(entry.path("key").asText())) {
+                                long offset = entry.path("offset").asLong();
+                                long end = offset + entry.path("length").asLong() - 1;
+                                return s3Client.getObject(builder -> builder.bucket(bucket)
+                                                        .key(index.path("segment").asText())
+                                                        .range("bytes=" + offset + '-' + end),
+                                                AsyncResponseTransformer.toBytes())
+                                        .thenApply(member -> Optional.of(gunzip(member.asByteArray())));
+                            }
+                        }
+                        return CompletableFuture.completedFuture(Optional.<String>empty());
+                    } catch (IOException ex) {
+                        return CompletableFuture.failedFuture(new UncheckedIOException(ex));
+                    }
+                });
+    }
+
+    private static String gunzip(byte[] member) {
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(member))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).stripTrailing();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (pipeline != null) {
+            pipeline.close();
         }
     }
 }
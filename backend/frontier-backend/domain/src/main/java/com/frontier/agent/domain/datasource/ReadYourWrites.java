@@ -0,0 +1,91 @@
+package com.frontier.agent.domain.datasource;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Remembers which users wrote recently so their own reads are served by the primary until
+ * the replicas have caught up. Reads opt in with {@link #readFor}. The routing data source
+ * only sees the thread, so the user has to be named before the first statement runs.
+ */
+@Component
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final ReadReplicaProperties properties;
+    private final long windowNanos;
+    private final Map<String, Long> lastWrites;
+
+    public ReadYourWrites(ReadReplicaProperties properties) {
+        this.properties = properties;
+        this.windowNanos = properties.getReadYourWritesWindow().toNanos();
+        int capacity = Math.max(1, properties.getTrackedWriters());
+        this.lastWrites = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /** Records a write by {@code userId}; inside a transaction it takes effect once that commits. */
+    public void recordWrite(String userId) {
+        if (!properties.isEnabled() || userId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember(userId);
+                }
+            });
+        } else {
+            remember(userId);
+        }
+    }
+
+    /** Runs {@code read} on the primary when {@code userId} wrote within the window, otherwise on a replica. */
+    public <T> T readFor(String userId, Supplier<T> read) {
+        if (!properties.isEnabled() || PINNED.get() != null || !wroteRecently(userId)) {
+            return read.get();
+        }
+        PINNED.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            PINNED.remove();
+        }
+    }
+
+    static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+
+    private void remember(String userId) {
+        synchronized (lastWrites) {
+            lastWrites.put(userId, System.nanoTime());
+        }
+    }
+
+    private boolean wroteRecently(String userId) {
+        synchronized (lastWrites) {
+            var at = lastWrites.get(userId);
+            if (at == null) {
+                return false;
+            }
+            if (System.nanoTime() - at <= windowNanos) {
+                return true;
+            }
+            lastWrites.remove(userId);
+            return false;
+        }
+    }
+}
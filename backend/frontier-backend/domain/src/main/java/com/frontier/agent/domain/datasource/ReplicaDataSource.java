@@ -0,0 +1,164 @@
+package com.frontier.agent.domain.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Read-only side of the routing set up by {@link ReadReplicaConfiguration}. Each replica has
+ * its own Hikari pool and connections are handed out round-robin over the healthy ones. A
+ * replica is healthy while it answers and its replay lag stays within {@code max-lag}. Reads
+ * fall back to the primary when the thread is pinned by {@link ReadYourWrites} or no
+ * replica is healthy.
+ */
+public class ReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaDataSource.class);
+
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+            END
+            """;
+
+    private final DataSource primary;
+    private final List<Member> members = new ArrayList<>();
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter pinnedReads;
+    private final Counter fallbackReads;
+
+    public ReplicaDataSource(DataSource primary, ReadReplicaProperties properties,
+                             DataSourceProperties dataSourceProperties, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.maxLagMillis = properties.getMaxLag().toMillis();
+        for (var replica : properties.getReplicas()) {
+            var member = new Member(replica.getName(), pool(replica, dataSourceProperties, meterRegistry),
+                    readCounter(meterRegistry, replica.getName(), "balanced"));
+            Gauge.builder("frontier.datasource.replica.healthy", member, m -> m.healthy ? 1 : 0)
+                    .tag("pool", member.name)
+                    .register(meterRegistry);
+            TimeGauge.builder("frontier.datasource.replica.lag", member, TimeUnit.MILLISECONDS, m -> m.lagMillis)
+                    .tag("pool", member.name)
+                    .register(meterRegistry);
+            members.add(member);
+        }
+        this.pinnedReads = readCounter(meterRegistry, "primary", "read_your_writes");
+        this.fallbackReads = readCounter(meterRegistry, "primary", "no_healthy_replica");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (ReadYourWrites.isPinned()) {
+            pinnedReads.increment();
+            return primary.getConnection();
+        }
+        int size = members.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, size));
+        for (int i = 0; i < size; i++) {
+            var member = members.get((start + i) % size);
+            if (!member.healthy) {
+                continue;
+            }
+            try {
+                var connection = member.pool.getConnection();
+                member.reads.increment();
+                return connection;
+            } catch (SQLException ex) {
+                markUnhealthy(member, ex);
+            }
+        }
+        fallbackReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("Replica connections use the configured credentials");
+    }
+
+    @Scheduled(fixedDelayString = "${frontier.read-replicas.health-check-interval:PT5S}")
+    public void checkHealth() {
+        for (var member : members) {
+            try (var connection = member.pool.getConnection();
+                 var statement = connection.createStatement();
+                 var rs = statement.executeQuery(LAG_QUERY)) {
+                rs.next();
+                member.lagMillis = Math.round(rs.getDouble(1));
+                boolean healthy = member.lagMillis <= maxLagMillis;
+                if (healthy != member.healthy) {
+                    log.info("Replica {} is {} (lag {} ms)", member.name, healthy ? "back in rotation" : "lagging", member.lagMillis);
+                }
+                member.healthy = healthy;
+            } catch (SQLException ex) {
+                markUnhealthy(member, ex);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        members.forEach(member -> member.pool.close());
+    }
+
+    private void markUnhealthy(Member member, SQLException ex) {
+        if (member.healthy) {
+            log.warn("Replica {} taken out of rotation", member.name, ex);
+        }
+        member.healthy = false;
+    }
+
+    private static HikariDataSource pool(ReadReplicaProperties.Replica replica, DataSourceProperties defaults,
+                                         MeterRegistry meterRegistry) {
+        var pool = new HikariDataSource();
+        pool.setPoolName("replica-" + replica.getName());
+        pool.setJdbcUrl(replica.getUrl());
+        pool.setUsername(replica.getUsername() != null ? replica.getUsername() : defaults.determineUsername());
+        pool.setPassword(replica.getPassword() != null ? replica.getPassword() : defaults.determinePassword());
+        pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+        pool.setConnectionTimeout(replica.getConnectionTimeout().toMillis());
+        pool.setReadOnly(true);
+        // A replica that is down at startup should only be skipped, not fail the application.
+        pool.setInitializationFailTimeout(-1);
+        pool.setMetricRegistry(meterRegistry);
+        return pool;
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String pool, String reason) {
+        return Counter.builder("frontier.datasource.reads")
+                .description("Read-only connections handed out, by the pool that served them and why")
+                .tag("pool", pool)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static final class Member {
+        private final String name;
+        private final HikariDataSource pool;
+        private final Counter reads;
+        private volatile boolean healthy = true;
+        private volatile long lagMillis;
+
+        private Member(String name, HikariDataSource pool, Counter reads) {
+            this.name = name;
+            this.pool = pool;
+            this.reads = reads;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.frontier.agent.domain.migration;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Builds an index on a partitioned table without blocking writes, which a plain
+ * {@code CREATE INDEX} on the parent cannot do. The parent index is created {@code ON ONLY}
+ * (catalog-only and invalid), each partition is indexed {@code CONCURRENTLY} and attached,
+ * and the parent index turns valid once every partition has one. Partitions created later
+ * get their copy automatically.
+ * <p>
+ * Runs outside a transaction. A rerun after a failure skips partitions that are already
+ * attached and rebuilds any invalid index a cancelled concurrent build left behind.
+ */
+public abstract class PartitionedIndexMigration extends BaseJavaMigration {
+
+    private final String table;
+    private final String index;
+    private final String definition;
+
+    /** {@code definition} is everything after the table name, e.g. {@code (tx_id, id) WHERE ...}. */
+    protected PartitionedIndexMigration(String table, String index, String definition) {
+        this.table = table;
+        this.index = index;
+        this.definition = definition;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        var connection = context.getConnection();
+        execute(connection, "CREATE INDEX IF NOT EXISTS " + index + " ON ONLY " + table + " " + definition);
+        for (var partition : partitions(connection)) {
+            if (hasAttachedIndex(connection, partition)) {
+                continue;
+            }
+            var partitionIndex = partition + "_" + index;
+            if (Boolean.FALSE.equals(isValid(connection, partitionIndex))) {
+                execute(connection, "DROP INDEX CONCURRENTLY IF EXISTS " + partitionIndex);
+            }
+            execute(connection, "CREATE INDEX CONCURRENTLY IF NOT EXISTS " + partitionIndex + " ON " + partition
+                    + " " + definition);
+            execute(connection, "ALTER INDEX " + index + " ATTACH PARTITION " + partitionIndex);
+        }
+        if (!Boolean.TRUE.equals(isValid(connection, index))) {
+            throw new SQLException("Index " + index + " is still invalid after indexing every partition of " + table);
+        }
+    }
+
+    private List<String> partitions(Connection connection) throws SQLException {
+        List<String> partitions = new ArrayList<>();
+        try (var statement = connection.prepareStatement("""
+                SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = CAST(? AS regclass)
+                ORDER BY c.relname
+                """)) {
+            statement.setString(1, table);
+            try (var rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    partitions.add(rows.getString(1));
+                }
+            }
+        }
+        return partitions;
+    }
+
+    private boolean hasAttachedIndex(Connection connection, String partition) throws SQLException {
+        try (var statement = connection.prepareStatement("""
+                SELECT EXISTS (
+                    SELECT 1 FROM pg_inherits i JOIN pg_index x ON x.indexrelid = i.inhrelid
+                    WHERE i.inhparent = CAST(? AS regclass) AND x.indrelid = CAST(? AS regclass)
+                )
+                """)) {
+            statement.setString(1, index);
+            statement.setString(2, partition);
+            try (var rows = statement.executeQuery()) {
+                rows.next();
+                return rows.getBoolean(1);
+            }
+        }
+    }
+
+    /** {@code null} when the index does not exist. */
+    private static Boolean isValid(Connection connection, String index) throws SQLException {
+        try (var statement = connection.prepareStatement(
+                "SELECT indisvalid FROM pg_index WHERE indexrelid = to_regclass(?)")) {
+            statement.setString(1, index);
+            try (var rows = statement.executeQuery()) {
+                return rows.next() ? rows.getBoolean(1) : null;
+            }
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
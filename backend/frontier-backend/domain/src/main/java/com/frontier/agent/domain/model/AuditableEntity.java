@@ -1,7 +1,6 @@
 package com.frontier.agent.domain.model;
 
 import jakarta.persistence.Column;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
 import jakarta.persistence.PrePersist;
@@ -11,15 +10,16 @@ import java.time.Instant;
 import java.util.UUID;
 
 /**
- * Base class that enforces deterministic UUIDs and timestamping so that retries in
- * workers cannot create duplicate rows. Versioning keeps idempotent writes safe when
- * SQS messages replay after transient failures.
+ * Base class for UUID identity and timestamping. Ids are time-ordered UUIDv7 so inserts
+ * stay index-friendly; a worker that must not duplicate rows on retry assigns a
+ * {@linkplain Uuids#deterministic deterministic} id first. Versioning keeps idempotent
+ * writes safe when SQS messages replay after transient failures.
  */
 @MappedSuperclass
 public abstract class AuditableEntity {
 
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(nullable = false, updatable = false)
@@ -28,8 +28,13 @@ public abstract class AuditableEntity {
     @Column(nullable = false)
     private Instant updatedAt;
 
+    /**
+     * Null until the first persist, which is how Spring Data tells a new entity apart when
+     * its id was assigned up front; a primitive would send every such save through a merge
+     * and an extra SELECT.
+     */
     @Version
-    private long version;
+    private Long version;
 
     @PrePersist
     protected void onCreate() {
@@ -43,6 +48,19 @@ public abstract class AuditableEntity {
         updatedAt = Instant.now();
     }
 
+    /**
+     * Fixes the identity of a row that is written outside the persistence context, such as
+     * by {@code AgentRunJournal}, which needs the id before the row exists.
+     */
+    public void assignIdentity(UUID id, Instant createdAt) {
+        if (this.id != null) {
+            throw new IllegalStateException("Entity already has id " + this.id);
+        }
+        this.id = id;
+        this.createdAt = createdAt;
+        this.updatedAt = createdAt;
+    }
+
     public UUID getId() {
         return id;
     }
@@ -55,7 +73,7 @@ public abstract class AuditableEntity {
         return updatedAt;
     }
 
-    public long getVersion() {
+    public Long getVersion() {
         return version;
     }
 }
@@ -0,0 +1,10 @@
+package com.frontier.agent.domain.model;
+
+import java.util.UUID;
+
+/**
+ * An entity's id and embedding only, for rebuilding vector indexes without loading whole
+ * rows.
+ */
+public record EmbeddingView(UUID id, float[] embedding) {
+}
@@ -1,15 +1,18 @@
 package com.frontier.agent.domain.model;
 
+import com.frontier.agent.domain.vector.EmbeddingIndexListener;
 import com.frontier.agent.domain.vector.FloatArrayVectorConverter;
 import jakarta.persistence.Column;
 import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import java.time.Instant;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(EmbeddingIndexListener.class)
 @Table(name = "event")
 public class Event extends AuditableEntity {
 
@@ -0,0 +1,12 @@
+package com.frontier.agent.domain.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * An {@link Event} returned by nearest-neighbour search, without its embedding. {@code distance}
+ * is in the metric the search used; lower is closer.
+ */
+public record EventNeighbor(
+        UUID id, String name, String description, Instant scheduledAt, UUID goalId, double distance) {
+}
@@ -1,9 +1,11 @@
 package com.frontier.agent.domain.model;
 
+import com.frontier.agent.domain.vector.EmbeddingIndexListener;
 import com.frontier.agent.domain.vector.FloatArrayVectorConverter;
 import jakarta.persistence.Column;
 import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Table;
@@ -12,6 +14,7 @@ import java.time.Instant;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(EmbeddingIndexListener.class)
 @Table(name = "goal")
 public class Goal extends AuditableEntity {
 
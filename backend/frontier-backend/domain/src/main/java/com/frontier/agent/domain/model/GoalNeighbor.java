@@ -0,0 +1,12 @@
+package com.frontier.agent.domain.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A {@link Goal} returned by nearest-neighbour search, without its embedding. {@code distance}
+ * is in the metric the search used; lower is closer.
+ */
+public record GoalNeighbor(
+        UUID id, String title, String description, GoalStatus status, Instant dueAt, double distance) {
+}
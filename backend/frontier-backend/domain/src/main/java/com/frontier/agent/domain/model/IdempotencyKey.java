@@ -24,12 +24,16 @@ public class IdempotencyKey {
     @Column(nullable = false)
     private Instant createdAt = Instant.now();
 
+    @Column(nullable = false)
+    private Instant expiresAt;
+
     public IdempotencyKey() {
     }
 
-    public IdempotencyKey(String id, String owner) {
+    public IdempotencyKey(String id, String owner, Instant expiresAt) {
         this.id = id;
         this.owner = owner;
+        this.expiresAt = expiresAt;
     }
 
     public String getId() {
@@ -43,4 +47,8 @@ public class IdempotencyKey {
     public Instant getCreatedAt() {
         return createdAt;
     }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
 }
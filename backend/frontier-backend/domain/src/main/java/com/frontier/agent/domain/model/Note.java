@@ -1,9 +1,11 @@
 package com.frontier.agent.domain.model;
 
+import com.frontier.agent.domain.vector.EmbeddingIndexListener;
 import com.frontier.agent.domain.vector.FloatArrayVectorConverter;
 import jakarta.persistence.Column;
 import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Table;
@@ -13,6 +15,7 @@ import java.util.Set;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(EmbeddingIndexListener.class)
 @Table(name = "note")
 public class Note extends AuditableEntity {
 
@@ -0,0 +1,12 @@
+package com.frontier.agent.domain.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A {@link Note} returned by nearest-neighbour search, without its embedding. {@code distance}
+ * is in the metric the search used; lower is closer.
+ */
+public record NoteNeighbor(
+        UUID id, String content, NoteType type, Instant occurredAt, UUID goalId, double distance) {
+}
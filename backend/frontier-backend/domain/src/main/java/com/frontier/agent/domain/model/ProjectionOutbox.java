@@ -0,0 +1,116 @@
+package com.frontier.agent.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Pending DynamoDB projection written in the same transaction as the source row. The
+ * worker relay drains rows in id order per user and deletes them once the projection
+ * lands, so a rollback never projects and a crash never loses a projection.
+ */
+@Entity
+@Table(name = "projection_outbox")
+public class ProjectionOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String targetTable;
+
+    @Column(nullable = false)
+    private String userId;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+
+    @Column(nullable = false)
+    private String entryType;
+
+    @Column(nullable = false)
+    private UUID entryId;
+
+    @Column
+    private String metadata;
+
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    @Column(nullable = false)
+    private Instant nextAttemptAt = Instant.now();
+
+    @Column
+    private String lastError;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt = Instant.now();
+
+    public ProjectionOutbox() {
+    }
+
+    public ProjectionOutbox(String targetTable, String userId, Instant occurredAt, String entryType, UUID entryId, String metadata) {
+        this.targetTable = targetTable;
+        this.userId = userId;
+        this.occurredAt = occurredAt;
+        this.entryType = entryType;
+        this.entryId = entryId;
+        this.metadata = metadata;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTargetTable() {
+        return targetTable;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public String getEntryType() {
+        return entryType;
+    }
+
+    public UUID getEntryId() {
+        return entryId;
+    }
+
+    public String getMetadata() {
+        return metadata;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void scheduleRetry(Instant nextAttemptAt, String lastError) {
+        this.attempts++;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = lastError;
+    }
+}
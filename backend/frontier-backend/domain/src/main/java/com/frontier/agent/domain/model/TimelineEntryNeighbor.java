@@ -0,0 +1,12 @@
+package com.frontier.agent.domain.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A {@link TimelineEntry} returned by nearest-neighbour search, without its embedding.
+ * {@code distance} is in the metric the search used; lower is closer.
+ */
+public record TimelineEntryNeighbor(
+        UUID id, Instant occurredAt, String entryType, UUID entryId, String metadata, double distance) {
+}
@@ -0,0 +1,12 @@
+package com.frontier.agent.domain.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Read-side projection of {@link TimelineEntry} without the embedding column, so paging
+ * through a user's history never pays for vector decoding.
+ */
+public record TimelineEntryView(
+        UUID id, String userId, Instant occurredAt, String entryType, UUID entryId, String metadata) {
+}
@@ -0,0 +1,47 @@
+package com.frontier.agent.domain.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Identifier schemes for entity keys. {@link #timeOrdered()} returns RFC 9562 version 7
+ * UUIDs, whose leading 48 bits are the Unix time in milliseconds, so new rows append to the
+ * right edge of the primary-key B-tree instead of landing on a random page.
+ * {@link #deterministic} derives a name-based id from an idempotency key, so a replayed
+ * message writes the same row rather than a second one.
+ */
+public final class Uuids {
+
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC_4122 = 0x8000_0000_0000_0000L;
+
+    /** Unix milliseconds in the high bits and a 12-bit sequence in the low bits. */
+    private static final AtomicLong lastTimeAndSequence = new AtomicLong();
+
+    private Uuids() {
+    }
+
+    /**
+     * A version 7 UUID. Within this process successive values are strictly increasing: the
+     * 12-bit {@code rand_a} field counts calls within a millisecond (RFC 9562, method 1), and
+     * a counter overflow borrows the next millisecond. The remaining 62 bits are random.
+     */
+    public static UUID timeOrdered() {
+        long now = System.currentTimeMillis() << 12;
+        long timeAndSequence = lastTimeAndSequence.updateAndGet(last -> Math.max(now, last + 1));
+        long mostSignificant = (timeAndSequence >>> 12) << 16 | VERSION_7 | (timeAndSequence & 0xFFF);
+        long leastSignificant = ThreadLocalRandom.current().nextLong() >>> 2 | VARIANT_RFC_4122;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    /**
+     * A name-based (version 3) UUID for {@code key} within {@code scope}, e.g. the entity
+     * type. The same inputs always give the same id. Such ids are not time-ordered, so use
+     * them only where replay safety matters more than insert locality.
+     */
+    public static UUID deterministic(String scope, String key) {
+        return UUID.nameUUIDFromBytes((scope + ':' + key).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,10 @@
+package com.frontier.agent.domain.repository;
+
+import com.frontier.agent.domain.model.AgentRun;
+import java.util.Optional;
+
+public interface AgentRunRepositoryCustom {
+
+    /** Latest run for the pair, including runs still buffered in the {@code AgentRunJournal}. */
+    Optional<AgentRun> findFirstByCorrelationIdAndAgentNameOrderByCreatedAtDesc(String correlationId, String agentName);
+}
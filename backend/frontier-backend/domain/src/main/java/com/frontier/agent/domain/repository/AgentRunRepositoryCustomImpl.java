@@ -0,0 +1,42 @@
+package com.frontier.agent.domain.repository;
+
+import com.frontier.agent.domain.model.AgentRun;
+import com.frontier.agent.domain.service.AgentRunJournal;
+import jakarta.persistence.EntityManager;
+import java.util.Optional;
+import org.springframework.beans.factory.ObjectProvider;
+
+class AgentRunRepositoryCustomImpl implements AgentRunRepositoryCustom {
+
+    private final EntityManager entityManager;
+    private final ObjectProvider<AgentRunJournal> journal;
+
+    AgentRunRepositoryCustomImpl(EntityManager entityManager, ObjectProvider<AgentRunJournal> journal) {
+        this.entityManager = entityManager;
+        this.journal = journal;
+    }
+
+    @Override
+    public Optional<AgentRun> findFirstByCorrelationIdAndAgentNameOrderByCreatedAtDesc(String correlationId, String agentName) {
+        // The journal only exists where runs are recorded; elsewhere every run is in Postgres.
+        var pending = journal.getIfAvailable();
+        var buffered = pending == null ? Optional.<AgentRun>empty() : pending.findLatestPending(correlationId, agentName);
+        var stored = entityManager.createQuery("""
+                        select r from AgentRun r
+                        where r.correlationId = :correlationId and r.agentName = :agentName
+                        order by r.createdAt desc""", AgentRun.class)
+                .setParameter("correlationId", correlationId)
+                .setParameter("agentName", agentName)
+                .setMaxResults(1)
+                .getResultStream()
+                .findFirst();
+        if (buffered.isEmpty()) {
+            return stored;
+        }
+        // A buffered run is at least as current as its own row, which may already be stored.
+        if (stored.isEmpty() || !buffered.get().getCreatedAt().isBefore(stored.get().getCreatedAt())) {
+            return buffered;
+        }
+        return stored;
+    }
+}
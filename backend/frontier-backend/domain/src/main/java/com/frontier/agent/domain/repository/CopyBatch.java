@@ -0,0 +1,95 @@
+package com.frontier.agent.domain.repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.UUID;
+import org.postgresql.PGConnection;
+
+/**
+ * Rows for one {@code COPY ... FROM STDIN (FORMAT csv)} into a table, for bulk writers
+ * that bypass the persistence context. Values are appended column by column in the order
+ * given to the constructor; {@code null} becomes SQL NULL.
+ */
+public final class CopyBatch {
+
+    private final String sql;
+    private final StringBuilder csv = new StringBuilder(4096);
+    private boolean rowStart = true;
+    private int rows;
+
+    public CopyBatch(String table, String... columns) {
+        this.sql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)";
+    }
+
+    public CopyBatch text(String value) {
+        separate();
+        if (value != null) {
+            // In CSV COPY an unquoted empty field is NULL and a quoted one is an empty string.
+            csv.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    csv.append('"');
+                }
+                csv.append(c);
+            }
+            csv.append('"');
+        }
+        return this;
+    }
+
+    public CopyBatch uuid(UUID value) {
+        separate();
+        if (value != null) {
+            csv.append(value);
+        }
+        return this;
+    }
+
+    public CopyBatch timestamp(Instant value) {
+        separate();
+        if (value != null) {
+            csv.append(value);
+        }
+        return this;
+    }
+
+    public CopyBatch number(long value) {
+        separate();
+        csv.append(value);
+        return this;
+    }
+
+    public CopyBatch endRow() {
+        csv.append('\n');
+        rowStart = true;
+        rows++;
+        return this;
+    }
+
+    public int size() {
+        return rows;
+    }
+
+    public boolean isEmpty() {
+        return rows == 0;
+    }
+
+    /** Streams the rows into Postgres on {@code connection}, inside its current transaction. */
+    public long copyIn(Connection connection) throws SQLException, IOException {
+        if (rows == 0) {
+            return 0;
+        }
+        return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, new StringReader(csv.toString()));
+    }
+
+    private void separate() {
+        if (!rowStart) {
+            csv.append(',');
+        }
+        rowStart = false;
+    }
+}
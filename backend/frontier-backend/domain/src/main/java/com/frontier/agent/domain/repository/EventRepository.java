@@ -1,10 +1,25 @@
 package com.frontier.agent.domain.repository;
 
+import com.frontier.agent.domain.model.EmbeddingView;
 import com.frontier.agent.domain.model.Event;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface EventRepository extends JpaRepository<Event, UUID> {
+@Transactional(readOnly = true)
+public interface EventRepository extends JpaRepository<Event, UUID>, EventRepositoryCustom {
     List<Event> findByUserId(String userId);
+
+    @Query("""
+            select new com.frontier.agent.domain.model.EmbeddingView(e.id, e.embedding)
+            from Event e
+            where e.userId = :userId and e.embedding is not null
+            """)
+    List<EmbeddingView> findEmbeddingsByUserId(@Param("userId") String userId);
+
+    List<Event> findByGoalIdIn(Collection<UUID> goalIds);
 }
@@ -0,0 +1,19 @@
+package com.frontier.agent.domain.repository;
+
+import com.frontier.agent.domain.model.EventNeighbor;
+import com.frontier.agent.domain.vector.VectorDistance;
+import java.util.List;
+
+class EventRepositoryCustomImpl implements EventRepositoryCustom {
+
+    private final NearestNeighborQueries queries;
+
+    EventRepositoryCustomImpl(NearestNeighborQueries queries) {
+        this.queries = queries;
+    }
+
+    @Override
+    public List<EventNeighbor> findNearest(String userId, float[] query, VectorDistance distance, int k, int efSearch) {
+        return queries.events(userId, query, distance, k, efSearch);
+    }
+}
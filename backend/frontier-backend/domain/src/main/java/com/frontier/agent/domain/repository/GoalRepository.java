@@ -1,10 +1,29 @@
 package com.frontier.agent.domain.repository;
 
+import com.frontier.agent.domain.model.EmbeddingView;
 import com.frontier.agent.domain.model.Goal;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface GoalRepository extends JpaRepository<Goal, UUID> {
+@Transactional(readOnly = true)
+public interface GoalRepository extends JpaRepository<Goal, UUID>, GoalRepositoryCustom {
     List<Goal> findByUserId(String userId);
+
+    @Query("""
+            select new com.frontier.agent.domain.model.EmbeddingView(g.id, g.embedding)
+            from Goal g
+            where g.userId = :userId and g.embedding is not null
+            """)
+    List<EmbeddingView> findEmbeddingsByUserId(@Param("userId") String userId);
+
+    /** Keyset-scrollable variant backing the GraphQL connections. */
+    Window<Goal> findByUserId(String userId, ScrollPosition position, Limit limit, Sort sort);
 }
@@ -0,0 +1,15 @@
+package com.frontier.agent.domain.repository;
+
+import com.frontier.agent.domain.model.GoalNeighbor;
+import com.frontier.agent.domain.vector.VectorDistance;
+import java.util.List;
+
+public interface GoalRepositoryCustom {
+
+    /**
+     * The user's {@code k} goals closest to {@code query}, nearest first, without embeddings.
+     * {@code efSearch} trades recall for latency on the HNSW index; 0 uses
+     * {@code frontier.vector-index.ef-search}.
+     */
+    List<GoalNeighbor> findNearest(String userId, float[] query, VectorDistance distance, int k, int efSearch);
+}
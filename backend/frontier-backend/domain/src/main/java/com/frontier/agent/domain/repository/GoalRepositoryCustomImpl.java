@@ -0,0 +1,19 @@
+package com.frontier.agent.domain.repository;
+
+import com.frontier.agent.domain.model.GoalNeighbor;
+import com.frontier.agent.domain.vector.VectorDistance;
+import java.util.List;
+
+class GoalRepositoryCustomImpl implements GoalRepositoryCustom {
+
+    private final NearestNeighborQueries queries;
+
+    GoalRepositoryCustomImpl(NearestNeighborQueries queries) {
+        this.queries = queries;
+    }
+
+    @Override
+    public List<GoalNeighbor> findNearest(String userId, float[] query, VectorDistance distance, int k, int efSearch) {
+        return queries.goals(userId, query, distance, k, efSearch);
+    }
+}
@@ -1,7 +1,58 @@
 package com.frontier.agent.domain.repository;
 
 import com.frontier.agent.domain.model.IdempotencyKey;
+import java.time.Instant;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    /**
+     * Claims {@code id} in one statement: inserts it, or takes over a claim whose expiry has
+     * passed. Returns 1 when the caller now owns the key and 0 when a live claim exists.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO idempotency_key (id, owner, created_at, expires_at)
+            VALUES (:id, :owner, :now, :expiresAt)
+            ON CONFLICT (id) DO UPDATE
+                SET owner = EXCLUDED.owner, created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at
+                WHERE idempotency_key.expires_at <= EXCLUDED.created_at
+            """, nativeQuery = true)
+    int claim(@Param("id") String id, @Param("owner") String owner, @Param("now") Instant now,
+            @Param("expiresAt") Instant expiresAt);
+
+    /**
+     * Batch form of {@link #claim}: claims every id in {@code ids} with one statement and
+     * returns the ids the caller now owns. {@code ids} must not contain duplicates.
+     */
+    @Transactional
+    @Query(value = """
+            INSERT INTO idempotency_key (id, owner, created_at, expires_at)
+            SELECT k.id, :owner, :now, :expiresAt FROM unnest(CAST(:ids AS text[])) AS k(id)
+            ON CONFLICT (id) DO UPDATE
+                SET owner = EXCLUDED.owner, created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at
+                WHERE idempotency_key.expires_at <= EXCLUDED.created_at
+            RETURNING id
+            """, nativeQuery = true)
+    List<String> claimAll(@Param("ids") String[] ids, @Param("owner") String owner, @Param("now") Instant now,
+            @Param("expiresAt") Instant expiresAt);
+
+    /** Deletes up to {@code limit} expired keys, oldest expiry first. */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM idempotency_key WHERE id IN (
+                SELECT id FROM idempotency_key
+                WHERE expires_at <= :now
+                ORDER BY expires_at
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED)
+            """, nativeQuery = true)
+    int deleteExpired(@Param("now") Instant now, @Param("limit") int limit);
 }
@@ -0,0 +1,191 @@
+package com.frontier.agent.domain.repository;
+
+import com.frontier.agent.domain.model.EventNeighbor;
+import com.frontier.agent.domain.model.GoalNeighbor;
+import com.frontier.agent.domain.model.GoalStatus;
+import com.frontier.agent.domain.model.NoteNeighbor;
+import com.frontier.agent.domain.model.NoteType;
+import com.frontier.agent.domain.model.TimelineEntryNeighbor;
+import com.frontier.agent.domain.vector.PgVectorCodec;
+import com.frontier.agent.domain.vector.PgVectorObject;
+import com.frontier.agent.domain.vector.VectorDistance;
+import com.frontier.agent.domain.vector.VectorIndexProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * User-scoped top-K queries over the 1536-dimension embeddings, served by the HNSW indexes
+ * from V15 and V16. Rows come back as projections that leave out the embedding, so a result
+ * never pays for shipping and decoding 6 KB vectors.
+ * <p>
+ * The {@code findNearest} repository methods delegate here through one
+ * {@code *RepositoryCustomImpl} per repository: Spring Data resolves a fragment
+ * implementation per fragment interface, so a shared generic fragment could not tell which
+ * table to search. The SQL lives here once.
+ * <p>
+ * {@code hnsw.ef_search} and {@code hnsw.iterative_scan} are set locally to each query's
+ * transaction, so pooled connections never carry them over to other work. An index scan
+ * can still come back with fewer than {@code k} rows: the user filter applies after the
+ * graph search, and even an iterative scan gives up after {@code hnsw.max_scan_tuples}. A
+ * short cosine result is therefore answered again by ranking all of the user's rows exactly.
+ */
+@Component
+@EnableConfigurationProperties(VectorIndexProperties.class)
+public class NearestNeighborQueries {
+
+    /** Dimension of every embedding indexed since V14. */
+    public static final int DIMENSIONS = 1536;
+
+    private static final int MAX_RESULTS = 100;
+
+    /** pgvector's upper bound for {@code hnsw.ef_search}. */
+    private static final int MAX_EF_SEARCH = 1_000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final VectorIndexProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> exactRescans = new ConcurrentHashMap<>();
+
+    public NearestNeighborQueries(NamedParameterJdbcTemplate jdbcTemplate, VectorIndexProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Transactional(readOnly = true)
+    public List<NoteNeighbor> notes(String userId, float[] query, VectorDistance distance, int k, int efSearch) {
+        return find("note", "id, content, type, occurred_at, goal_id", userId, query, distance, k, efSearch,
+                (rs, row) -> new NoteNeighbor(
+                        rs.getObject("id", UUID.class),
+                        rs.getString("content"),
+                        NoteType.valueOf(rs.getString("type")),
+                        instant(rs, "occurred_at"),
+                        rs.getObject("goal_id", UUID.class),
+                        rs.getDouble("distance")));
+    }
+
+    @Transactional(readOnly = true)
+    public List<GoalNeighbor> goals(String userId, float[] query, VectorDistance distance, int k, int efSearch) {
+        return find("goal", "id, title, description, status, due_at", userId, query, distance, k, efSearch,
+                (rs, row) -> new GoalNeighbor(
+                        rs.getObject("id", UUID.class),
+                        rs.getString("title"),
+                        rs.getString("description"),
+                        GoalStatus.valueOf(rs.getString("status")),
+                        instant(rs, "due_at"),
+                        rs.getDouble("distance")));
+    }
+
+    @Transactional(readOnly = true)
+    public List<EventNeighbor> events(String userId, float[] query, VectorDistance distance, int k, int efSearch) {
+        return find("event", "id, name, description, scheduled_at, goal_id", userId, query, distance, k, efSearch,
+                (rs, row) -> new EventNeighbor(
+                        rs.getObject("id", UUID.class),
+                        rs.getString("name"),
+                        rs.getString("description"),
+                        instant(rs, "scheduled_at"),
+                        rs.getObject("goal_id", UUID.class),
+                        rs.getDouble("distance")));
+    }
+
+    @Transactional(readOnly = true)
+    public List<TimelineEntryNeighbor> timelineEntries(String userId, float[] query, VectorDistance distance, int k,
+                                                       int efSearch) {
+        return find("timeline_entry", "id, occurred_at, entry_type, entry_id, metadata", userId, query, distance, k,
+                efSearch, (rs, row) -> new TimelineEntryNeighbor(
+                        rs.getObject("id", UUID.class),
+                        instant(rs, "occurred_at"),
+                        rs.getString("entry_type"),
+                        rs.getObject("entry_id", UUID.class),
+                        rs.getString("metadata"),
+                        rs.getDouble("distance")));
+    }
+
+    private <T> List<T> find(String table, String columns, String userId, float[] query, VectorDistance distance,
+                             int k, int efSearch, RowMapper<T> rowMapper) {
+        if (query.length != DIMENSIONS) {
+            throw new IllegalArgumentException("Expected " + DIMENSIONS + " dimensions but got " + query.length);
+        }
+        PgVectorCodec.validate(query);
+        int limit = Math.max(1, Math.min(k, MAX_RESULTS));
+        // ef_search below k caps the index scan at fewer than k rows.
+        int ef = Math.min(MAX_EF_SEARCH, Math.max(limit, efSearch > 0 ? efSearch : properties.getEfSearch()));
+        var settings = jdbcTemplate.getJdbcTemplate();
+        settings.queryForObject("SELECT set_config('hnsw.ef_search', ?, true)", String.class, Integer.toString(ef));
+        var iterativeScan = properties.getIterativeScan();
+        if (iterativeScan != null && !iterativeScan.isBlank()) {
+            settings.queryForObject("SELECT set_config('hnsw.iterative_scan', ?, true)", String.class, iterativeScan);
+        }
+        // The ORDER BY must be the bare operator over the indexed cast, and the WHERE must
+        // repeat the index predicate, for the planner to use the index.
+        var sql = """
+                SELECT %s, CAST(embedding AS vector(1536)) %s :query AS distance
+                FROM %s
+                WHERE user_id = :userId AND vector_dims(embedding) = 1536
+                ORDER BY CAST(embedding AS vector(1536)) %s :query
+                LIMIT :limit
+                """.formatted(columns, distance.operator(), table, distance.operator());
+        var params = new MapSqlParameterSource()
+                .addValue("query", new PgVectorObject(query))
+                .addValue("userId", userId)
+                .addValue("limit", limit);
+        return timer(table, distance).record(() -> {
+            var rows = jdbcTemplate.query(sql, params, rowMapper);
+            // Only cosine is indexed; the other metrics already ranked every row of the user.
+            if (rows.size() == limit || distance != VectorDistance.COSINE) {
+                return rows;
+            }
+            exactRescan(table).increment();
+            // Sorting outside the materialized CTE keeps the planner off the HNSW index, so
+            // the user's rows are fetched through their user_id indexes and all ranked.
+            var exactSql = """
+                    WITH candidates AS MATERIALIZED (
+                        SELECT %s, CAST(embedding AS vector(1536)) %s :query AS distance
+                        FROM %s
+                        WHERE user_id = :userId AND vector_dims(embedding) = 1536
+                    )
+                    SELECT * FROM candidates ORDER BY distance LIMIT :limit
+                    """.formatted(columns, distance.operator(), table);
+            return jdbcTemplate.query(exactSql, params, rowMapper);
+        });
+    }
+
+    private Timer timer(String table, VectorDistance distance) {
+        return timers.computeIfAbsent(table + ':' + distance, key -> Timer.builder("frontier.vector.knn.duration")
+                .description("Database-side nearest-neighbour query latency")
+                .tag("table", table)
+                .tag("distance", distance.name().toLowerCase(Locale.ROOT))
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private Counter exactRescan(String table) {
+        return exactRescans.computeIfAbsent(table, key -> Counter.builder("frontier.vector.knn.exact_rescans")
+                .description("Searches whose index scan returned fewer than k rows and were ranked exactly")
+                .tag("table", table)
+                .register(meterRegistry));
+    }
+
+    private static Instant instant(ResultSet rs, String column) throws SQLException {
+        var value = rs.getObject(column, OffsetDateTime.class);
+        return value == null ? null : value.toInstant();
+    }
+}
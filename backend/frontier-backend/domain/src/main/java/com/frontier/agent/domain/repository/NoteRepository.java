@@ -1,10 +1,32 @@
 package com.frontier.agent.domain.repository;
 
+import com.frontier.agent.domain.model.EmbeddingView;
 import com.frontier.agent.domain.model.Note;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface NoteRepository extends JpaRepository<Note, UUID> {
+@Transactional(readOnly = true)
+public interface NoteRepository extends JpaRepository<Note, UUID>, NoteRepositoryCustom {
     List<Note> findByUserId(String userId);
+
+    @Query("""
+            select new com.frontier.agent.domain.model.EmbeddingView(n.id, n.embedding)
+            from Note n
+            where n.userId = :userId and n.embedding is not null
+            """)
+    List<EmbeddingView> findEmbeddingsByUserId(@Param("userId") String userId);
+
+    /** Keyset-scrollable variant backing the GraphQL connections. */
+    Window<Note> findByUserId(String userId, ScrollPosition position, Limit limit, Sort sort);
+
+    List<Note> findByGoalIdIn(Collection<UUID> goalIds);
 }
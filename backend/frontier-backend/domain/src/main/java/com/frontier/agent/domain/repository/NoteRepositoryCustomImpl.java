@@ -0,0 +1,19 @@
+package com.frontier.agent.domain.repository;
+
+import com.frontier.agent.domain.model.NoteNeighbor;
+import com.frontier.agent.domain.vector.VectorDistance;
+import java.util.List;
+
+class NoteRepositoryCustomImpl implements NoteRepositoryCustom {
+
+    private final NearestNeighborQueries queries;
+
+    NoteRepositoryCustomImpl(NearestNeighborQueries queries) {
+        this.queries = queries;
+    }
+
+    @Override
+    public List<NoteNeighbor> findNearest(String userId, float[] query, VectorDistance distance, int k, int efSearch) {
+        return queries.notes(userId, query, distance, k, efSearch);
+    }
+}
@@ -0,0 +1,33 @@
+package com.frontier.agent.domain.repository;
+
+import com.frontier.agent.domain.model.ProjectionOutbox;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ProjectionOutboxRepository extends JpaRepository<ProjectionOutbox, Long> {
+
+    /**
+     * Due rows in id order, skipping any user whose earlier row is still backing off so a
+     * retry can never be overtaken by a later write for the same user.
+     */
+    @Query(value = """
+            SELECT o.* FROM projection_outbox o
+            WHERE o.next_attempt_at <= :now
+              AND NOT EXISTS (
+                  SELECT 1 FROM projection_outbox p
+                  WHERE p.user_id = o.user_id AND p.id < o.id AND p.next_attempt_at > :now)
+            ORDER BY o.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<ProjectionOutbox> findDueBatch(@Param("now") Instant now, @Param("limit") int limit);
+
+    /** Transaction-scoped advisory lock that keeps a single relay draining at a time. */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryRelayLock(@Param("key") long key);
+
+    @Query("select min(o.createdAt) from ProjectionOutbox o")
+    Instant findOldestCreatedAt();
+}
@@ -4,7 +4,9 @@ import com.frontier.agent.domain.model.Snapshot;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
 
+@Transactional(readOnly = true)
 public interface SnapshotRepository extends JpaRepository<Snapshot, UUID> {
     List<Snapshot> findByUserId(String userId);
 }
@@ -1,10 +1,22 @@
 package com.frontier.agent.domain.repository;
 
 import com.frontier.agent.domain.model.Task;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
 
+@Transactional(readOnly = true)
 public interface TaskRepository extends JpaRepository<Task, UUID> {
     List<Task> findByUserId(String userId);
+
+    /** Keyset-scrollable variant backing the GraphQL connections. */
+    Window<Task> findByUserId(String userId, ScrollPosition position, Limit limit, Sort sort);
+
+    List<Task> findByGoalIdIn(Collection<UUID> goalIds);
 }
@@ -1,10 +1,56 @@
 package com.frontier.agent.domain.repository;
 
 import com.frontier.agent.domain.model.TimelineEntry;
+import com.frontier.agent.domain.model.TimelineEntryView;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface TimelineEntryRepository extends JpaRepository<TimelineEntry, UUID> {
-    List<TimelineEntry> findByUserId(String userId);
+@Transactional(readOnly = true)
+public interface TimelineEntryRepository extends JpaRepository<TimelineEntry, UUID>, TimelineEntryRepositoryCustom {
+    /**
+     * Keyset page over {@code idx_timeline_user_time}: rows strictly before the
+     * {@code (beforeAt, beforeId)} cursor and at or after {@code from}, newest first. The
+     * cursor is a row-value comparison, which Postgres turns into an
+     * {@code occurred_at <= beforeAt} index bound; the equivalent OR form is only a filter.
+     */
+    @Query("""
+            select new com.frontier.agent.domain.model.TimelineEntryView(
+                t.id, t.userId, t.occurredAt, t.entryType, t.entryId, t.metadata)
+            from TimelineEntry t
+            where t.userId = :userId
+              and t.occurredAt >= :from
+              and (t.occurredAt, t.id) < (:beforeAt, :beforeId)
+            order by t.occurredAt desc, t.id desc
+            """)
+    List<TimelineEntryView> findPage(
+            @Param("userId") String userId,
+            @Param("from") Instant from,
+            @Param("beforeAt") Instant beforeAt,
+            @Param("beforeId") UUID beforeId,
+            Limit limit);
+
+    @Query("""
+            select new com.frontier.agent.domain.model.TimelineEntryView(
+                t.id, t.userId, t.occurredAt, t.entryType, t.entryId, t.metadata)
+            from TimelineEntry t
+            where t.userId = :userId
+              and t.entryType in :entryTypes
+              and t.occurredAt >= :from
+              and (t.occurredAt, t.id) < (:beforeAt, :beforeId)
+            order by t.occurredAt desc, t.id desc
+            """)
+    List<TimelineEntryView> findPageByEntryTypes(
+            @Param("userId") String userId,
+            @Param("entryTypes") Collection<String> entryTypes,
+            @Param("from") Instant from,
+            @Param("beforeAt") Instant beforeAt,
+            @Param("beforeId") UUID beforeId,
+            Limit limit);
 }
@@ -0,0 +1,19 @@
+package com.frontier.agent.domain.repository;
+
+import com.frontier.agent.domain.model.TimelineEntryNeighbor;
+import com.frontier.agent.domain.vector.VectorDistance;
+import java.util.List;
+
+class TimelineEntryRepositoryCustomImpl implements TimelineEntryRepositoryCustom {
+
+    private final NearestNeighborQueries queries;
+
+    TimelineEntryRepositoryCustomImpl(NearestNeighborQueries queries) {
+        this.queries = queries;
+    }
+
+    @Override
+    public List<TimelineEntryNeighbor> findNearest(String userId, float[] query, VectorDistance distance, int k, int efSearch) {
+        return queries.timelineEntries(userId, query, distance, k, efSearch);
+    }
+}
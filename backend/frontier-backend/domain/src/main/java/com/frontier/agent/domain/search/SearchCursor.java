@@ -0,0 +1,26 @@
+package com.frontier.agent.domain.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque {@code (rank, type, id)} position in a ranked result list. The rank is carried
+ * exactly, so the next page seeks from the last hit rather than skipping rows.
+ */
+public record SearchCursor(float rank, SearchItemType type, UUID id) {
+
+    public String encode() {
+        var raw = Float.toString(rank) + "|" + type + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String encoded) {
+        try {
+            var parts = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8).split("\\|", 3);
+            return new SearchCursor(Float.parseFloat(parts[0]), SearchItemType.valueOf(parts[1]), UUID.fromString(parts[2]));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Malformed search cursor", ex);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.frontier.agent.domain.search;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One search result. {@code title} and {@code snippet} are HTML-escaped with matched terms
+ * wrapped in the configured highlight markers; notes have no title. {@code rank} is
+ * normalized to {@code [0, 1)} so hits of different types compare.
+ */
+public record SearchHit(SearchItemType type, UUID id, String title, String snippet, float rank, Instant occurredAt) {
+}
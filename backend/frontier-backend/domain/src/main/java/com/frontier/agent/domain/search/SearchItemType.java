@@ -0,0 +1,9 @@
+package com.frontier.agent.domain.search;
+
+/** Entity kinds covered by full-text search. */
+public enum SearchItemType {
+    NOTE,
+    GOAL,
+    TASK,
+    EVENT
+}
@@ -0,0 +1,6 @@
+package com.frontier.agent.domain.search;
+
+import java.util.List;
+
+public record SearchPage(List<SearchHit> items, String nextCursor) {
+}
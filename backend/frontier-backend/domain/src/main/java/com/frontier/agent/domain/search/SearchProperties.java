@@ -0,0 +1,100 @@
+package com.frontier.agent.domain.search;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "frontier.search")
+public class SearchProperties {
+
+    private int defaultPageSize = 20;
+    private int maxPageSize = 100;
+
+    /** Longer queries are rejected rather than parsed. */
+    private int maxQueryLength = 256;
+
+    /**
+     * Cap on each search statement. Ranking reads every match for the user, so a very common
+     * term over a very large account is cut off here instead of holding a connection.
+     */
+    private Duration statementTimeout = Duration.ofSeconds(3);
+
+    /** Snippet shape, passed to {@code ts_headline}. */
+    private int maxFragments = 2;
+    private int minWords = 12;
+    private int maxWords = 30;
+
+    private String highlightStart = "<mark>";
+    private String highlightStop = "</mark>";
+
+    public int getDefaultPageSize() {
+        return defaultPageSize;
+    }
+
+    public void setDefaultPageSize(int defaultPageSize) {
+        this.defaultPageSize = defaultPageSize;
+    }
+
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    public void setMaxPageSize(int maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
+
+    public int getMaxQueryLength() {
+        return maxQueryLength;
+    }
+
+    public void setMaxQueryLength(int maxQueryLength) {
+        this.maxQueryLength = maxQueryLength;
+    }
+
+    public Duration getStatementTimeout() {
+        return statementTimeout;
+    }
+
+    public void setStatementTimeout(Duration statementTimeout) {
+        this.statementTimeout = statementTimeout;
+    }
+
+    public int getMaxFragments() {
+        return maxFragments;
+    }
+
+    public void setMaxFragments(int maxFragments) {
+        this.maxFragments = maxFragments;
+    }
+
+    public int getMinWords() {
+        return minWords;
+    }
+
+    public void setMinWords(int minWords) {
+        this.minWords = minWords;
+    }
+
+    public int getMaxWords() {
+        return maxWords;
+    }
+
+    public void setMaxWords(int maxWords) {
+        this.maxWords = maxWords;
+    }
+
+    public String getHighlightStart() {
+        return highlightStart;
+    }
+
+    public void setHighlightStart(String highlightStart) {
+        this.highlightStart = highlightStart;
+    }
+
+    public String getHighlightStop() {
+        return highlightStop;
+    }
+
+    public void setHighlightStop(String highlightStop) {
+        this.highlightStop = highlightStop;
+    }
+}
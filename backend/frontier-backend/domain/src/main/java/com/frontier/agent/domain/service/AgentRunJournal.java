@@ -0,0 +1,521 @@
+package com.frontier.agent.domain.service;
+
+import com.frontier.agent.domain.model.AgentRun;
+import com.frontier.agent.domain.model.Uuids;
+import com.frontier.agent.domain.repository.CopyBatch;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+
+/**
+ * Write-behind journal for {@link AgentRun} bookkeeping. Runs are held in a bounded buffer
+ * and written by a background flusher on a size or time trigger: new rows with one
+ * {@code COPY}, finished runs whose STARTED row was already written with one batched
+ * update. A run that finishes before it is flushed costs a single insert instead of an
+ * insert plus an update. Everything still buffered is flushed on shutdown; a crash can
+ * lose the last {@code flushInterval} of bookkeeping, which is the trade-off for taking
+ * it off the listener's critical path.
+ *
+ * <p>A batch that Postgres rejects for its data is split in half and retried down to single
+ * rows; a row that still fails goes to {@code agent_run_dead_letter} and leaves the buffer,
+ * so one bad run cannot stall every flush behind it. Connection-level failures keep the
+ * whole batch for the next attempt. An outcome whose update finds no row, because its
+ * STARTED row was dead-lettered or never written, is inserted in full instead.
+ *
+ * <p>{@code AgentRunRepository.findFirstByCorrelationIdAndAgentNameOrderByCreatedAtDesc}
+ * consults {@link #findLatestPending} so buffered runs stay visible. The journal only exists
+ * with {@code frontier.agent-run-journal.enabled}, which the worker sets.
+ */
+@Service
+@ConditionalOnProperty(prefix = "frontier.agent-run-journal", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(AgentRunJournalProperties.class)
+public class AgentRunJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(AgentRunJournal.class);
+
+    private static final String UPDATE_SQL = "UPDATE agent_run SET status = ?, last_error = ?, retries = ?, finished_at = ?, "
+            + "updated_at = ?, version = version + 1 WHERE id = ?";
+
+    private static final String DEAD_LETTER_SQL = "INSERT INTO agent_run_dead_letter (run_id, operation, correlation_id, "
+            + "agent_name, parent_request_id, input_hash, status, last_error, retries, started_at, finished_at, created_at, "
+            + "updated_at, error) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /** SQLSTATE classes that say nothing about the rows: connection, rollback, resources, operator, system. */
+    private static final Set<String> TRANSIENT_SQL_STATE_CLASSES = Set.of("08", "40", "53", "57", "58");
+
+    private final DataSource dataSource;
+    private final AgentRunJournalProperties properties;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Map<UUID, Entry> pending = new LinkedHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+    private final ScheduledExecutorService flusher;
+    private final Timer flushTimer;
+    private final Counter rowsWritten;
+    private final Counter flushFailures;
+    private final Counter deadLetters;
+    private volatile boolean closed;
+
+    public AgentRunJournal(DataSource dataSource, AgentRunJournalProperties properties, MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+        Gauge.builder("frontier.agentrun.journal.pending", this, AgentRunJournal::pendingCount)
+                .description("Agent runs buffered and not yet fully written")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("frontier.agentrun.journal.flush")
+                .description("Time to write one journal batch")
+                .register(meterRegistry);
+        this.rowsWritten = meterRegistry.counter("frontier.agentrun.journal.rows");
+        this.flushFailures = meterRegistry.counter("frontier.agentrun.journal.failures");
+        this.deadLetters = meterRegistry.counter("frontier.agentrun.journal.dead_letters");
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "agent-run-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = properties.getFlushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(() -> flushQuietly(false), intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registers a run that is starting. Assigns its id and creation time and defaults
+     * {@code startedAt}; blocks up to {@code enqueueTimeout} while the buffer is full.
+     */
+    public AgentRun start(AgentRun run) {
+        Instant now = Instant.now();
+        run.assignIdentity(Uuids.timeOrdered(), now);
+        if (run.getStartedAt() == null) {
+            run.setStartedAt(now);
+        }
+        var entry = new Entry(Row.of(run, now, false), now);
+        lock.lock();
+        try {
+            awaitCapacity();
+            pending.put(entry.row.id(), entry);
+        } finally {
+            lock.unlock();
+        }
+        return run;
+    }
+
+    /** Records the outcome of a run previously passed to {@link #start}. */
+    public void finish(AgentRun run) {
+        if (run.getId() == null) {
+            throw new IllegalArgumentException("AgentRun was not started through the journal");
+        }
+        Instant now = Instant.now();
+        if (run.getFinishedAt() == null) {
+            run.setFinishedAt(now);
+        }
+        var row = Row.of(run, now, true);
+        int size;
+        lock.lock();
+        try {
+            var entry = pending.get(row.id());
+            if (entry == null) {
+                // Already written, or dead-lettered: this outcome goes out as an update, which
+                // inserts the whole row if its STARTED row never made it to agent_run.
+                awaitCapacity();
+                entry = new Entry(row, now);
+                entry.persisted = true;
+                pending.put(row.id(), entry);
+            }
+            entry.row = row;
+            size = pending.size();
+        } finally {
+            lock.unlock();
+        }
+        if (size >= properties.getBatchSize()) {
+            requestFlush();
+        }
+    }
+
+    /** Most recently started buffered run for the pair, as a detached copy. */
+    public Optional<AgentRun> findLatestPending(String correlationId, String agentName) {
+        Row latest = null;
+        lock.lock();
+        try {
+            for (var entry : pending.values()) {
+                var row = entry.row;
+                if (row.agentName().equals(agentName) && row.correlationId().equals(correlationId)
+                        && (latest == null || !row.createdAt().isBefore(latest.createdAt()))) {
+                    latest = row;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return Optional.ofNullable(latest).map(Row::toAgentRun);
+    }
+
+    private void awaitCapacity() {
+        if (closed) {
+            throw new RejectedExecutionException("AgentRun journal is shut down");
+        }
+        long remaining = properties.getEnqueueTimeout().toNanos();
+        while (pending.size() >= properties.getCapacity()) {
+            requestFlush();
+            if (remaining <= 0) {
+                throw new RejectedExecutionException("AgentRun journal is full");
+            }
+            try {
+                remaining = notFull.awaitNanos(remaining);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted waiting for AgentRun journal capacity", ex);
+            }
+        }
+    }
+
+    private void requestFlush() {
+        if (!closed && flushQueued.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                flushQueued.set(false);
+                flushQuietly(false);
+            });
+        }
+    }
+
+    private int pendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushQuietly(boolean force) {
+        try {
+            flush(force);
+        } catch (SQLException | IOException | RuntimeException ex) {
+            flushFailures.increment();
+            log.warn("AgentRun journal flush failed, keeping {} runs for the next attempt", pendingCount(), ex);
+        }
+    }
+
+    /**
+     * Writes batches until nothing is due. Unfinished runs are only written once they are
+     * older than {@code startedRowDelay}, or always when {@code force} is set.
+     */
+    private void flush(boolean force) throws SQLException, IOException {
+        flushLock.lock();
+        try {
+            List<Entry> inserts = new ArrayList<>();
+            List<Entry> updates = new ArrayList<>();
+            do {
+                inserts.clear();
+                updates.clear();
+                collectDue(force, inserts, updates);
+                if (inserts.isEmpty() && updates.isEmpty()) {
+                    return;
+                }
+                writeBatch(inserts, updates);
+            } while (inserts.size() + updates.size() >= properties.getBatchSize());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void collectDue(boolean force, List<Entry> inserts, List<Entry> updates) {
+        Instant startedCutoff = Instant.now().minus(properties.getStartedRowDelay());
+        int limit = properties.getBatchSize();
+        lock.lock();
+        try {
+            for (var entry : pending.values()) {
+                if (inserts.size() + updates.size() >= limit) {
+                    break;
+                }
+                var row = entry.row;
+                if (!entry.persisted) {
+                    if (row.finished() || force || entry.enqueuedAt.isBefore(startedCutoff)) {
+                        entry.snapshot = row;
+                        inserts.add(entry);
+                    }
+                } else if (row != entry.written && row.finished()) {
+                    entry.snapshot = row;
+                    updates.add(entry);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes one batch, splitting it on data errors until the offending rows are isolated
+     * and dead-lettered. Transient failures propagate with every row still buffered.
+     */
+    private void writeBatch(List<Entry> inserts, List<Entry> updates) throws SQLException, IOException {
+        try {
+            long startNanos = System.nanoTime();
+            write(snapshots(inserts), snapshots(updates));
+            flushTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            rowsWritten.increment(inserts.size() + updates.size());
+            markWritten(inserts);
+            markWritten(updates);
+        } catch (SQLException | RuntimeException ex) {
+            if (ex instanceof SQLException sqlException && isTransient(sqlException)) {
+                throw sqlException;
+            }
+            if (!inserts.isEmpty() && !updates.isEmpty()) {
+                writeBatch(inserts, List.of());
+                writeBatch(List.of(), updates);
+            } else if (inserts.size() > 1) {
+                writeBatch(inserts.subList(0, inserts.size() / 2), List.of());
+                writeBatch(inserts.subList(inserts.size() / 2, inserts.size()), List.of());
+            } else if (updates.size() > 1) {
+                writeBatch(List.of(), updates.subList(0, updates.size() / 2));
+                writeBatch(List.of(), updates.subList(updates.size() / 2, updates.size()));
+            } else {
+                deadLetter(inserts.isEmpty() ? updates.get(0) : inserts.get(0), inserts.isEmpty() ? "UPDATE" : "INSERT", ex);
+            }
+        }
+    }
+
+    private static boolean isTransient(SQLException ex) {
+        var state = ex.getSQLState();
+        return ex instanceof SQLTransientException || ex instanceof SQLRecoverableException || state == null
+                || state.length() < 2 || TRANSIENT_SQL_STATE_CLASSES.contains(state.substring(0, 2));
+    }
+
+    private static List<Row> snapshots(List<Entry> entries) {
+        return entries.stream().map(entry -> entry.snapshot).toList();
+    }
+
+    /**
+     * Moves a rejected run out of the buffer into {@code agent_run_dead_letter}, with its
+     * latest state. If even that insert is refused for its data, the run is logged and dropped.
+     */
+    private void deadLetter(Entry entry, String operation, Exception cause) throws SQLException {
+        Row row;
+        lock.lock();
+        try {
+            row = entry.row;
+        } finally {
+            lock.unlock();
+        }
+        try (Connection connection = dataSource.getConnection();
+             var statement = connection.prepareStatement(DEAD_LETTER_SQL)) {
+            statement.setObject(1, row.id());
+            statement.setString(2, operation);
+            statement.setString(3, row.correlationId());
+            statement.setString(4, row.agentName());
+            statement.setString(5, row.parentRequestId());
+            statement.setString(6, row.inputHash());
+            statement.setString(7, row.status());
+            statement.setString(8, row.lastError());
+            statement.setInt(9, row.retries());
+            statement.setTimestamp(10, timestamp(row.startedAt()));
+            statement.setTimestamp(11, timestamp(row.finishedAt()));
+            statement.setTimestamp(12, timestamp(row.createdAt()));
+            statement.setTimestamp(13, timestamp(row.updatedAt()));
+            statement.setString(14, String.valueOf(cause.getMessage()));
+            statement.executeUpdate();
+            log.warn("Dead-lettered AgentRun {} after {} failed: {}", row.id(), operation, cause.getMessage());
+        } catch (SQLException ex) {
+            if (isTransient(ex)) {
+                throw ex;
+            }
+            log.error("Dropping AgentRun {} that could not be written or dead-lettered: {}", row, cause.getMessage(), ex);
+        }
+        deadLetters.increment();
+        lock.lock();
+        try {
+            pending.remove(row.id(), entry);
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void markWritten(List<Entry> entries) {
+        lock.lock();
+        try {
+            for (var entry : entries) {
+                entry.persisted = true;
+                entry.written = entry.snapshot;
+                if (entry.row == entry.snapshot && entry.row.finished()) {
+                    pending.remove(entry.row.id());
+                }
+            }
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(List<Row> inserts, List<Row> updates) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                toCopyBatch(inserts).copyIn(connection);
+                if (!updates.isEmpty()) {
+                    try (var statement = connection.prepareStatement(UPDATE_SQL)) {
+                        for (var row : updates) {
+                            statement.setString(1, row.status());
+                            statement.setString(2, row.lastError());
+                            statement.setInt(3, row.retries());
+                            statement.setTimestamp(4, timestamp(row.finishedAt()));
+                            statement.setTimestamp(5, Timestamp.from(row.updatedAt()));
+                            statement.setObject(6, row.id());
+                            statement.addBatch();
+                        }
+                        var counts = statement.executeBatch();
+                        List<Row> missing = new ArrayList<>();
+                        for (int i = 0; i < counts.length; i++) {
+                            if (counts[i] == 0) {
+                                missing.add(updates.get(i));
+                            }
+                        }
+                        if (!missing.isEmpty()) {
+                            log.info("Inserting {} finished AgentRuns whose STARTED row is missing", missing.size());
+                            toCopyBatch(missing).copyIn(connection);
+                        }
+                    }
+                }
+                connection.commit();
+            } catch (SQLException | IOException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private static Timestamp timestamp(Instant instant) {
+        return instant == null ? null : Timestamp.from(instant);
+    }
+
+    private static CopyBatch toCopyBatch(List<Row> rows) {
+        var batch = new CopyBatch("agent_run", "id", "correlation_id", "agent_name", "parent_request_id", "input_hash",
+                "status", "last_error", "retries", "started_at", "finished_at", "created_at", "updated_at", "version");
+        for (var row : rows) {
+            batch.uuid(row.id())
+                    .text(row.correlationId())
+                    .text(row.agentName())
+                    .text(row.parentRequestId())
+                    .text(row.inputHash())
+                    .text(row.status())
+                    .text(row.lastError())
+                    .number(row.retries())
+                    .timestamp(row.startedAt())
+                    .timestamp(row.finishedAt())
+                    .timestamp(row.createdAt())
+                    .timestamp(row.updatedAt())
+                    .number(0)
+                    .endRow();
+        }
+        return batch;
+    }
+
+    @PreDestroy
+    public void close() {
+        closed = true;
+        flusher.shutdown();
+        long deadline = System.nanoTime() + properties.getShutdownTimeout().toNanos();
+        try {
+            flusher.awaitTermination(properties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        while (pendingCount() > 0 && System.nanoTime() < deadline) {
+            flushQuietly(true);
+            if (pendingCount() > 0) {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        int left = pendingCount();
+        if (left > 0) {
+            log.error("AgentRun journal shut down with {} runs unwritten", left);
+        }
+    }
+
+    private static final class Entry {
+        private final Instant enqueuedAt;
+        private Row row;
+        private boolean persisted;
+        private Row written;
+        private Row snapshot;
+
+        private Entry(Row row, Instant enqueuedAt) {
+            this.row = row;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    /** Immutable copy of an {@link AgentRun}, so the flusher never reads a run mid-update. */
+    private record Row(
+            UUID id,
+            String correlationId,
+            String agentName,
+            String parentRequestId,
+            String inputHash,
+            String status,
+            String lastError,
+            int retries,
+            Instant startedAt,
+            Instant finishedAt,
+            Instant createdAt,
+            Instant updatedAt,
+            boolean finished) {
+
+        static Row of(AgentRun run, Instant now, boolean finished) {
+            return new Row(run.getId(), run.getCorrelationId(), run.getAgentName(), run.getParentRequestId(),
+                    run.getInputHash(), run.getStatus(), run.getLastError(), run.getRetries(), run.getStartedAt(),
+                    run.getFinishedAt(), run.getCreatedAt(), now, finished);
+        }
+
+        AgentRun toAgentRun() {
+            var run = new AgentRun();
+            run.assignIdentity(id, createdAt);
+            run.setCorrelationId(correlationId);
+            run.setAgentName(agentName);
+            run.setParentRequestId(parentRequestId);
+            run.setInputHash(inputHash);
+            run.setStatus(status);
+            run.setLastError(lastError);
+            run.setRetries(retries);
+            run.setStartedAt(startedAt);
+            run.setFinishedAt(finishedAt);
+            return run;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.frontier.agent.domain.service;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "frontier.agent-run-journal")
+public class AgentRunJournalProperties {
+
+    /**
+     * Creates the journal and its flusher thread. Only applications that record agent runs,
+     * the worker, turn it on; elsewhere run lookups read Postgres alone.
+     */
+    private boolean enabled;
+
+    /** Rows per COPY / update batch; reaching it triggers a flush before the timer fires. */
+    private int batchSize = 500;
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /** Runs held in memory before callers are made to wait for a flush. */
+    private int capacity = 10_000;
+    private Duration enqueueTimeout = Duration.ofSeconds(2);
+
+    /**
+     * How long a run may stay unfinished before its STARTED row is written anyway. Runs that
+     * finish sooner are written once, already finished.
+     */
+    private Duration startedRowDelay = Duration.ofSeconds(2);
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public Duration getEnqueueTimeout() {
+        return enqueueTimeout;
+    }
+
+    public void setEnqueueTimeout(Duration enqueueTimeout) {
+        this.enqueueTimeout = enqueueTimeout;
+    }
+
+    public Duration getStartedRowDelay() {
+        return startedRowDelay;
+    }
+
+    public void setStartedRowDelay(Duration startedRowDelay) {
+        this.startedRowDelay = startedRowDelay;
+    }
+
+    public Duration getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    public void setShutdownTimeout(Duration shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+    }
+}
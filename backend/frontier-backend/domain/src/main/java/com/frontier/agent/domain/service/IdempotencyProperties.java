@@ -0,0 +1,75 @@
+package com.frontier.agent.domain.service;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "frontier.idempotency")
+public class IdempotencyProperties {
+
+    /** Upper bound on keys remembered in-process; least recently used entries are evicted. */
+    private int nearCacheSize = 10_000;
+
+    /**
+     * How long a claim lost to another consumer is remembered locally. Its real expiry is
+     * unknown, so this stays short; a claim we won is remembered until it expires.
+     */
+    private Duration duplicateCacheTtl = Duration.ofSeconds(30);
+
+    private Duration sweepInterval = Duration.ofMinutes(1);
+    private int sweepBatchSize = 1_000;
+    private int maxSweepBatches = 50;
+
+    /**
+     * Give rows written for a claimed key an id derived from the key, so a message replayed
+     * after its claim expired updates the row it wrote before instead of adding another.
+     */
+    private boolean deterministicIds = false;
+
+    public int getNearCacheSize() {
+        return nearCacheSize;
+    }
+
+    public void setNearCacheSize(int nearCacheSize) {
+        this.nearCacheSize = nearCacheSize;
+    }
+
+    public Duration getDuplicateCacheTtl() {
+        return duplicateCacheTtl;
+    }
+
+    public void setDuplicateCacheTtl(Duration duplicateCacheTtl) {
+        this.duplicateCacheTtl = duplicateCacheTtl;
+    }
+
+    public Duration getSweepInterval() {
+        return sweepInterval;
+    }
+
+    public void setSweepInterval(Duration sweepInterval) {
+        this.sweepInterval = sweepInterval;
+    }
+
+    public int getSweepBatchSize() {
+        return sweepBatchSize;
+    }
+
+    public void setSweepBatchSize(int sweepBatchSize) {
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    public int getMaxSweepBatches() {
+        return maxSweepBatches;
+    }
+
+    public void setMaxSweepBatches(int maxSweepBatches) {
+        this.maxSweepBatches = maxSweepBatches;
+    }
+
+    public boolean isDeterministicIds() {
+        return deterministicIds;
+    }
+
+    public void setDeterministicIds(boolean deterministicIds) {
+        this.deterministicIds = deterministicIds;
+    }
+}
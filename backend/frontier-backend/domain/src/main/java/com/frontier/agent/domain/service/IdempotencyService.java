@@ -1,39 +1,197 @@
 package com.frontier.agent.domain.service;
 
-import com.frontier.agent.domain.model.IdempotencyKey;
+import com.frontier.agent.domain.model.Uuids;
 import com.frontier.agent.domain.repository.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Provides idempotency guarantees for SQS handlers. The implementation purposely records
  * keys synchronously in Postgres to ensure auditability while allowing higher-level
  * workers to write the same keys into DynamoDB for fast replay checks.
+ *
+ * <p>A claim is a single insert-on-conflict statement, so concurrent redeliveries cannot
+ * both win. Keys this process has already seen claimed are remembered in a bounded
+ * near-cache, letting hot duplicates return without touching the database.
  */
 @Service
+@EnableConfigurationProperties(IdempotencyProperties.class)
 public class IdempotencyService {
 
     private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
 
     private final IdempotencyKeyRepository repository;
+    private final IdempotencyProperties properties;
+    private final Clock clock;
+    private final Map<String, Instant> nearCache;
+    private final Counter cacheHits;
+    private final Counter acquired;
+    private final Counter duplicates;
+    private final Timer singleClaims;
+    private final Timer batchClaims;
 
-    public IdempotencyService(IdempotencyKeyRepository repository) {
+    public IdempotencyService(IdempotencyKeyRepository repository, IdempotencyProperties properties,
+            MeterRegistry meterRegistry) {
         this.repository = repository;
+        this.properties = properties;
+        this.clock = Clock.systemUTC();
+        int capacity = Math.max(1, properties.getNearCacheSize());
+        this.nearCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Instant> eldest) {
+                return size() > capacity;
+            }
+        };
+        this.cacheHits = claimCounter(meterRegistry, "cache", "duplicate");
+        this.acquired = claimCounter(meterRegistry, "database", "acquired");
+        this.duplicates = claimCounter(meterRegistry, "database", "duplicate");
+        this.singleClaims = claimTimer(meterRegistry, "single");
+        this.batchClaims = claimTimer(meterRegistry, "batch");
     }
 
-    @Transactional
+    private static Timer claimTimer(MeterRegistry meterRegistry, String mode) {
+        return Timer.builder("frontier.idempotency.claim.duration")
+                .description("Time spent in the claim statement, near-cache hits excluded")
+                .tag("mode", mode)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Counter claimCounter(MeterRegistry meterRegistry, String source, String result) {
+        return Counter.builder("frontier.idempotency.claims")
+                .description("Idempotency claims by where they were decided and their outcome")
+                .tag("source", source)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Claims {@code key} for {@code ttl}. Returns {@code false} while another claim on the
+     * key is live; once it expires the key can be claimed again.
+     */
     public boolean tryAcquire(String key, String owner, Duration ttl) {
-        Optional<IdempotencyKey> existing = repository.findById(key);
-        if (existing.isPresent()) {
-            log.debug("idempotency key {} already claimed by {}", key, existing.get().getOwner());
+        Instant now = clock.instant();
+        if (isCachedClaim(key, now)) {
+            cacheHits.increment();
+            log.debug("idempotency key {} already claimed (near-cache)", key);
             return false;
         }
-        repository.save(new IdempotencyKey(key, owner));
-        return true;
+        Instant expiresAt = now.plus(ttl);
+        int inserted = singleClaims.record(() -> repository.claim(key, owner, now, expiresAt));
+        if (inserted == 1) {
+            acquired.increment();
+            remember(key, expiresAt);
+            return true;
+        }
+        duplicates.increment();
+        log.debug("idempotency key {} already claimed", key);
+        Duration duplicateTtl = properties.getDuplicateCacheTtl();
+        remember(key, now.plus(ttl.compareTo(duplicateTtl) < 0 ? ttl : duplicateTtl));
+        return false;
+    }
+
+    /**
+     * Claims several keys for the same owner and {@code ttl} in one statement and returns
+     * the ones acquired. When called inside a transaction the claims commit or roll back
+     * with it, and acquired keys only enter the near-cache once it has committed.
+     */
+    public Set<String> claimAll(Collection<String> keys, String owner, Duration ttl) {
+        Instant now = clock.instant();
+        Set<String> candidates = new LinkedHashSet<>();
+        for (String key : keys) {
+            if (isCachedClaim(key, now)) {
+                cacheHits.increment();
+            } else {
+                candidates.add(key);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+        Instant expiresAt = now.plus(ttl);
+        Set<String> claimed = new HashSet<>(batchClaims.record(
+                () -> repository.claimAll(candidates.toArray(String[]::new), owner, now, expiresAt)));
+        acquired.increment(claimed.size());
+        duplicates.increment(candidates.size() - claimed.size());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    claimed.forEach(key -> remember(key, expiresAt));
+                }
+            });
+        } else {
+            claimed.forEach(key -> remember(key, expiresAt));
+        }
+        return claimed;
+    }
+
+    /**
+     * The id a row of kind {@code scope} written under {@code key} should carry when
+     * {@code frontier.idempotency.deterministic-ids} is on; empty otherwise, leaving the
+     * entity to its generated time-ordered id.
+     */
+    public Optional<UUID> replayIdentity(String scope, String key) {
+        return properties.isDeterministicIds() ? Optional.of(Uuids.deterministic(scope, key)) : Optional.empty();
+    }
+
+    private boolean isCachedClaim(String key, Instant now) {
+        synchronized (nearCache) {
+            Instant expiresAt = nearCache.get(key);
+            if (expiresAt == null) {
+                return false;
+            }
+            if (expiresAt.isAfter(now)) {
+                return true;
+            }
+            nearCache.remove(key);
+            return false;
+        }
+    }
+
+    private void remember(String key, Instant expiresAt) {
+        synchronized (nearCache) {
+            nearCache.put(key, expiresAt);
+        }
+    }
+
+    /**
+     * Deletes expired keys in small batches so the sweep never holds long locks or bloats a
+     * single transaction, and stops after {@code maxSweepBatches} to bound each run.
+     */
+    @Scheduled(fixedDelayString = "${frontier.idempotency.sweep-interval:PT1M}")
+    public void purgeExpired() {
+        Instant now = clock.instant();
+        int batchSize = properties.getSweepBatchSize();
+        long purged = 0;
+        for (int batch = 0; batch < properties.getMaxSweepBatches(); batch++) {
+            int deleted = repository.deleteExpired(now, batchSize);
+            purged += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        if (purged > 0) {
+            log.debug("purged {} expired idempotency keys", purged);
+        }
     }
 }
@@ -0,0 +1,255 @@
+package com.frontier.agent.domain.service;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 128-bit fingerprint (MurmurHash3 x64/128) of a message payload, used for idempotency keys
+ * and {@code AgentRun.inputHash}. The payload is streamed into the hash as a canonical,
+ * type-tagged and length-prefixed encoding: map entries are visited in key order, so the
+ * result does not depend on {@code HashMap} iteration order, and no intermediate string of
+ * the payload is built. Integral numbers hash the same whichever boxed type carries them,
+ * so {@code 1}, {@code 1L} and {@code 1.0} are equal.
+ */
+public final class PayloadFingerprint {
+
+    private static final byte NULL = 0;
+    private static final byte FALSE = 1;
+    private static final byte TRUE = 2;
+    private static final byte INTEGER = 3;
+    private static final byte DECIMAL = 4;
+    private static final byte STRING = 5;
+    private static final byte MAP = 6;
+    private static final byte LIST = 7;
+    private static final byte BIG_NUMBER = 8;
+
+    private static final Comparator<Map.Entry<?, ?>> BY_KEY =
+            Comparator.comparing(entry -> String.valueOf(entry.getKey()));
+    private static final HexFormat HEX = HexFormat.of();
+
+    private PayloadFingerprint() {
+    }
+
+    /** Returns the fingerprint as 32 lowercase hex characters. */
+    public static String of(Object payload) {
+        var hasher = new Murmur3();
+        write(hasher, payload);
+        return hasher.finish();
+    }
+
+    private static void write(Murmur3 hasher, Object value) {
+        if (value == null) {
+            hasher.putByte(NULL);
+        } else if (value instanceof CharSequence text) {
+            writeString(hasher, text);
+        } else if (value instanceof Boolean bool) {
+            hasher.putByte(bool ? TRUE : FALSE);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            hasher.putByte(INTEGER);
+            hasher.putLong(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            writeDouble(hasher, ((Number) value).doubleValue());
+        } else if (value instanceof BigInteger integer) {
+            if (integer.bitLength() < Long.SIZE) {
+                hasher.putByte(INTEGER);
+                hasher.putLong(integer.longValue());
+            } else {
+                writeBigNumber(hasher, integer.toString());
+            }
+        } else if (value instanceof BigDecimal decimal) {
+            writeBigDecimal(hasher, decimal);
+        } else if (value instanceof Map<?, ?> map) {
+            writeMap(hasher, map);
+        } else if (value instanceof Set<?> set) {
+            writeSet(hasher, set);
+        } else if (value instanceof Collection<?> collection) {
+            hasher.putByte(LIST);
+            hasher.putInt(collection.size());
+            for (Object element : collection) {
+                write(hasher, element);
+            }
+        } else if (value instanceof Object[] array) {
+            write(hasher, Arrays.asList(array));
+        } else if (value instanceof Enum<?> constant) {
+            writeString(hasher, constant.name());
+        } else {
+            writeString(hasher, value.toString());
+        }
+    }
+
+    private static void writeString(Murmur3 hasher, CharSequence text) {
+        int length = text.length();
+        hasher.putByte(STRING);
+        hasher.putInt(length);
+        for (int i = 0; i < length; i++) {
+            hasher.putChar(text.charAt(i));
+        }
+    }
+
+    private static void writeDouble(Murmur3 hasher, double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 0x1p63) {
+            hasher.putByte(INTEGER);
+            hasher.putLong((long) value);
+        } else {
+            hasher.putByte(DECIMAL);
+            hasher.putLong(Double.doubleToLongBits(value));
+        }
+    }
+
+    private static void writeBigDecimal(Murmur3 hasher, BigDecimal decimal) {
+        if (decimal.signum() == 0) {
+            hasher.putByte(INTEGER);
+            hasher.putLong(0);
+            return;
+        }
+        var normalized = decimal.stripTrailingZeros();
+        if (normalized.scale() <= 0 && normalized.precision() - normalized.scale() < 19) {
+            hasher.putByte(INTEGER);
+            hasher.putLong(normalized.longValueExact());
+        } else {
+            writeBigNumber(hasher, normalized.toString());
+        }
+    }
+
+    private static void writeBigNumber(Murmur3 hasher, String digits) {
+        hasher.putByte(BIG_NUMBER);
+        hasher.putInt(digits.length());
+        for (int i = 0; i < digits.length(); i++) {
+            hasher.putChar(digits.charAt(i));
+        }
+    }
+
+    private static void writeMap(Murmur3 hasher, Map<?, ?> map) {
+        hasher.putByte(MAP);
+        hasher.putInt(map.size());
+        List<Map.Entry<?, ?>> entries = new ArrayList<>(map.entrySet());
+        entries.sort(BY_KEY);
+        for (var entry : entries) {
+            write(hasher, entry.getKey());
+            write(hasher, entry.getValue());
+        }
+    }
+
+    /** Sets have no order, so each element is hashed on its own and the results summed. */
+    private static void writeSet(Murmur3 hasher, Set<?> set) {
+        long low = 0;
+        long high = 0;
+        for (Object element : set) {
+            var elementHasher = new Murmur3();
+            write(elementHasher, element);
+            elementHasher.complete();
+            low += elementHasher.h1;
+            high += elementHasher.h2;
+        }
+        hasher.putByte(LIST);
+        hasher.putInt(set.size());
+        hasher.putLong(low);
+        hasher.putLong(high);
+    }
+
+    /** Streaming MurmurHash3 x64/128 with seed 0. */
+    private static final class Murmur3 {
+
+        private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+        private static final long C1 = 0x87c37b91114253d5L;
+        private static final long C2 = 0x4cf5ad432745937fL;
+
+        private final byte[] block = new byte[16];
+        private int position;
+        private long length;
+        private long h1;
+        private long h2;
+
+        void putByte(byte value) {
+            block[position++] = value;
+            if (position == 16) {
+                mix((long) LONG_LE.get(block, 0), (long) LONG_LE.get(block, 8));
+                position = 0;
+            }
+            length++;
+        }
+
+        void putChar(char value) {
+            putByte((byte) value);
+            putByte((byte) (value >>> 8));
+        }
+
+        void putInt(int value) {
+            for (int shift = 0; shift < Integer.SIZE; shift += 8) {
+                putByte((byte) (value >>> shift));
+            }
+        }
+
+        void putLong(long value) {
+            for (int shift = 0; shift < Long.SIZE; shift += 8) {
+                putByte((byte) (value >>> shift));
+            }
+        }
+
+        private void mix(long k1, long k2) {
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        void complete() {
+            if (position > 0) {
+                Arrays.fill(block, position, 16, (byte) 0);
+                long k1 = (long) LONG_LE.get(block, 0);
+                long k2 = (long) LONG_LE.get(block, 8);
+                h1 ^= mixK1(k1);
+                h2 ^= mixK2(k2);
+            }
+            h1 ^= length;
+            h2 ^= length;
+            h1 += h2;
+            h2 += h1;
+            h1 = fmix(h1);
+            h2 = fmix(h2);
+            h1 += h2;
+            h2 += h1;
+        }
+
+        String finish() {
+            complete();
+            return HEX.toHexDigits(h1) + HEX.toHexDigits(h2);
+        }
+
+        private static long mixK1(long k1) {
+            k1 *= C1;
+            k1 = Long.rotateLeft(k1, 31);
+            return k1 * C2;
+        }
+
+        private static long mixK2(long k2) {
+            k2 *= C2;
+            k2 = Long.rotateLeft(k2, 33);
+            return k2 * C1;
+        }
+
+        private static long fmix(long k) {
+            k ^= k >>> 33;
+            k *= 0xff51afd7ed558ccdL;
+            k ^= k >>> 33;
+            k *= 0xc4ceb9fe1a85ec53L;
+            k ^= k >>> 33;
+            return k;
+        }
+    }
+}
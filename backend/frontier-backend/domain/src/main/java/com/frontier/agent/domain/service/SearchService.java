@@ -0,0 +1,203 @@
+package com.frontier.agent.domain.service;
+
+import com.frontier.agent.domain.datasource.ReadYourWrites;
+import com.frontier.agent.domain.search.SearchCursor;
+import com.frontier.agent.domain.search.SearchHit;
+import com.frontier.agent.domain.search.SearchItemType;
+import com.frontier.agent.domain.search.SearchPage;
+import com.frontier.agent.domain.search.SearchProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Ranked full-text search over a user's notes, goals, tasks and events, using the generated
+ * {@code search_vector} columns and their {@code (user_id, search_vector)} GIN indexes.
+ * <p>
+ * Matches of all requested types are ranked together with {@code ts_rank_cd}, normalized so
+ * the types compare, and paged by seeking from the {@code (rank, type, id)} of the last hit.
+ * Snippets are only built for the rows of the page, since {@code ts_headline} re-parses the
+ * document and is far more expensive than ranking.
+ */
+@Service
+@EnableConfigurationProperties(SearchProperties.class)
+public class SearchService {
+
+    /** Must match the configuration the {@code search_vector} columns are generated with. */
+    static final String TEXT_SEARCH_CONFIG = "english";
+
+    // Private-use characters mark matches inside ts_headline output; they are swapped for the
+    // configured markers after the text has been HTML-escaped.
+    private static final char START_SEL = '\uE000';
+    private static final char STOP_SEL = '\uE001';
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final SearchProperties properties;
+    private final ReadYourWrites readYourWrites;
+    private final Timer firstPages;
+    private final Timer nextPages;
+
+    public SearchService(NamedParameterJdbcTemplate jdbcTemplate, SearchProperties properties,
+                         ReadYourWrites readYourWrites, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.readYourWrites = readYourWrites;
+        this.firstPages = searchTimer(meterRegistry, "first");
+        this.nextPages = searchTimer(meterRegistry, "next");
+    }
+
+    private static Timer searchTimer(MeterRegistry meterRegistry, String page) {
+        return Timer.builder("frontier.search.duration")
+                .description("Full-text search latency, ranking and snippets included")
+                .tag("page", page)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns one page of hits for {@code query}, parsed with {@code websearch_to_tsquery} so
+     * quotes, {@code or} and {@code -term} work and malformed input cannot fail the query.
+     * {@code types} null or empty searches every type.
+     */
+    @Transactional(readOnly = true)
+    public SearchPage search(String userId, String query, Set<SearchItemType> types, String cursor, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        if (query.length() > properties.getMaxQueryLength()) {
+            throw new IllegalArgumentException("Search query longer than " + properties.getMaxQueryLength() + " characters");
+        }
+        var position = cursor != null ? SearchCursor.decode(cursor) : null;
+        var searched = types == null || types.isEmpty() ? EnumSet.allOf(SearchItemType.class) : EnumSet.copyOf(types);
+        int pageSize = size == null ? properties.getDefaultPageSize() : Math.max(1, Math.min(size, properties.getMaxPageSize()));
+        return (position == null ? firstPages : nextPages).record(() -> readYourWrites.readFor(userId,
+                () -> readPage(userId, query, searched, position, pageSize)));
+    }
+
+    private SearchPage readPage(String userId, String query, Set<SearchItemType> types, SearchCursor position,
+                                int pageSize) {
+        jdbcTemplate.getJdbcTemplate()
+                .execute("SET LOCAL statement_timeout = " + Math.max(1, properties.getStatementTimeout().toMillis()));
+        var params = new MapSqlParameterSource()
+                .addValue("config", TEXT_SEARCH_CONFIG)
+                .addValue("query", query)
+                .addValue("userId", userId)
+                // Fetch one extra hit to learn whether another page exists without a count query.
+                .addValue("limit", pageSize + 1)
+                .addValue("titleOptions", "HighlightAll=true, StartSel=" + START_SEL + ", StopSel=" + STOP_SEL)
+                .addValue("snippetOptions", "MaxFragments=" + properties.getMaxFragments()
+                        + ", MinWords=" + properties.getMinWords()
+                        + ", MaxWords=" + properties.getMaxWords()
+                        + ", StartSel=" + START_SEL + ", StopSel=" + STOP_SEL);
+        if (position != null) {
+            params.addValue("rank", position.rank())
+                    .addValue("type", position.type().name())
+                    .addValue("id", position.id());
+        }
+        List<SearchHit> hits = jdbcTemplate.query(sql(types, position != null), params, this::mapHit);
+        if (hits.size() <= pageSize) {
+            return new SearchPage(hits, null);
+        }
+        var items = List.copyOf(hits.subList(0, pageSize));
+        var last = items.get(pageSize - 1);
+        return new SearchPage(items, new SearchCursor(last.rank(), last.type(), last.id()).encode());
+    }
+
+    private static String sql(Set<SearchItemType> types, boolean seek) {
+        var matches = types.stream()
+                .map(type -> """
+                        SELECT '%s' AS type, t.id, ts_rank_cd(t.search_vector, q.query, 32) AS rank
+                        FROM %s t, q
+                        WHERE t.user_id = :userId AND t.search_vector @@ q.query"""
+                        .formatted(type.name(), table(type)))
+                .collect(Collectors.joining("\nUNION ALL\n"));
+        var documents = types.stream()
+                .map(type -> "SELECT %s FROM %s t WHERE p.type = '%s' AND t.id = p.id"
+                        .formatted(documentColumns(type), table(type), type.name()))
+                .collect(Collectors.joining("\nUNION ALL\n"));
+        return """
+                WITH q AS (SELECT websearch_to_tsquery(CAST(:config AS regconfig), :query) AS query),
+                hits AS (
+                %s
+                ),
+                page AS (
+                    SELECT type, id, rank FROM hits
+                    %s
+                    ORDER BY rank DESC, type DESC, id DESC
+                    LIMIT :limit
+                )
+                SELECT p.type, p.id, p.rank, d.occurred_at,
+                       ts_headline(CAST(:config AS regconfig), d.title, q.query, :titleOptions) AS title,
+                       ts_headline(CAST(:config AS regconfig), d.body, q.query, :snippetOptions) AS snippet
+                FROM page p
+                CROSS JOIN q
+                CROSS JOIN LATERAL (
+                %s
+                ) d
+                ORDER BY p.rank DESC, p.type DESC, p.id DESC
+                """.formatted(matches,
+                seek ? "WHERE (rank, type, id) < (CAST(:rank AS real), :type, :id)" : "",
+                documents);
+    }
+
+    private static String table(SearchItemType type) {
+        return switch (type) {
+            case NOTE -> "note";
+            case GOAL -> "goal";
+            case TASK -> "task";
+            case EVENT -> "event";
+        };
+    }
+
+    private static String documentColumns(SearchItemType type) {
+        return switch (type) {
+            case NOTE -> "CAST(NULL AS text) AS title, t.content AS body, coalesce(t.occurred_at, t.created_at) AS occurred_at";
+            case GOAL, TASK -> "t.title, t.description AS body, t.created_at AS occurred_at";
+            case EVENT -> "t.name AS title, t.description AS body, t.scheduled_at AS occurred_at";
+        };
+    }
+
+    private SearchHit mapHit(ResultSet rs, int row) throws SQLException {
+        var occurredAt = rs.getObject("occurred_at", OffsetDateTime.class);
+        return new SearchHit(
+                SearchItemType.valueOf(rs.getString("type")),
+                rs.getObject("id", UUID.class),
+                highlight(rs.getString("title")),
+                highlight(rs.getString("snippet")),
+                rs.getFloat("rank"),
+                occurredAt == null ? null : occurredAt.toInstant());
+    }
+
+    private String highlight(String headline) {
+        if (headline == null) {
+            return null;
+        }
+        var out = new StringBuilder(headline.length() + 32);
+        for (int i = 0; i < headline.length(); i++) {
+            char c = headline.charAt(i);
+            switch (c) {
+                case START_SEL -> out.append(properties.getHighlightStart());
+                case STOP_SEL -> out.append(properties.getHighlightStop());
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,330 @@
+package com.frontier.agent.domain.service;
+
+import com.frontier.agent.domain.model.EmbeddingView;
+import com.frontier.agent.domain.repository.EventRepository;
+import com.frontier.agent.domain.repository.GoalRepository;
+import com.frontier.agent.domain.repository.NoteRepository;
+import com.frontier.agent.domain.vector.HnswIndex;
+import com.frontier.agent.domain.vector.HnswIndexStore;
+import com.frontier.agent.domain.vector.SimilarItem;
+import com.frontier.agent.domain.vector.VectorIndexProperties;
+import com.frontier.agent.domain.vector.VectorItemType;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * "Related items" lookups over note, goal and event embeddings, backed by one in-process
+ * HNSW index per user. An index is opened from its memory-mapped file on a user's first
+ * lookup, or built from the user's stored embeddings when there is no file or the file is
+ * older than {@code max-age}. Each process adds the entities it saves itself, and once an
+ * index reaches {@code max-age} the next lookup starts a rebuild from Postgres in the
+ * background and keeps answering from the old index until it is done, so writes made by
+ * other instances show up within that window.
+ * <p>
+ * Saves never load anything: an entity is only added to an index that is already open, or
+ * still loading, in which case it is added once the load is done. A user with no open index
+ * picks the entity up from Postgres on their next lookup.
+ * <p>
+ * At most {@code max-users} indexes stay open; the least recently used is saved and dropped.
+ * Builds run outside the map's lock, so a slow rebuild for one user never stalls lookups for
+ * others, and a user without embeddings is remembered as such until the entry expires.
+ * Indexes whose tombstones outnumber their live items are compacted before they are saved.
+ */
+@Service
+@EnableConfigurationProperties(VectorIndexProperties.class)
+public class SimilarityService {
+
+    static final int MAX_RESULTS = 100;
+
+    private static final Logger log = LoggerFactory.getLogger(SimilarityService.class);
+
+    private final VectorIndexProperties properties;
+    private final HnswIndexStore store;
+    private final NoteRepository noteRepository;
+    private final GoalRepository goalRepository;
+    private final EventRepository eventRepository;
+    private final long maxAgeMillis;
+    private final Map<String, Slot> indexes = new LinkedHashMap<>(256, 0.75f, true);
+    private final ExecutorService refresher =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("vector-index-refresh-", 0).factory());
+
+    public SimilarityService(
+            VectorIndexProperties properties,
+            NoteRepository noteRepository,
+            GoalRepository goalRepository,
+            EventRepository eventRepository) {
+        this.properties = properties;
+        this.store = new HnswIndexStore(properties.getDirectory());
+        this.noteRepository = noteRepository;
+        this.goalRepository = goalRepository;
+        this.eventRepository = eventRepository;
+        this.maxAgeMillis = properties.getMaxAge().toMillis();
+    }
+
+    public void index(String userId, VectorItemType type, UUID id, float[] embedding) {
+        if (!properties.isEnabled() || userId == null || id == null || embedding == null || embedding.length == 0) {
+            return;
+        }
+        Slot slot;
+        synchronized (indexes) {
+            slot = indexes.get(userId);
+        }
+        if (slot == null) {
+            return;
+        }
+        // A load or rebuild may have read Postgres before this row committed, so the entity is
+        // added again to whatever index it produces; add is a no-op for an unchanged vector.
+        slot.loaded.thenRun(() -> add(slot, type, id, embedding));
+        var refresh = slot.refresh;
+        if (refresh != null) {
+            refresh.thenRun(() -> add(slot, type, id, embedding));
+        }
+    }
+
+    private void add(Slot slot, VectorItemType type, UUID id, float[] embedding) {
+        var index = slot.index;
+        if (index == null) {
+            // The user had no embeddings when the slot was built; this is the first one.
+            synchronized (slot) {
+                if (slot.index == null) {
+                    slot.index = new HnswIndex(
+                            embedding.length, properties.getMaxConnections(), properties.getEfConstruction());
+                }
+                index = slot.index;
+            }
+        }
+        index.add(type, id, embedding);
+    }
+
+    /** Nearest neighbours of an already indexed item, excluding the item itself. */
+    public List<SimilarItem> related(String userId, VectorItemType type, UUID id, int k, Set<VectorItemType> types) {
+        var index = properties.isEnabled() ? slotFor(userId, 0).index : null;
+        if (index == null) {
+            return List.of();
+        }
+        var vector = index.vectorOf(type, id);
+        if (vector == null) {
+            return List.of();
+        }
+        return index.search(vector, clamp(k), properties.getEfSearch(), types, type, id);
+    }
+
+    public List<SimilarItem> nearest(String userId, float[] query, int k, Set<VectorItemType> types) {
+        var index = properties.isEnabled() ? slotFor(userId, query.length).index : null;
+        if (index == null) {
+            return List.of();
+        }
+        return index.search(query, clamp(k), properties.getEfSearch(), types, null, null);
+    }
+
+    @Scheduled(fixedDelayString = "${frontier.vector-index.flush-interval:PT30S}")
+    public void flush() {
+        List<Map.Entry<String, HnswIndex>> open = new ArrayList<>();
+        synchronized (indexes) {
+            indexes.forEach((userId, slot) -> {
+                if (slot.index != null) {
+                    open.add(Map.entry(userId, slot.index));
+                }
+            });
+        }
+        open.forEach(entry -> save(entry.getKey(), entry.getValue()));
+    }
+
+    @PreDestroy
+    public void close() {
+        refresher.shutdownNow();
+        flush();
+    }
+
+    private int clamp(int k) {
+        return Math.max(1, Math.min(k, MAX_RESULTS));
+    }
+
+    private Slot slotFor(String userId, int dimension) {
+        Slot slot;
+        boolean build = false;
+        boolean refresh = false;
+        List<Map.Entry<String, HnswIndex>> evicted = List.of();
+        synchronized (indexes) {
+            slot = indexes.get(userId);
+            if (slot == null) {
+                slot = new Slot();
+                indexes.put(userId, slot);
+                evicted = evictOverflow();
+                build = true;
+            } else if (slot.refresh == null && slot.loaded.isDone() && expired(slot.builtAt)) {
+                slot.refresh = new CompletableFuture<>();
+                refresh = true;
+            }
+        }
+        evicted.forEach(entry -> save(entry.getKey(), entry.getValue()));
+        if (build) {
+            load(userId, slot, dimension);
+        }
+        if (refresh) {
+            var expiring = slot;
+            refresher.execute(() -> refresh(userId, expiring, dimension));
+        }
+        try {
+            slot.loaded.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+        return slot;
+    }
+
+    private boolean expired(long builtAt) {
+        return System.currentTimeMillis() - builtAt > maxAgeMillis;
+    }
+
+    /** Drops least recently used slots beyond {@code max-users}; returns the dirty indexes among them. */
+    private List<Map.Entry<String, HnswIndex>> evictOverflow() {
+        List<Map.Entry<String, HnswIndex>> evicted = new ArrayList<>();
+        var eldest = indexes.entrySet().iterator();
+        while (indexes.size() > Math.max(1, properties.getMaxUsers()) && eldest.hasNext()) {
+            var entry = eldest.next();
+            eldest.remove();
+            var index = entry.getValue().index;
+            if (index != null && index.isDirty()) {
+                evicted.add(Map.entry(entry.getKey(), index));
+            }
+        }
+        return evicted;
+    }
+
+    private void load(String userId, Slot slot, int dimension) {
+        try {
+            long startedAt = System.currentTimeMillis();
+            var index = open(userId);
+            if (index == null) {
+                index = build(userId, dimension);
+            }
+            slot.index = index;
+            slot.builtAt = index != null ? index.builtAt() : startedAt;
+            slot.loaded.complete(null);
+        } catch (RuntimeException ex) {
+            synchronized (indexes) {
+                indexes.remove(userId, slot);
+            }
+            slot.loaded.completeExceptionally(ex);
+        }
+    }
+
+    /** Rebuilds an expired index from Postgres while lookups keep using the old one. */
+    private void refresh(String userId, Slot slot, int dimension) {
+        var previous = slot.index;
+        try {
+            var index = build(userId, previous != null ? previous.dimension() : dimension);
+            slot.index = index;
+            slot.builtAt = index != null ? index.builtAt() : System.currentTimeMillis();
+        } catch (RuntimeException ex) {
+            log.warn("Failed to refresh vector index for user {}; retrying on a later lookup", userId, ex);
+        } finally {
+            var done = slot.refresh;
+            slot.refresh = null;
+            done.complete(null);
+        }
+    }
+
+    private HnswIndex open(String userId) {
+        try {
+            var stored = store.load(userId, properties.getEfConstruction());
+            if (stored.isPresent() && !expired(stored.get().builtAt())) {
+                return stored.get();
+            }
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Discarding unreadable vector index for user {}", userId, ex);
+        }
+        return null;
+    }
+
+    private HnswIndex build(String userId, int dimension) {
+        var notes = noteRepository.findEmbeddingsByUserId(userId);
+        var goals = goalRepository.findEmbeddingsByUserId(userId);
+        var events = eventRepository.findEmbeddingsByUserId(userId);
+        int dims = dimension;
+        if (dims <= 0) {
+            dims = Stream.of(notes, goals, events)
+                    .flatMap(List::stream)
+                    .map(EmbeddingView::embedding)
+                    .filter(e -> e.length > 0)
+                    .findFirst()
+                    .map(e -> e.length)
+                    .orElse(0);
+        }
+        if (dims <= 0) {
+            return null;
+        }
+        var index = new HnswIndex(dims, properties.getMaxConnections(), properties.getEfConstruction());
+        int skipped = addAll(index, VectorItemType.NOTE, notes)
+                + addAll(index, VectorItemType.GOAL, goals)
+                + addAll(index, VectorItemType.EVENT, events);
+        if (skipped > 0) {
+            log.warn("Skipped {} embeddings with mismatched dimensions while indexing user {}", skipped, userId);
+        }
+        log.info("Built vector index for user {} with {} items", userId, index.size());
+        return index;
+    }
+
+    private int addAll(HnswIndex index, VectorItemType type, List<EmbeddingView> rows) {
+        int skipped = 0;
+        for (var row : rows) {
+            if (row.embedding().length == 0) {
+                continue;
+            }
+            if (row.embedding().length != index.dimension()) {
+                skipped++;
+                continue;
+            }
+            index.add(type, row.id(), row.embedding());
+        }
+        return skipped;
+    }
+
+    private void save(String userId, HnswIndex index) {
+        if (index.tombstones() > index.size()) {
+            index.compact();
+        }
+        if (!index.isDirty()) {
+            return;
+        }
+        synchronized (index) {
+            try {
+                store.save(userId, index);
+            } catch (IOException ex) {
+                log.warn("Failed to persist vector index for user {}", userId, ex);
+            }
+        }
+    }
+
+    /**
+     * One user's entry. {@code index} stays {@code null} for a user without embeddings;
+     * {@code builtAt} is far in the future while the first load is still running, and
+     * {@code refresh} is set while an expired index is being rebuilt.
+     */
+    private static final class Slot {
+        private final CompletableFuture<Void> loaded = new CompletableFuture<>();
+        private volatile HnswIndex index;
+        private volatile long builtAt = Long.MAX_VALUE;
+        private volatile CompletableFuture<Void> refresh;
+    }
+}
@@ -0,0 +1,70 @@
+package com.frontier.agent.domain.vector;
+
+import com.frontier.agent.domain.model.Event;
+import com.frontier.agent.domain.model.Goal;
+import com.frontier.agent.domain.model.Note;
+import com.frontier.agent.domain.service.SimilarityService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA listener that feeds saved embeddings into {@link SimilarityService}. Indexing is
+ * deferred until the surrounding transaction commits so rolled-back rows never become
+ * search results, and failures are logged rather than failing the write. Updates fire for
+ * every change to the entity; {@link HnswIndex#add} ignores those that leave the embedding
+ * as it was, so only a changed vector leaves a tombstone behind.
+ */
+@Component
+public class EmbeddingIndexListener {
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddingIndexListener.class);
+
+    private final ObjectProvider<SimilarityService> similarityService;
+
+    public EmbeddingIndexListener(ObjectProvider<SimilarityService> similarityService) {
+        this.similarityService = similarityService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        if (entity instanceof Note note) {
+            schedule(note.getUserId(), VectorItemType.NOTE, note.getId(), note.getEmbedding());
+        } else if (entity instanceof Goal goal) {
+            schedule(goal.getUserId(), VectorItemType.GOAL, goal.getId(), goal.getEmbedding());
+        } else if (entity instanceof Event event) {
+            schedule(event.getUserId(), VectorItemType.EVENT, event.getId(), event.getEmbedding());
+        }
+    }
+
+    private void schedule(String userId, VectorItemType type, UUID id, float[] embedding) {
+        if (embedding == null || embedding.length == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    index(userId, type, id, embedding);
+                }
+            });
+        } else {
+            index(userId, type, id, embedding);
+        }
+    }
+
+    private void index(String userId, VectorItemType type, UUID id, float[] embedding) {
+        try {
+            similarityService.getObject().index(userId, type, id, embedding);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to index {} {} for user {}", type, id, userId, ex);
+        }
+    }
+}
@@ -2,27 +2,25 @@ package com.frontier.agent.domain.vector;
 
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
-import java.util.Arrays;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.postgresql.util.PGobject;
 
 /**
- * Minimal pgvector adapter that stores float[] as a Postgres {@code vector} column. The
- * converter is intentionally defensive: if the driver cannot map the custom type the
- * converter falls back to a text representation to avoid deployment failures when
- * pgvector is not yet installed in lower environments.
+ * Maps float[] to a Postgres {@code vector} column through {@link PgVectorObject}, so the
+ * driver binds values as pgvector rather than text. Reads accept whatever the driver hands
+ * back (the typed object, raw {@code vector_send} bytes, or the text literal) and decode
+ * them with {@link PgVectorCodec}. Malformed or out-of-range vectors are rejected instead
+ * of being silently zero-filled.
  */
 @Converter(autoApply = false)
 public class FloatArrayVectorConverter implements AttributeConverter<float[], Object> {
 
-    private static final Logger log = LoggerFactory.getLogger(FloatArrayVectorConverter.class);
-
     @Override
     public Object convertToDatabaseColumn(float[] attribute) {
         if (attribute == null) {
             return null;
         }
-        return Arrays.toString(attribute);
+        PgVectorCodec.validate(attribute);
+        return new PgVectorObject(attribute);
     }
 
     @Override
@@ -33,16 +31,15 @@ public class FloatArrayVectorConverter implements AttributeConverter<float[], Ob
         if (dbData instanceof float[] floats) {
             return floats;
         }
-        var sanitized = dbData.toString().replaceAll("[\\[\\] ]", "");
-        var parts = sanitized.split(",");
-        var result = new float[parts.length];
-        for (int i = 0; i < parts.length; i++) {
-            try {
-                result[i] = Float.parseFloat(parts[i]);
-            } catch (NumberFormatException ex) {
-                log.warn("Failed to parse vector component '{}', defaulting to zero", parts[i]);
-            }
+        if (dbData instanceof PgVectorObject vector) {
+            return vector.getVector();
+        }
+        if (dbData instanceof byte[] bytes) {
+            return PgVectorCodec.fromBinary(bytes, 0);
+        }
+        if (dbData instanceof PGobject object) {
+            return object.getValue() == null ? null : PgVectorCodec.parse(object.getValue());
         }
-        return result;
+        return PgVectorCodec.parse(dbData.toString());
     }
 }
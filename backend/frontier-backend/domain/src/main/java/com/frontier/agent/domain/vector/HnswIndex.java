@@ -0,0 +1,513 @@
+package com.frontier.agent.domain.vector;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Hierarchical navigable small-world graph over one user's embeddings, using cosine
+ * distance on normalized vectors. Re-indexing an item with a changed vector tombstones the
+ * old node rather than unlinking it, so the graph stays navigable without a rebuild;
+ * {@link #compact} later rebuilds the graph from the live nodes only.
+ *
+ * <p>Vectors loaded from disk are read straight out of the memory-mapped file; only
+ * vectors added since the last flush live on the heap. Graph links are always on heap.
+ */
+public final class HnswIndex {
+
+    private static final int MAGIC = 0x484E5357;
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_BYTES = 7 * Integer.BYTES + Long.BYTES;
+
+    private final int dimension;
+    private final int maxConnections;
+    private final int maxConnectionsLevel0;
+    private final int efConstruction;
+    private final double levelFactor;
+    private final long builtAt;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Node> nodes = new ArrayList<>();
+    private final Map<ItemKey, Integer> live = new HashMap<>();
+    private ByteBuffer mapped;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+    private long mutations;
+    private long persistedMutations;
+
+    public HnswIndex(int dimension, int maxConnections, int efConstruction) {
+        this(dimension, maxConnections, efConstruction, System.currentTimeMillis());
+    }
+
+    private HnswIndex(int dimension, int maxConnections, int efConstruction, long builtAt) {
+        this.dimension = dimension;
+        this.maxConnections = maxConnections;
+        this.maxConnectionsLevel0 = maxConnections * 2;
+        this.efConstruction = efConstruction;
+        this.levelFactor = 1 / Math.log(maxConnections);
+        this.builtAt = builtAt;
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    /**
+     * Epoch millis at which the index was built from Postgres. Saved with the file, so a
+     * reopened index keeps the age of its contents rather than of its last flush.
+     */
+    public long builtAt() {
+        return builtAt;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Nodes left behind by re-indexed items, still linked into the graph. */
+    public int tombstones() {
+        lock.readLock().lock();
+        try {
+            return nodes.size() - live.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isDirty() {
+        lock.readLock().lock();
+        try {
+            return mutations != persistedMutations;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes an item, replacing its previous vector. Returns {@code false} without touching
+     * the graph when the item is already indexed with the same vector, which is the common
+     * case for entity updates that leave the embedding alone.
+     */
+    public boolean add(VectorItemType type, UUID id, float[] embedding) {
+        if (embedding.length != dimension) {
+            throw new IllegalArgumentException("Expected " + dimension + " dimensions but got " + embedding.length);
+        }
+        var vector = normalize(embedding);
+        lock.writeLock().lock();
+        try {
+            var key = new ItemKey(type, id);
+            var previous = live.get(key);
+            if (previous != null) {
+                if (Arrays.equals(copyVector(nodes.get(previous)), vector)) {
+                    return false;
+                }
+                nodes.get(previous).deleted = true;
+            }
+            insert(key, vector);
+            mutations++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the graph from its live nodes, dropping tombstones. Vectors move back to the
+     * heap until the next save maps them again. Blocks searches on this index while it runs.
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            if (nodes.size() == live.size()) {
+                return;
+            }
+            var keys = new ArrayList<ItemKey>(live.size());
+            var vectors = new ArrayList<float[]>(live.size());
+            for (var node : nodes) {
+                if (!node.deleted) {
+                    keys.add(node.key);
+                    vectors.add(copyVector(node));
+                }
+            }
+            nodes.clear();
+            live.clear();
+            mapped = null;
+            entryPoint = -1;
+            maxLevel = -1;
+            for (int i = 0; i < keys.size(); i++) {
+                insert(keys.get(i), vectors.get(i));
+            }
+            mutations++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void insert(ItemKey key, float[] vector) {
+        int level = randomLevel();
+        var node = new Node(key, level, maxConnections, maxConnectionsLevel0);
+        node.vector = vector;
+        int index = nodes.size();
+        nodes.add(node);
+        live.put(key, index);
+        if (entryPoint < 0) {
+            entryPoint = index;
+            maxLevel = level;
+            return;
+        }
+        int current = greedyDescend(vector, entryPoint, maxLevel, level);
+        for (int layer = Math.min(level, maxLevel); layer >= 0; layer--) {
+            var candidates = searchLayer(vector, current, efConstruction, layer);
+            int limit = Math.min(maxConnections, candidates.size());
+            for (int i = 0; i < limit; i++) {
+                int neighbour = candidates.get(i).index();
+                node.links[layer][node.linkCounts[layer]++] = neighbour;
+                linkBack(neighbour, index, layer);
+            }
+            current = candidates.get(0).index();
+        }
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = index;
+        }
+    }
+
+    /** Returns the stored (normalized) vector for an item, or {@code null} if not indexed. */
+    public float[] vectorOf(VectorItemType type, UUID id) {
+        lock.readLock().lock();
+        try {
+            var index = live.get(new ItemKey(type, id));
+            return index == null ? null : copyVector(nodes.get(index));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Top-{@code k} live items closest to {@code query}, optionally restricted to
+     * {@code types} and excluding one item (typically the query's own source). Filtering
+     * happens after the layer search, so the search widens its beam (starting at
+     * {@code max(ef, k)}) until it has {@code k} matches or has visited every reachable node.
+     */
+    public List<SimilarItem> search(float[] query, int k, int ef, Set<VectorItemType> types,
+                                    VectorItemType excludeType, UUID excludeId) {
+        if (query.length != dimension) {
+            throw new IllegalArgumentException("Expected " + dimension + " dimensions but got " + query.length);
+        }
+        var vector = normalize(query);
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0) {
+                return List.of();
+            }
+            int current = greedyDescend(vector, entryPoint, maxLevel, 0);
+            var exclude = excludeId != null ? new ItemKey(excludeType, excludeId) : null;
+            int width = Math.max(ef, k);
+            while (true) {
+                var candidates = searchLayer(vector, current, width, 0);
+                List<SimilarItem> results = new ArrayList<>(k);
+                for (var candidate : candidates) {
+                    var node = nodes.get(candidate.index());
+                    if (node.deleted || node.key.equals(exclude)
+                            || (types != null && !types.contains(node.key.type()))) {
+                        continue;
+                    }
+                    results.add(new SimilarItem(node.key.type(), node.key.id(), 1f - candidate.distance()));
+                    if (results.size() == k) {
+                        break;
+                    }
+                }
+                if (results.size() == k || candidates.size() < width || width >= nodes.size()) {
+                    return results;
+                }
+                width = (int) Math.min(nodes.size(), 2L * width);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int greedyDescend(float[] vector, int start, int fromLevel, int toLevel) {
+        int current = start;
+        float currentDistance = distance(vector, nodes.get(current));
+        for (int layer = fromLevel; layer > toLevel; layer--) {
+            boolean improved = true;
+            while (improved) {
+                improved = false;
+                var node = nodes.get(current);
+                for (int i = 0; i < node.linkCounts[layer]; i++) {
+                    int neighbour = node.links[layer][i];
+                    float d = distance(vector, nodes.get(neighbour));
+                    if (d < currentDistance) {
+                        currentDistance = d;
+                        current = neighbour;
+                        improved = true;
+                    }
+                }
+            }
+        }
+        return current;
+    }
+
+    private List<Candidate> searchLayer(float[] vector, int entry, int ef, int layer) {
+        var visited = new BitSet(nodes.size());
+        var frontier = new PriorityQueue<Candidate>(Comparator.comparingDouble(Candidate::distance));
+        var best = new PriorityQueue<Candidate>(Comparator.comparingDouble(Candidate::distance).reversed());
+        var start = new Candidate(entry, distance(vector, nodes.get(entry)));
+        visited.set(entry);
+        frontier.add(start);
+        best.add(start);
+        while (!frontier.isEmpty()) {
+            var closest = frontier.poll();
+            if (best.size() >= ef && closest.distance() > best.peek().distance()) {
+                break;
+            }
+            var node = nodes.get(closest.index());
+            for (int i = 0; i < node.linkCounts[layer]; i++) {
+                int neighbour = node.links[layer][i];
+                if (visited.get(neighbour)) {
+                    continue;
+                }
+                visited.set(neighbour);
+                float d = distance(vector, nodes.get(neighbour));
+                if (best.size() < ef || d < best.peek().distance()) {
+                    var candidate = new Candidate(neighbour, d);
+                    frontier.add(candidate);
+                    best.add(candidate);
+                    if (best.size() > ef) {
+                        best.poll();
+                    }
+                }
+            }
+        }
+        var ordered = new ArrayList<>(best);
+        ordered.sort(Comparator.comparingDouble(Candidate::distance));
+        return ordered;
+    }
+
+    private void linkBack(int target, int source, int layer) {
+        var node = nodes.get(target);
+        int capacity = node.links[layer].length;
+        if (node.linkCounts[layer] < capacity) {
+            node.links[layer][node.linkCounts[layer]++] = source;
+            return;
+        }
+        // Over capacity: keep the closest links, including the new one.
+        var base = copyVector(node);
+        var pool = new ArrayList<Candidate>(capacity + 1);
+        for (int i = 0; i < capacity; i++) {
+            pool.add(new Candidate(node.links[layer][i], distance(base, nodes.get(node.links[layer][i]))));
+        }
+        pool.add(new Candidate(source, distance(base, nodes.get(source))));
+        pool.sort(Comparator.comparingDouble(Candidate::distance));
+        for (int i = 0; i < capacity; i++) {
+            node.links[layer][i] = pool.get(i).index();
+        }
+    }
+
+    private float distance(float[] vector, Node node) {
+        float dot = 0f;
+        if (node.vector != null) {
+            var other = node.vector;
+            for (int i = 0; i < dimension; i++) {
+                dot += vector[i] * other[i];
+            }
+        } else {
+            int offset = node.mappedOffset;
+            for (int i = 0; i < dimension; i++) {
+                dot += vector[i] * mapped.getFloat(offset + i * Float.BYTES);
+            }
+        }
+        return 1f - dot;
+    }
+
+    private float[] copyVector(Node node) {
+        if (node.vector != null) {
+            return node.vector.clone();
+        }
+        var copy = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            copy[i] = mapped.getFloat(node.mappedOffset + i * Float.BYTES);
+        }
+        return copy;
+    }
+
+    private int randomLevel() {
+        return (int) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * levelFactor);
+    }
+
+    private static float[] normalize(float[] embedding) {
+        double norm = 0;
+        for (float component : embedding) {
+            norm += component * component;
+        }
+        var result = new float[embedding.length];
+        if (norm == 0) {
+            return result;
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < embedding.length; i++) {
+            result[i] = embedding[i] * scale;
+        }
+        return result;
+    }
+
+    /** Byte size of the serialized graph plus the mutation count it reflects. */
+    Snapshot snapshot() {
+        lock.readLock().lock();
+        try {
+            long bytes = HEADER_BYTES;
+            for (var node : nodes) {
+                bytes += 1 + 2L * Long.BYTES + 1 + Integer.BYTES + (long) dimension * Float.BYTES;
+                for (int layer = 0; layer <= node.level; layer++) {
+                    bytes += Integer.BYTES + (long) node.linkCounts[layer] * Integer.BYTES;
+                }
+            }
+            if (bytes > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Index too large to map: " + bytes + " bytes");
+            }
+            return new Snapshot((int) bytes, nodes.size(), mutations);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Serializes the graph into {@code target} and returns each node's vector offset, or
+     * {@code null} without writing if the index changed since {@code snapshot} was taken.
+     */
+    int[] writeTo(ByteBuffer target, Snapshot snapshot) {
+        lock.readLock().lock();
+        try {
+            if (mutations != snapshot.mutations()) {
+                return null;
+            }
+            target.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(dimension).putInt(maxConnections)
+                    .putInt(nodes.size()).putInt(entryPoint).putInt(maxLevel).putLong(builtAt);
+            var offsets = new int[nodes.size()];
+            for (int n = 0; n < nodes.size(); n++) {
+                var node = nodes.get(n);
+                target.put((byte) node.key.type().ordinal())
+                        .putLong(node.key.id().getMostSignificantBits())
+                        .putLong(node.key.id().getLeastSignificantBits())
+                        .put((byte) (node.deleted ? 1 : 0))
+                        .putInt(node.level);
+                offsets[n] = target.position();
+                var vector = copyVector(node);
+                for (float component : vector) {
+                    target.putFloat(component);
+                }
+                for (int layer = 0; layer <= node.level; layer++) {
+                    target.putInt(node.linkCounts[layer]);
+                    for (int i = 0; i < node.linkCounts[layer]; i++) {
+                        target.putInt(node.links[layer][i]);
+                    }
+                }
+            }
+            return offsets;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Switches vectors written by {@link #writeTo} over to the mapped file and releases
+     * their heap copies.
+     */
+    void attach(ByteBuffer file, Snapshot snapshot, int[] offsets) {
+        lock.writeLock().lock();
+        try {
+            mapped = file;
+            for (int n = 0; n < snapshot.nodeCount(); n++) {
+                var node = nodes.get(n);
+                node.mappedOffset = offsets[n];
+                node.vector = null;
+            }
+            persistedMutations = snapshot.mutations();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static HnswIndex read(ByteBuffer file, int efConstruction) {
+        if (file.getInt(0) != MAGIC || file.getInt(Integer.BYTES) != FORMAT_VERSION) {
+            throw new IllegalStateException("Unrecognized HNSW index file");
+        }
+        file.position(2 * Integer.BYTES);
+        int dimension = file.getInt();
+        int maxConnections = file.getInt();
+        int count = file.getInt();
+        int entryPoint = file.getInt();
+        int maxLevel = file.getInt();
+        var index = new HnswIndex(dimension, maxConnections, efConstruction, file.getLong());
+        index.entryPoint = entryPoint;
+        index.maxLevel = maxLevel;
+        index.mapped = file;
+        var types = VectorItemType.values();
+        for (int n = 0; n < count; n++) {
+            var type = types[file.get()];
+            var id = new UUID(file.getLong(), file.getLong());
+            boolean deleted = file.get() == 1;
+            int level = file.getInt();
+            var node = new Node(new ItemKey(type, id), level, maxConnections, index.maxConnectionsLevel0);
+            node.deleted = deleted;
+            node.mappedOffset = file.position();
+            file.position(file.position() + dimension * Float.BYTES);
+            for (int layer = 0; layer <= level; layer++) {
+                int links = file.getInt();
+                for (int i = 0; i < links; i++) {
+                    node.links[layer][i] = file.getInt();
+                }
+                node.linkCounts[layer] = links;
+            }
+            index.nodes.add(node);
+            if (!deleted) {
+                index.live.put(node.key, n);
+            }
+        }
+        return index;
+    }
+
+    record Snapshot(int bytes, int nodeCount, long mutations) {
+    }
+
+    private record ItemKey(VectorItemType type, UUID id) {
+    }
+
+    private record Candidate(int index, float distance) {
+    }
+
+    private static final class Node {
+        private final ItemKey key;
+        private final int level;
+        private final int[][] links;
+        private final int[] linkCounts;
+        private float[] vector;
+        private int mappedOffset = -1;
+        private boolean deleted;
+
+        private Node(ItemKey key, int level, int maxConnections, int maxConnectionsLevel0) {
+            this.key = key;
+            this.level = level;
+            this.links = new int[level + 1][];
+            this.linkCounts = new int[level + 1];
+            for (int layer = 0; layer <= level; layer++) {
+                links[layer] = new int[layer == 0 ? maxConnectionsLevel0 : maxConnections];
+            }
+        }
+    }
+}
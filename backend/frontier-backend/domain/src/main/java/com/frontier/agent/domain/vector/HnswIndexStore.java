@@ -0,0 +1,78 @@
+package com.frontier.agent.domain.vector;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Persists per-user {@link HnswIndex} files. Saves go to a uniquely named temp file that is
+ * atomically renamed over the previous one, so a crash mid-write leaves the last good index
+ * intact and two writers never share a temp file.
+ * The freshly written mapping is handed back to the index, which then serves vectors
+ * from the page cache instead of the heap.
+ */
+public class HnswIndexStore {
+
+    private final Path directory;
+
+    public HnswIndexStore(Path directory) {
+        this.directory = directory;
+    }
+
+    public Optional<HnswIndex> load(String userId, int efConstruction) throws IOException {
+        var file = fileFor(userId);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return Optional.of(HnswIndex.read(buffer, efConstruction));
+        }
+    }
+
+    /**
+     * Writes the index if it changed since its last save. Retries a bounded number of
+     * times when concurrent inserts invalidate the snapshot; the next flush picks up
+     * whatever is still dirty.
+     */
+    public void save(String userId, HnswIndex index) throws IOException {
+        Files.createDirectories(directory);
+        var target = fileFor(userId);
+        for (int attempt = 0; attempt < 3 && index.isDirty(); attempt++) {
+            var snapshot = index.snapshot();
+            var temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+            try {
+                MappedByteBuffer buffer;
+                int[] offsets;
+                try (var channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                    buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, snapshot.bytes());
+                    buffer.order(ByteOrder.LITTLE_ENDIAN);
+                    offsets = index.writeTo(buffer, snapshot);
+                    if (offsets == null) {
+                        continue;
+                    }
+                    buffer.force();
+                }
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                index.attach(buffer, snapshot, offsets);
+                return;
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    private Path fileFor(String userId) {
+        var name = Base64.getUrlEncoder().withoutPadding().encodeToString(userId.getBytes(StandardCharsets.UTF_8));
+        return directory.resolve(name + ".hnsw");
+    }
+}
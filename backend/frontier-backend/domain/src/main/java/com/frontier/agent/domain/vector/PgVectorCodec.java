@@ -0,0 +1,228 @@
+package com.frontier.agent.domain.vector;
+
+/**
+ * Encoders and decoders for pgvector's text ({@code [1,2,3]}) and binary
+ * ({@code vector_send}) wire formats. The text parser walks the input once, without regex,
+ * splitting or per-component strings; components that fall outside the exact fast path
+ * are handed to {@link Float#parseFloat} so results always match the JDK.
+ */
+public final class PgVectorCodec {
+
+    /** pgvector's {@code VECTOR_MAX_DIM}. */
+    public static final int MAX_DIMENSIONS = 16_000;
+
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private PgVectorCodec() {
+    }
+
+    /** Throws if the vector could not be stored by pgvector. */
+    public static void validate(float[] vector) {
+        if (vector.length == 0 || vector.length > MAX_DIMENSIONS) {
+            throw new IllegalArgumentException("Vector must have between 1 and " + MAX_DIMENSIONS
+                    + " dimensions but has " + vector.length);
+        }
+        for (int i = 0; i < vector.length; i++) {
+            if (!Float.isFinite(vector[i])) {
+                throw new IllegalArgumentException("Vector component " + i + " is not finite: " + vector[i]);
+            }
+        }
+    }
+
+    public static String format(float[] vector) {
+        // Shortest round-trip digits are at most 15 chars per component plus the comma.
+        var builder = new StringBuilder(vector.length * 12 + 2).append('[');
+        for (int i = 0; i < vector.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(vector[i]);
+        }
+        return builder.append(']').toString();
+    }
+
+    public static float[] parse(CharSequence text) {
+        int start = 0;
+        int end = text.length();
+        while (start < end && Character.isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        if (end - start < 2 || text.charAt(start) != '[' || text.charAt(end - 1) != ']') {
+            throw new IllegalArgumentException("Malformed vector literal");
+        }
+        start++;
+        end--;
+        int dimensions = 1;
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) == ',') {
+                dimensions++;
+            }
+        }
+        if (dimensions > MAX_DIMENSIONS) {
+            throw new IllegalArgumentException("Vector has " + dimensions + " dimensions, max is " + MAX_DIMENSIONS);
+        }
+        var result = new float[dimensions];
+        int componentStart = start;
+        int component = 0;
+        for (int i = start; i <= end; i++) {
+            if (i == end || text.charAt(i) == ',') {
+                result[component++] = parseComponent(text, componentStart, i);
+                componentStart = i + 1;
+            }
+        }
+        return result;
+    }
+
+    /** Decodes {@code vector_send} output: int16 dimensions, int16 unused, float4 components, big-endian. */
+    public static float[] fromBinary(byte[] bytes, int offset) {
+        if (bytes.length - offset < 4) {
+            throw new IllegalArgumentException("Truncated binary vector header");
+        }
+        int dimensions = ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+        if (dimensions == 0 || dimensions > MAX_DIMENSIONS || bytes.length - offset != 4 + dimensions * Float.BYTES) {
+            throw new IllegalArgumentException("Binary vector declares " + dimensions + " dimensions but carries "
+                    + (bytes.length - offset - 4) + " payload bytes");
+        }
+        var result = new float[dimensions];
+        int position = offset + 4;
+        for (int i = 0; i < dimensions; i++, position += Float.BYTES) {
+            result[i] = Float.intBitsToFloat(((bytes[position] & 0xFF) << 24)
+                    | ((bytes[position + 1] & 0xFF) << 16)
+                    | ((bytes[position + 2] & 0xFF) << 8)
+                    | (bytes[position + 3] & 0xFF));
+        }
+        return result;
+    }
+
+    public static int binaryLength(float[] vector) {
+        return 4 + vector.length * Float.BYTES;
+    }
+
+    public static void toBinary(float[] vector, byte[] target, int offset) {
+        target[offset] = (byte) (vector.length >>> 8);
+        target[offset + 1] = (byte) vector.length;
+        target[offset + 2] = 0;
+        target[offset + 3] = 0;
+        int position = offset + 4;
+        for (float component : vector) {
+            int bits = Float.floatToIntBits(component);
+            target[position++] = (byte) (bits >>> 24);
+            target[position++] = (byte) (bits >>> 16);
+            target[position++] = (byte) (bits >>> 8);
+            target[position++] = (byte) bits;
+        }
+    }
+
+    private static float parseComponent(CharSequence text, int from, int to) {
+        while (from < to && text.charAt(from) == ' ') {
+            from++;
+        }
+        while (to > from && text.charAt(to - 1) == ' ') {
+            to--;
+        }
+        if (from == to) {
+            throw new IllegalArgumentException("Empty vector component");
+        }
+        int i = from;
+        boolean negative = false;
+        char first = text.charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean seenDigit = false;
+        boolean seenPoint = false;
+        for (; i < to; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                seenDigit = true;
+                if (mantissa == 0 && c == '0') {
+                    if (seenPoint) {
+                        scale--;
+                    }
+                    continue;
+                }
+                if (++digits > 18) {
+                    return slowParse(text, from, to);
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                if (seenPoint) {
+                    scale--;
+                }
+            } else if (c == '.' && !seenPoint) {
+                seenPoint = true;
+            } else {
+                break;
+            }
+        }
+        if (!seenDigit) {
+            return slowParse(text, from, to);
+        }
+        if (i < to) {
+            char c = text.charAt(i);
+            if (c != 'e' && c != 'E') {
+                return slowParse(text, from, to);
+            }
+            i++;
+            boolean negativeExponent = false;
+            if (i < to && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+                negativeExponent = text.charAt(i) == '-';
+                i++;
+            }
+            int exponent = 0;
+            int exponentStart = i;
+            for (; i < to && exponent < 1000; i++) {
+                char e = text.charAt(i);
+                if (e < '0' || e > '9') {
+                    return slowParse(text, from, to);
+                }
+                exponent = exponent * 10 + (e - '0');
+            }
+            if (i == exponentStart || i < to) {
+                return slowParse(text, from, to);
+            }
+            scale += negativeExponent ? -exponent : exponent;
+        }
+        if (mantissa == 0) {
+            return negative ? -0f : 0f;
+        }
+        if (mantissa >= MAX_EXACT_MANTISSA || scale < -22 || scale > 22) {
+            return slowParse(text, from, to);
+        }
+        // Clinger's fast path gives the correctly rounded double; narrowing to float can
+        // only double-round when the double sits within an ulp of a float midpoint, so defer
+        // those. Both neighbouring midpoints are checked because the gap below a power of
+        // two is half the gap above it; the midpoints are exact in double.
+        double value = scale >= 0 ? mantissa * POWERS_OF_TEN[scale] : mantissa / POWERS_OF_TEN[-scale];
+        float narrowed = (float) value;
+        double below = ((double) narrowed + Math.nextDown(narrowed)) / 2;
+        double above = ((double) narrowed + Math.nextUp(narrowed)) / 2;
+        double tolerance = Math.ulp(value);
+        if (Math.abs(value - below) <= tolerance || Math.abs(value - above) <= tolerance) {
+            return slowParse(text, from, to);
+        }
+        return negative ? -narrowed : narrowed;
+    }
+
+    private static float slowParse(CharSequence text, int from, int to) {
+        try {
+            return Float.parseFloat(text.subSequence(from, to).toString());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Malformed vector component '" + text.subSequence(from, to) + "'", ex);
+        }
+    }
+}
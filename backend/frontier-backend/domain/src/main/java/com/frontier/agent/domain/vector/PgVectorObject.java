@@ -0,0 +1,77 @@
+package com.frontier.agent.domain.vector;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import org.postgresql.util.PGBinaryObject;
+import org.postgresql.util.PGobject;
+
+/**
+ * JDBC value for a pgvector column. Binding it sends the value typed as {@code vector}
+ * rather than {@code varchar}, and when the driver has binary transfer enabled for the
+ * vector OID it uses {@link PgVectorCodec}'s binary form instead of text.
+ */
+public class PgVectorObject extends PGobject implements PGBinaryObject {
+
+    private float[] vector;
+
+    public PgVectorObject() {
+        setType("vector");
+    }
+
+    public PgVectorObject(float[] vector) {
+        this();
+        this.vector = vector;
+    }
+
+    public float[] getVector() {
+        return vector;
+    }
+
+    @Override
+    public void setValue(String value) throws SQLException {
+        try {
+            this.vector = value == null ? null : PgVectorCodec.parse(value);
+        } catch (IllegalArgumentException ex) {
+            throw new SQLException(ex.getMessage(), ex);
+        }
+    }
+
+    @Override
+    public String getValue() {
+        return vector == null ? null : PgVectorCodec.format(vector);
+    }
+
+    @Override
+    public boolean isNull() {
+        return vector == null;
+    }
+
+    @Override
+    public void setByteValue(byte[] value, int offset) throws SQLException {
+        try {
+            this.vector = PgVectorCodec.fromBinary(value, offset);
+        } catch (IllegalArgumentException ex) {
+            throw new SQLException(ex.getMessage(), ex);
+        }
+    }
+
+    @Override
+    public int lengthInBytes() {
+        return vector == null ? 0 : PgVectorCodec.binaryLength(vector);
+    }
+
+    @Override
+    public void toBytes(byte[] bytes, int offset) {
+        PgVectorCodec.toBinary(vector, bytes, offset);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof PgVectorObject other && Arrays.equals(vector, other.vector);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(vector);
+    }
+}
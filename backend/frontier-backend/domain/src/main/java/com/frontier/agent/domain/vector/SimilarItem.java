@@ -0,0 +1,9 @@
+package com.frontier.agent.domain.vector;
+
+import java.util.UUID;
+
+/**
+ * A nearest-neighbour hit. {@code score} is cosine similarity, so higher is closer.
+ */
+public record SimilarItem(VectorItemType type, UUID id, float score) {
+}
@@ -0,0 +1,22 @@
+package com.frontier.agent.domain.vector;
+
+/**
+ * pgvector distance operators. Lower is closer for all of them; {@code INNER_PRODUCT} is
+ * pgvector's negated inner product. Only {@code COSINE} has HNSW indexes (V15, V16), so the
+ * other metrics are answered by scanning the user's rows.
+ */
+public enum VectorDistance {
+    COSINE("<=>"),
+    L2("<->"),
+    INNER_PRODUCT("<#>");
+
+    private final String operator;
+
+    VectorDistance(String operator) {
+        this.operator = operator;
+    }
+
+    public String operator() {
+        return operator;
+    }
+}
@@ -0,0 +1,115 @@
+package com.frontier.agent.domain.vector;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "frontier.vector-index")
+public class VectorIndexProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Where per-user index files are memory-mapped from. Should sit on a persistent volume
+     * so restarts reopen the files instead of rebuilding from Postgres, and must not be
+     * shared between applications: each one indexes only the writes it makes itself.
+     */
+    private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "frontier-hnsw");
+    private int maxConnections = 16;
+    private int efConstruction = 100;
+
+    /** Candidate list size per query, for this index and for pgvector's {@code hnsw.ef_search}. */
+    private int efSearch = 64;
+
+    /**
+     * pgvector's {@code hnsw.iterative_scan} for database-side nearest-neighbour queries. With
+     * it on, the index scan continues until {@code k} of the user's rows pass the filter
+     * instead of stopping after {@code ef_search} candidates, up to {@code hnsw.max_scan_tuples};
+     * results still short fall back to an exact ranking. Blank leaves it unset, which pgvector
+     * before 0.8 requires, and then more searches take that fallback.
+     */
+    private String iterativeScan = "strict_order";
+
+    private Duration flushInterval = Duration.ofSeconds(30);
+
+    /** Users whose indexes stay open; the least recently used is saved and closed beyond it. */
+    private int maxUsers = 1_000;
+
+    /**
+     * How long an index is served before it is rebuilt from Postgres, which bounds how far
+     * it trails writes made by other instances. Applies to reopened files too.
+     */
+    private Duration maxAge = Duration.ofMinutes(10);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(Path directory) {
+        this.directory = directory;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public int getEfConstruction() {
+        return efConstruction;
+    }
+
+    public void setEfConstruction(int efConstruction) {
+        this.efConstruction = efConstruction;
+    }
+
+    public int getEfSearch() {
+        return efSearch;
+    }
+
+    public void setEfSearch(int efSearch) {
+        this.efSearch = efSearch;
+    }
+
+    public String getIterativeScan() {
+        return iterativeScan;
+    }
+
+    public void setIterativeScan(String iterativeScan) {
+        this.iterativeScan = iterativeScan;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public int getMaxUsers() {
+        return maxUsers;
+    }
+
+    public void setMaxUsers(int maxUsers) {
+        this.maxUsers = maxUsers;
+    }
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+}
@@ -0,0 +1,11 @@
+package com.frontier.agent.domain.vector;
+
+/**
+ * Entity kinds whose embeddings are indexed for similarity search. The ordinal is part of
+ * the on-disk index format, so only append new values.
+ */
+public enum VectorItemType {
+    NOTE,
+    GOAL,
+    EVENT
+}
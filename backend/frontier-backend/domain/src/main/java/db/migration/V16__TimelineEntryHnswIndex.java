@@ -0,0 +1,16 @@
+package db.migration;
+
+import com.frontier.agent.domain.migration.PartitionedIndexMigration;
+
+/**
+ * The HNSW index of V15 for timeline_entry, built a partition at a time so writes continue.
+ * Partitions created later by {@code TimelinePartitionMaintainer} get their copy automatically.
+ */
+public class V16__TimelineEntryHnswIndex extends PartitionedIndexMigration {
+
+    public V16__TimelineEntryHnswIndex() {
+        super("timeline_entry", "idx_timeline_embedding_hnsw",
+                "USING hnsw ((CAST(embedding AS vector(1536))) vector_cosine_ops) WITH (m = 16, ef_construction = 64)"
+                        + " WHERE vector_dims(embedding) = 1536");
+    }
+}
@@ -0,0 +1,11 @@
+package db.migration;
+
+import com.frontier.agent.domain.migration.PartitionedIndexMigration;
+
+/** Serves the snapshot aggregator's tail in commit order (V18). */
+public class V19__TimelineEntryTxIdIndex extends PartitionedIndexMigration {
+
+    public V19__TimelineEntryTxIdIndex() {
+        super("timeline_entry", "idx_timeline_tx", "(tx_id, id) WHERE tx_id IS NOT NULL");
+    }
+}
@@ -0,0 +1,84 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Queues the timeline entries the snapshot aggregator had not tailed before V18 by giving
+ * them the oldest possible tx_id, so they sort ahead of everything inserted since. Rows with
+ * a NULL tx_id were all committed before V18, so nothing can still land behind them.
+ * <p>
+ * Runs outside a transaction, walking {@code idx_timeline_created} in batches that each
+ * commit on their own, so no lock is held across the table. A rerun resumes where it
+ * stopped because only rows still NULL are updated. When the cursor never left the epoch
+ * nothing has been folded yet; the aggregator's first rebuild counts the whole table anyway,
+ * and treats NULL rows as behind the cursor, so there is nothing to queue.
+ */
+public class V20__TimelineEntryTxIdBackfill extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 5_000;
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        var connection = context.getConnection();
+        OffsetDateTime createdAt;
+        UUID entryId;
+        try (var statement = connection.createStatement();
+             var rows = statement.executeQuery(
+                     "SELECT created_at, entry_id FROM snapshot_cursor WHERE name = 'timeline'")) {
+            if (!rows.next()) {
+                return;
+            }
+            createdAt = rows.getObject(1, OffsetDateTime.class);
+            entryId = rows.getObject(2, UUID.class);
+        }
+        if (createdAt.toInstant().equals(Instant.EPOCH)) {
+            return;
+        }
+        while (true) {
+            var last = queueBatch(connection, createdAt, entryId);
+            if (last == null) {
+                return;
+            }
+            createdAt = last.createdAt();
+            entryId = last.id();
+        }
+    }
+
+    /** Queues the next batch after {@code (createdAt, entryId)}; returns its last key, or null when done. */
+    private static Key queueBatch(Connection connection, OffsetDateTime createdAt, UUID entryId) throws SQLException {
+        try (var statement = connection.prepareStatement("""
+                WITH batch AS (
+                    SELECT id, occurred_at, created_at FROM timeline_entry
+                    WHERE (created_at, id) > (?, ?)
+                    ORDER BY created_at, id
+                    LIMIT ?
+                ), queued AS (
+                    UPDATE timeline_entry t SET tx_id = '0'
+                    FROM batch b
+                    WHERE t.id = b.id AND t.occurred_at = b.occurred_at AND t.tx_id IS NULL
+                )
+                SELECT created_at, id FROM batch ORDER BY created_at DESC, id DESC LIMIT 1
+                """)) {
+            statement.setObject(1, createdAt);
+            statement.setObject(2, entryId);
+            statement.setInt(3, BATCH_SIZE);
+            try (var rows = statement.executeQuery()) {
+                return rows.next() ? new Key(rows.getObject(1, OffsetDateTime.class), rows.getObject(2, UUID.class)) : null;
+            }
+        }
+    }
+
+    private record Key(OffsetDateTime createdAt, UUID id) {
+    }
+}
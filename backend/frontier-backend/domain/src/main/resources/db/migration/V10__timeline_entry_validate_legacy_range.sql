@@ -0,0 +1,3 @@
+-- Step 3: prove the legacy heap holds nothing at or after the cutover, so attaching it
+-- later needs no scan. VALIDATE takes SHARE UPDATE EXCLUSIVE and does not block writes.
+ALTER TABLE timeline_entry_legacy VALIDATE CONSTRAINT timeline_entry_legacy_range;
@@ -0,0 +1,24 @@
+-- Step 4: replace the routing view with the partitioned table and attach the legacy heap
+-- as its legacy partition. Only catalog changes happen here: the validated CHECK covers
+-- the partition constraint, and the matching indexes built earlier are adopted rather than
+-- rebuilt.
+LOCK TABLE timeline_entry_legacy IN ACCESS EXCLUSIVE MODE;
+
+DROP VIEW timeline_entry;
+DROP FUNCTION timeline_entry_route();
+DROP INDEX idx_timeline_occurred;
+
+ALTER TABLE timeline_entry_partitioned RENAME TO timeline_entry;
+ALTER TABLE timeline_entry RENAME CONSTRAINT timeline_entry_partitioned_pkey TO timeline_entry_pkey;
+ALTER INDEX idx_timeline_partitioned_user_time RENAME TO idx_timeline_user_time;
+ALTER INDEX idx_timeline_partitioned_user_type_time RENAME TO idx_timeline_user_type_time;
+ALTER INDEX idx_timeline_partitioned_created RENAME TO idx_timeline_created;
+
+DO $$
+BEGIN
+    EXECUTE format('ALTER TABLE timeline_entry ATTACH PARTITION timeline_entry_legacy FOR VALUES FROM (MINVALUE) TO (%L)',
+                   (SELECT legacy_until FROM timeline_partition_state));
+END;
+$$;
+
+ALTER TABLE timeline_entry_legacy DROP CONSTRAINT timeline_entry_legacy_range;
@@ -0,0 +1,24 @@
+-- Full-text search. Each searchable table gets a stored tsvector generated from its text
+-- columns, titles weighted above descriptions. The 'english' configuration must match
+-- SearchService.TEXT_SEARCH_CONFIG.
+-- Adding a stored generated column rewrites the table under an ACCESS EXCLUSIVE lock, so
+-- on large tables run this in a quiet window. The indexes follow in V13, built CONCURRENTLY.
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+ALTER TABLE note ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (setweight(to_tsvector('english', content), 'B')) STORED;
+
+ALTER TABLE goal ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', title), 'A')
+        || setweight(to_tsvector('english', coalesce(description, '')), 'B')) STORED;
+
+ALTER TABLE task ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', title), 'A')
+        || setweight(to_tsvector('english', coalesce(description, '')), 'B')) STORED;
+
+ALTER TABLE event ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', name), 'A')
+        || setweight(to_tsvector('english', coalesce(description, '')), 'B')) STORED;
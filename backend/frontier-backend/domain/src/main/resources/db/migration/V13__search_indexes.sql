@@ -0,0 +1,7 @@
+-- Search is always scoped to one user, so user_id leads each GIN index (via btree_gin) and
+-- the index returns only that user's matches. Built CONCURRENTLY (Flyway runs this script
+-- outside a transaction) so writes continue while they build.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_note_search ON note USING gin (user_id, search_vector);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_goal_search ON goal USING gin (user_id, search_vector);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_search ON task USING gin (user_id, search_vector);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_event_search ON event USING gin (user_id, search_vector);
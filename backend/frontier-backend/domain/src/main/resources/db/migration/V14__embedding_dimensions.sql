@@ -0,0 +1,20 @@
+-- pgvector can only build ANN indexes over a fixed dimension, 1536 here
+-- (NearestNeighborQueries.DIMENSIONS). Retyping the columns to vector(1536) would rewrite
+-- every table under an ACCESS EXCLUSIVE lock at startup, so they stay untyped: a NOT VALID
+-- check holds new embeddings to 1536 dimensions without scanning existing rows, and the
+-- HNSW indexes in V15 and V16 cover CAST(embedding AS vector(1536)) for rows that already
+-- have it. Older embeddings of another dimension are left alone and never indexed or
+-- returned by nearest-neighbour search; the in-process index skips them too.
+-- Once they are re-embedded or cleared, ALTER TABLE ... VALIDATE CONSTRAINT checks the
+-- rest without blocking writes.
+ALTER TABLE note ADD CONSTRAINT note_embedding_dims
+    CHECK (vector_dims(embedding) = 1536) NOT VALID;
+
+ALTER TABLE goal ADD CONSTRAINT goal_embedding_dims
+    CHECK (vector_dims(embedding) = 1536) NOT VALID;
+
+ALTER TABLE event ADD CONSTRAINT event_embedding_dims
+    CHECK (vector_dims(embedding) = 1536) NOT VALID;
+
+ALTER TABLE timeline_entry ADD CONSTRAINT timeline_entry_embedding_dims
+    CHECK (vector_dims(embedding) = 1536) NOT VALID;
@@ -0,0 +1,17 @@
+-- HNSW indexes for database-side nearest-neighbour search (NearestNeighborQueries). Only
+-- the cosine opclass is indexed, matching the in-process index; L2 and inner-product
+-- queries scan the user's rows instead. m and ef_construction are pgvector's defaults.
+-- The columns are untyped (V14), so the indexes cover the vector(1536) cast, and only rows
+-- that have 1536 dimensions, where the cast cannot fail. Queries must repeat both the cast
+-- and the predicate for the planner to pick them.
+-- Built CONCURRENTLY (Flyway runs this script outside a transaction) so writes continue
+-- while they build. Builds are much faster when the graph fits in maintenance_work_mem.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_note_embedding_hnsw ON note
+    USING hnsw ((CAST(embedding AS vector(1536))) vector_cosine_ops) WITH (m = 16, ef_construction = 64)
+    WHERE vector_dims(embedding) = 1536;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_goal_embedding_hnsw ON goal
+    USING hnsw ((CAST(embedding AS vector(1536))) vector_cosine_ops) WITH (m = 16, ef_construction = 64)
+    WHERE vector_dims(embedding) = 1536;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_event_embedding_hnsw ON event
+    USING hnsw ((CAST(embedding AS vector(1536))) vector_cosine_ops) WITH (m = 16, ef_construction = 64)
+    WHERE vector_dims(embedding) = 1536;
@@ -0,0 +1,20 @@
+-- Journal rows that agent_run rejected on their own, so they no longer hold back the
+-- rows buffered behind them. Columns mirror agent_run without its constraints.
+CREATE TABLE IF NOT EXISTS agent_run_dead_letter (
+    id BIGSERIAL PRIMARY KEY,
+    run_id UUID,
+    operation TEXT NOT NULL,
+    correlation_id TEXT,
+    agent_name TEXT,
+    parent_request_id TEXT,
+    input_hash TEXT,
+    status TEXT,
+    last_error TEXT,
+    retries INTEGER,
+    started_at TIMESTAMPTZ,
+    finished_at TIMESTAMPTZ,
+    created_at TIMESTAMPTZ,
+    updated_at TIMESTAMPTZ,
+    error TEXT,
+    failed_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
@@ -0,0 +1,16 @@
+-- The snapshot aggregator used to tail timeline_entry by created_at, which is set before
+-- commit; a row committing later than its neighbours, or stamped by a skewed clock, fell
+-- behind the cursor and was never folded. tx_id records the inserting transaction instead,
+-- and the aggregator only reads rows whose transaction is older than every one still in
+-- flight (pg_snapshot_xmin), so nothing can commit behind the cursor.
+--
+-- The default is volatile, so it is set separately from ADD COLUMN to avoid rewriting the
+-- table; rows already folded keep NULL and are never tailed again.
+ALTER TABLE timeline_entry ADD COLUMN IF NOT EXISTS tx_id xid8;
+ALTER TABLE timeline_entry ALTER COLUMN tx_id SET DEFAULT pg_current_xact_id();
+
+-- Rows past the old cursor are queued with tx_id 0 by V20, in batches outside this
+-- transaction, so the ACCESS EXCLUSIVE lock taken above is not held while they are updated.
+
+-- created_at on the cursor is no longer advanced.
+ALTER TABLE snapshot_cursor ADD COLUMN IF NOT EXISTS tx_id xid8 NOT NULL DEFAULT '0';
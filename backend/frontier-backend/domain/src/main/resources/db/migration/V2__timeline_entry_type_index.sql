@@ -0,0 +1,4 @@
+-- Lets entry-type filtered timeline pages walk the index instead of filtering rows
+-- pulled from idx_timeline_user_time. Built CONCURRENTLY (Flyway runs this script outside
+-- a transaction) so timeline writes continue while it builds.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_timeline_user_type_time ON timeline_entry (user_id, entry_type, occurred_at DESC);
@@ -0,0 +1,16 @@
+CREATE TABLE IF NOT EXISTS projection_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    target_table TEXT NOT NULL,
+    user_id TEXT NOT NULL,
+    occurred_at TIMESTAMPTZ NOT NULL,
+    entry_type TEXT NOT NULL,
+    entry_id UUID NOT NULL,
+    metadata TEXT,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    last_error TEXT,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_projection_outbox_due ON projection_outbox (next_attempt_at, id);
+CREATE INDEX IF NOT EXISTS idx_projection_outbox_user ON projection_outbox (user_id, id);
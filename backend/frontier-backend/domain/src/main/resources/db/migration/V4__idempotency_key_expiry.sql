@@ -0,0 +1,7 @@
+-- Claims now carry their own expiry so the TTL passed by listeners is enforced and expired
+-- keys can be swept. Existing rows get the longest TTL any listener uses (2h).
+ALTER TABLE idempotency_key ADD COLUMN IF NOT EXISTS expires_at TIMESTAMPTZ;
+UPDATE idempotency_key SET expires_at = created_at + INTERVAL '2 hours' WHERE expires_at IS NULL;
+ALTER TABLE idempotency_key ALTER COLUMN expires_at SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_key_expires ON idempotency_key (expires_at);
@@ -0,0 +1,9 @@
+-- Keyset pagination for the GraphQL connections orders by (created_at, id) within a user.
+CREATE INDEX IF NOT EXISTS idx_note_user_created ON note (user_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_goal_user_created ON goal (user_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_task_user_created ON task (user_id, created_at DESC, id DESC);
+
+-- Goal.tasks / Goal.notes / Goal.events are batch-loaded with goal_id = ANY(...).
+CREATE INDEX IF NOT EXISTS idx_note_goal ON note (goal_id) WHERE goal_id IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_task_goal ON task (goal_id) WHERE goal_id IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_event_goal ON event (goal_id) WHERE goal_id IS NOT NULL;
@@ -0,0 +1,33 @@
+-- Announces which users' note/goal/task/event lists changed so API instances can drop
+-- their cached copies. Statement-level triggers cover JPA saves, COPY ingest and worker
+-- writes alike; NOTIFY is delivered on commit and identical payloads within a
+-- transaction are collapsed, so a bulk load sends one message per user and table.
+CREATE OR REPLACE FUNCTION notify_user_list_change() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM pg_notify('frontier_user_lists', TG_TABLE_NAME || ':' || changed.user_id)
+        FROM (SELECT DISTINCT user_id FROM new_rows) changed;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM pg_notify('frontier_user_lists', TG_TABLE_NAME || ':' || changed.user_id)
+        FROM (SELECT DISTINCT user_id FROM old_rows) changed;
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+DO $$
+DECLARE
+    target TEXT;
+BEGIN
+    FOREACH target IN ARRAY ARRAY['note', 'goal', 'task', 'event'] LOOP
+        EXECUTE format('CREATE TRIGGER %I AFTER INSERT ON %I REFERENCING NEW TABLE AS new_rows '
+                       'FOR EACH STATEMENT EXECUTE FUNCTION notify_user_list_change()', target || '_user_list_insert', target);
+        EXECUTE format('CREATE TRIGGER %I AFTER UPDATE ON %I REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows '
+                       'FOR EACH STATEMENT EXECUTE FUNCTION notify_user_list_change()', target || '_user_list_update', target);
+        EXECUTE format('CREATE TRIGGER %I AFTER DELETE ON %I REFERENCING OLD TABLE AS old_rows '
+                       'FOR EACH STATEMENT EXECUTE FUNCTION notify_user_list_change()', target || '_user_list_delete', target);
+    END LOOP;
+END;
+$$;
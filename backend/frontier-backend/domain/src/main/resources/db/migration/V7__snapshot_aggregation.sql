@@ -0,0 +1,19 @@
+-- The snapshot aggregator tails timeline_entry in insertion order and upserts one
+-- snapshot per user and window.
+CREATE INDEX IF NOT EXISTS idx_timeline_created ON timeline_entry (created_at, id);
+CREATE UNIQUE INDEX IF NOT EXISTS uq_snapshot_user_window ON snapshot (user_id, window_start);
+
+-- Single-row progress marker: the last timeline entry folded and the instant windows
+-- were last sealed at. Locked FOR UPDATE SKIP LOCKED, so only one worker aggregates.
+CREATE TABLE IF NOT EXISTS snapshot_cursor (
+    name TEXT PRIMARY KEY,
+    created_at TIMESTAMPTZ NOT NULL,
+    entry_id UUID NOT NULL,
+    sealed_through TIMESTAMPTZ NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+-- Starting from the epoch makes the first run backfill existing history as late entries.
+INSERT INTO snapshot_cursor (name, created_at, entry_id, sealed_through)
+VALUES ('timeline', 'epoch', '00000000-0000-0000-0000-000000000000', 'epoch')
+ON CONFLICT (name) DO NOTHING;
@@ -0,0 +1,7 @@
+-- Step 1 of moving timeline_entry to monthly range partitions. These are the only
+-- passes over the whole table and run CONCURRENTLY (Flyway runs this script outside a
+-- transaction), so writes continue while they build.
+--   (id, occurred_at) becomes the primary key every partition needs.
+--   occurred_at lets step 2 find future-dated rows without a sequential scan.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS timeline_entry_id_occurred_at_key ON timeline_entry (id, occurred_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_timeline_occurred ON timeline_entry (occurred_at);
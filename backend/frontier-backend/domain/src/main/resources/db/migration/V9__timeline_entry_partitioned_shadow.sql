@@ -0,0 +1,97 @@
+-- Step 2: build the partitioned table next to the live one. Everything before the start
+-- of next month (UTC) stays where it is and is attached as a single legacy partition in
+-- step 4; rows at or after that cutover live in monthly partitions from now on.
+CREATE TABLE IF NOT EXISTS timeline_partition_state (
+    legacy_until TIMESTAMPTZ NOT NULL
+);
+
+INSERT INTO timeline_partition_state (legacy_until)
+SELECT (date_trunc('month', now() AT TIME ZONE 'UTC') + INTERVAL '1 month') AT TIME ZONE 'UTC';
+
+-- Columns mirror timeline_entry in the same order so rows can move with SELECT *.
+CREATE TABLE timeline_entry_partitioned (
+    id UUID NOT NULL DEFAULT uuid_generate_v4(),
+    user_id TEXT NOT NULL REFERENCES app_user(id),
+    occurred_at TIMESTAMPTZ NOT NULL,
+    entry_type TEXT NOT NULL,
+    entry_id UUID NOT NULL,
+    embedding VECTOR,
+    metadata JSONB,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT timeline_entry_partitioned_pkey PRIMARY KEY (id, occurred_at)
+) PARTITION BY RANGE (occurred_at);
+
+CREATE INDEX idx_timeline_partitioned_user_time ON timeline_entry_partitioned (user_id, occurred_at DESC);
+CREATE INDEX idx_timeline_partitioned_user_type_time ON timeline_entry_partitioned (user_id, entry_type, occurred_at DESC);
+CREATE INDEX idx_timeline_partitioned_created ON timeline_entry_partitioned (created_at, id);
+
+-- Far-future rows (due dates, scheduled events) land here until the worker creates their month.
+CREATE TABLE timeline_entry_default PARTITION OF timeline_entry_partitioned DEFAULT;
+
+DO $$
+DECLARE
+    cutover TIMESTAMPTZ := (SELECT legacy_until FROM timeline_partition_state);
+    month_start TIMESTAMP;
+BEGIN
+    FOR i IN 0..3 LOOP
+        month_start := (cutover AT TIME ZONE 'UTC') + make_interval(months => i);
+        EXECUTE format('CREATE TABLE %I PARTITION OF timeline_entry_partitioned FOR VALUES FROM (%L) TO (%L)',
+                       'timeline_entry_p' || to_char(month_start, 'YYYY_MM'),
+                       month_start AT TIME ZONE 'UTC',
+                       (month_start + INTERVAL '1 month') AT TIME ZONE 'UTC');
+    END LOOP;
+END;
+$$;
+
+-- Rows already dated at or after the cutover move now, while this migration holds the lock.
+WITH moved AS (
+    DELETE FROM timeline_entry
+    WHERE occurred_at >= (SELECT legacy_until FROM timeline_partition_state)
+    RETURNING *
+)
+INSERT INTO timeline_entry_partitioned SELECT * FROM moved;
+
+-- The live heap takes its legacy name now, and its primary key matches the parent's.
+ALTER TABLE timeline_entry RENAME TO timeline_entry_legacy;
+ALTER TABLE timeline_entry_legacy
+    DROP CONSTRAINT timeline_entry_pkey,
+    ADD CONSTRAINT timeline_entry_legacy_pkey PRIMARY KEY USING INDEX timeline_entry_id_occurred_at_key;
+ALTER INDEX idx_timeline_user_time RENAME TO idx_timeline_legacy_user_time;
+ALTER INDEX idx_timeline_user_type_time RENAME TO idx_timeline_legacy_user_type_time;
+ALTER INDEX idx_timeline_created RENAME TO idx_timeline_legacy_created;
+
+DO $$
+BEGIN
+    EXECUTE format('ALTER TABLE timeline_entry_legacy ADD CONSTRAINT timeline_entry_legacy_range CHECK (occurred_at < %L) NOT VALID',
+                   (SELECT legacy_until FROM timeline_partition_state));
+END;
+$$;
+
+-- Until the swap in step 4, timeline_entry is a plain view of the legacy heap. Reads,
+-- updates and deletes pass straight through; inserts go through an INSTEAD OF trigger that
+-- routes each row by the cutover and returns it, so every insert still reports its row
+-- (a BEFORE trigger returning NULL would report 0 and fail Hibernate's row-count check).
+-- Rows routed to the partitioned table are not visible here until the swap. Updates are
+-- not routed: moving an existing entry past the cutover fails the range check until then.
+CREATE VIEW timeline_entry AS SELECT * FROM timeline_entry_legacy;
+ALTER VIEW timeline_entry ALTER COLUMN id SET DEFAULT uuid_generate_v4();
+ALTER VIEW timeline_entry ALTER COLUMN created_at SET DEFAULT now();
+ALTER VIEW timeline_entry ALTER COLUMN updated_at SET DEFAULT now();
+ALTER VIEW timeline_entry ALTER COLUMN version SET DEFAULT 0;
+
+CREATE FUNCTION timeline_entry_route() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF NEW.occurred_at >= (SELECT legacy_until FROM timeline_partition_state) THEN
+        INSERT INTO timeline_entry_partitioned VALUES (NEW.*);
+    ELSE
+        INSERT INTO timeline_entry_legacy VALUES (NEW.*);
+    END IF;
+    RETURN NEW;
+END;
+$$;
+
+CREATE TRIGGER timeline_entry_route INSTEAD OF INSERT ON timeline_entry
+    FOR EACH ROW EXECUTE FUNCTION timeline_entry_route();
@@ -0,0 +1,185 @@
+package com.frontier.agent.domain.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.frontier.agent.domain.PostgresIntegrationTest;
+import com.frontier.agent.domain.model.NoteNeighbor;
+import com.frontier.agent.domain.vector.PgVectorObject;
+import com.frontier.agent.domain.vector.VectorDistance;
+import com.frontier.agent.domain.vector.VectorIndexProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.ToDoubleFunction;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NoteRepositoryFindNearestIntegrationTest extends PostgresIntegrationTest {
+
+    private static final int DIMENSIONS = NearestNeighborQueries.DIMENSIONS;
+    private static final int K = 10;
+
+    private static final Map<UUID, float[]> denseUser = new LinkedHashMap<>();
+    private static final Map<UUID, float[]> sparseUser = new LinkedHashMap<>();
+    private static float[] query;
+
+    private SimpleMeterRegistry meterRegistry;
+    private NoteRepositoryCustom notes;
+
+    @BeforeAll
+    static void seed() {
+        var sql = jdbcTemplate.getJdbcTemplate();
+        sql.update("INSERT INTO app_user (id, email) VALUES "
+                + "('knn-dense', 'dense@frontier.invalid'), ('knn-other', 'other@frontier.invalid'), "
+                + "('knn-sparse', 'sparse@frontier.invalid')");
+        var random = new SplittableRandom(42);
+        var centers = new float[16][];
+        for (int i = 0; i < centers.length; i++) {
+            centers[i] = gaussian(random, 1f);
+        }
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            var embedding = gaussian(random, 0.3f);
+            var center = centers[random.nextInt(centers.length)];
+            for (int d = 0; d < DIMENSIONS; d++) {
+                embedding[d] += center[d];
+            }
+            var id = UUID.randomUUID();
+            var user = i % 2 == 0 ? "knn-dense" : "knn-other";
+            if (i % 2 == 0) {
+                denseUser.put(id, embedding);
+            }
+            rows.add(new Object[] {id, user, "note " + i, new PgVectorObject(embedding)});
+        }
+        for (int i = 0; i < 3; i++) {
+            var id = UUID.randomUUID();
+            var embedding = gaussian(random, 1f);
+            sparseUser.put(id, embedding);
+            rows.add(new Object[] {id, "knn-sparse", "sparse note " + i, new PgVectorObject(embedding)});
+        }
+        sql.batchUpdate("INSERT INTO note (id, user_id, content, type, embedding) VALUES (?, ?, ?, 'NOTE', ?)", rows);
+        sql.execute("ANALYZE note");
+        query = gaussian(random, 1f);
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        notes = new NoteRepositoryCustomImpl(
+                new NearestNeighborQueries(jdbcTemplate, new VectorIndexProperties(), meterRegistry));
+    }
+
+    @Test
+    void servesCosineSearchFromTheHnswIndex() {
+        var stored = denseUser.entrySet().iterator().next();
+        long scansBefore = hnswScans();
+
+        var hits = transactions.execute(status -> {
+            // With sorting ruled out, only the HNSW index can produce the order; a query the
+            // index does not match would still sort, and leave idx_scan unchanged.
+            jdbcTemplate.getJdbcTemplate().execute("SET LOCAL enable_sort = off");
+            return notes.findNearest("knn-dense", stored.getValue(), VectorDistance.COSINE, K, 0);
+        });
+
+        assertThat(hits).hasSize(K);
+        assertThat(hits.get(0).id()).isEqualTo(stored.getKey());
+        assertThat(hits.get(0).distance()).isCloseTo(0, within(1e-5));
+        assertThat(hits).extracting(NoteNeighbor::distance).isSorted();
+        assertThat(hits).allSatisfy(hit -> {
+            assertThat(denseUser).containsKey(hit.id());
+            assertThat(hit.distance()).isCloseTo(cosine(stored.getValue(), denseUser.get(hit.id())), within(1e-4));
+        });
+        assertThat(exactRescans()).isZero();
+        assertThat(awaitHnswScansAbove(scansBefore)).isTrue();
+    }
+
+    @Test
+    void ranksEveryRowWhenTheIndexComesBackShort() {
+        var hits = transactions.execute(
+                status -> notes.findNearest("knn-sparse", query, VectorDistance.COSINE, K, 0));
+
+        assertThat(hits).extracting(NoteNeighbor::id)
+                .containsExactlyElementsOf(exactOrder(sparseUser, embedding -> cosine(query, embedding), K));
+        assertThat(exactRescans()).isEqualTo(1);
+    }
+
+    @Test
+    void scansTheUsersRowsForUnindexedMetrics() {
+        var hits = transactions.execute(status -> notes.findNearest("knn-dense", query, VectorDistance.L2, K, 0));
+
+        assertThat(hits).extracting(NoteNeighbor::id)
+                .containsExactlyElementsOf(exactOrder(denseUser, embedding -> l2(query, embedding), K));
+        assertThat(exactRescans()).isZero();
+    }
+
+    private double exactRescans() {
+        var counter = meterRegistry.find("frontier.vector.knn.exact_rescans").tag("table", "note").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static long hnswScans() {
+        Long scans = jdbcTemplate.getJdbcTemplate().queryForObject(
+                "SELECT idx_scan FROM pg_stat_user_indexes WHERE indexrelname = 'idx_note_embedding_hnsw'", Long.class);
+        return scans == null ? 0 : scans;
+    }
+
+    /** Index statistics reach other sessions shortly after the scanning one ends. */
+    private static boolean awaitHnswScansAbove(long scans) {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            if (hnswScans() > scans) {
+                return true;
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static List<UUID> exactOrder(Map<UUID, float[]> rows, ToDoubleFunction<float[]> distance, int k) {
+        return rows.entrySet().stream()
+                .sorted(Comparator.comparingDouble(entry -> distance.applyAsDouble(entry.getValue())))
+                .limit(k)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private static double cosine(float[] a, float[] b) {
+        double dot = 0;
+        double normA = 0;
+        double normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += (double) a[i] * b[i];
+            normA += (double) a[i] * a[i];
+            normB += (double) b[i] * b[i];
+        }
+        return 1 - dot / Math.sqrt(normA * normB);
+    }
+
+    private static double l2(float[] a, float[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            double diff = a[i] - b[i];
+            sum += diff * diff;
+        }
+        return Math.sqrt(sum);
+    }
+
+    private static float[] gaussian(SplittableRandom random, float scale) {
+        var vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = (float) (random.nextGaussian() * scale);
+        }
+        return vector;
+    }
+}
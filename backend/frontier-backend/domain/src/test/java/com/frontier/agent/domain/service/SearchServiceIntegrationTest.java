@@ -0,0 +1,85 @@
+package com.frontier.agent.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.frontier.agent.domain.PostgresIntegrationTest;
+import com.frontier.agent.domain.datasource.ReadReplicaProperties;
+import com.frontier.agent.domain.datasource.ReadYourWrites;
+import com.frontier.agent.domain.search.SearchHit;
+import com.frontier.agent.domain.search.SearchItemType;
+import com.frontier.agent.domain.search.SearchPage;
+import com.frontier.agent.domain.search.SearchProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class SearchServiceIntegrationTest extends PostgresIntegrationTest {
+
+    private static SearchService searchService;
+
+    @BeforeAll
+    static void seed() {
+        var sql = jdbcTemplate.getJdbcTemplate();
+        sql.update("INSERT INTO app_user (id, email) VALUES ('search-a', 'a@frontier.invalid'), ('search-b', 'b@frontier.invalid')");
+        sql.update("""
+                INSERT INTO note (user_id, content, type) VALUES
+                    ('search-a', 'Quarterly budget review with finance', 'NOTE'),
+                    ('search-a', 'Budget numbers for the launch', 'NOTE'),
+                    ('search-a', 'Walk the dog', 'NOTE'),
+                    ('search-b', 'Budget for someone else', 'NOTE')
+                """);
+        sql.update("INSERT INTO goal (user_id, title, description, status) VALUES "
+                + "('search-a', 'Cut the travel budget', 'Fewer flights & \"hotels\"', 'ACTIVE')");
+        sql.update("INSERT INTO task (user_id, title, description, status) VALUES "
+                + "('search-a', 'Send budget', 'Mail the spreadsheet', 'PENDING')");
+        sql.update("INSERT INTO event (user_id, name, description, scheduled_at) VALUES "
+                + "('search-a', 'Budget sync', 'Review spend', now())");
+        searchService = new SearchService(jdbcTemplate, new SearchProperties(),
+                new ReadYourWrites(new ReadReplicaProperties()), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void pagesThroughEveryMatchOfTheUserOnce() {
+        List<SearchHit> hits = new ArrayList<>();
+        String cursor = null;
+        do {
+            var page = search("budget", null, cursor, 2);
+            assertThat(page.items()).hasSizeLessThanOrEqualTo(2);
+            hits.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(hits).extracting(SearchHit::type).containsExactlyInAnyOrder(
+                SearchItemType.NOTE, SearchItemType.NOTE, SearchItemType.GOAL, SearchItemType.TASK, SearchItemType.EVENT);
+        assertThat(hits).extracting(SearchHit::id).doesNotHaveDuplicates();
+        assertThat(hits).extracting(SearchHit::rank).isSortedAccordingTo((a, b) -> Float.compare(b, a));
+        assertThat(hits).allSatisfy(hit -> assertThat(hit.snippet() + hit.title()).contains("<mark>"));
+    }
+
+    @Test
+    void escapesDocumentTextAroundHighlights() {
+        var goal = search("travel", Set.of(SearchItemType.GOAL), null, 10).items();
+
+        assertThat(goal).singleElement().satisfies(hit -> {
+            assertThat(hit.title()).isEqualTo("Cut the <mark>travel</mark> budget");
+            assertThat(hit.snippet()).isEqualTo("Fewer flights &amp; &quot;hotels&quot;");
+        });
+    }
+
+    @Test
+    void honoursPhrasesAndExclusions() {
+        var hits = search("\"budget review\" -launch", null, null, 10).items();
+
+        assertThat(hits).singleElement().satisfies(hit -> {
+            assertThat(hit.type()).isEqualTo(SearchItemType.NOTE);
+            assertThat(hit.snippet()).contains("<mark>budget</mark> <mark>review</mark>");
+        });
+    }
+
+    private static SearchPage search(String query, Set<SearchItemType> types, String cursor, int size) {
+        return transactions.execute(status -> searchService.search("search-a", query, types, cursor, size));
+    }
+}
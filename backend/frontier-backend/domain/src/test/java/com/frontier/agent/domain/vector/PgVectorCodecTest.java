@@ -0,0 +1,48 @@
+package com.frontier.agent.domain.vector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PgVectorCodecTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            // Just below a power of two, where the float gap halves.
+            "0.1249999962747097", "0.06249999813735485", "0.24999999254941940", "0.9999999701976776",
+            "-0.1249999962747097", "0.12499999627470970e0", "1249999962747097e-16",
+            // Float midpoints and their immediate neighbours above a power of two.
+            "0.12500000745058060", "0.1250000074505806", "0.1250000074505805", "0.1250000074505807",
+            "1.0000000596046448", "0.3", "1e-7", "123456.789", "0"})
+    void parseMatchesFloatParseFloat(String component) {
+        assertThat(PgVectorCodec.parse("[" + component + "]")[0])
+                .isEqualTo(Float.parseFloat(component));
+    }
+
+    @Test
+    void parseMatchesFloatParseFloatNearPowersOfTwo() {
+        var random = new SplittableRandom(42);
+        for (int exponent = -20; exponent <= 20; exponent++) {
+            float power = Math.scalb(1f, exponent);
+            for (float near : new float[] {Math.nextDown(power), power, Math.nextUp(power)}) {
+                double midpoint = ((double) near + Math.nextDown(near)) / 2;
+                for (int i = 0; i < 20; i++) {
+                    double value = midpoint + (random.nextInt(9) - 4) * Math.ulp(midpoint);
+                    var component = Double.toString(value);
+                    assertThat(PgVectorCodec.parse("[" + component + "]")[0])
+                            .as(component)
+                            .isEqualTo(Float.parseFloat(component));
+                }
+            }
+        }
+    }
+
+    @Test
+    void formatRoundTrips() {
+        float[] vector = {0.12499999f, -0.0625f, 1e-7f, 3.4028235e38f};
+        assertThat(PgVectorCodec.parse(PgVectorCodec.format(vector))).containsExactly(vector);
+    }
+}
@@ -0,0 +1,71 @@
+package com.frontier.agent.observability.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Controller audit trail. Write requests are always audited. Reads are sampled, and the
+ * sampled records are written by a background thread.
+ */
+@ConfigurationProperties(prefix = "frontier.audit")
+public class AuditProperties {
+
+    private boolean enabled = true;
+
+    /** Preallocated audit slots; rounded up to a power of two. */
+    private int bufferSize = 8_192;
+
+    /** Share of read requests audited unless {@code sample-rates} names the endpoint. */
+    private double defaultSampleRate = 0.01;
+
+    /** Per-endpoint read sampling, keyed by {@code Controller.method}, e.g. {@code NoteController.byUser}. */
+    private Map<String, Double> sampleRates = new LinkedHashMap<>();
+
+    /**
+     * How long a write request waits for a free slot when the buffer is full. After that its
+     * record is logged on the request thread, so writes are never dropped.
+     */
+    private Duration writeWait = Duration.ofMillis(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public double getDefaultSampleRate() {
+        return defaultSampleRate;
+    }
+
+    public void setDefaultSampleRate(double defaultSampleRate) {
+        this.defaultSampleRate = defaultSampleRate;
+    }
+
+    public Map<String, Double> getSampleRates() {
+        return sampleRates;
+    }
+
+    public void setSampleRates(Map<String, Double> sampleRates) {
+        this.sampleRates = sampleRates;
+    }
+
+    public Duration getWriteWait() {
+        return writeWait;
+    }
+
+    public void setWriteWait(Duration writeWait) {
+        this.writeWait = writeWait;
+    }
+}
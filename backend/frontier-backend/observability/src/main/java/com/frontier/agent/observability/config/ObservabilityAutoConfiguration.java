@@ -1,21 +1,36 @@
 package com.frontier.agent.observability.config;
 
+import brave.Tracing;
 import io.micrometer.core.instrument.MeterRegistry;
 import com.frontier.agent.observability.logging.AuditLoggingAspect;
+import com.frontier.agent.observability.logging.AuditRingBuffer;
 import com.frontier.agent.observability.logging.CorrelationIdFilter;
+import com.frontier.agent.observability.logging.CorrelationIdSpanContext;
+import com.frontier.agent.observability.threads.VirtualThreadPinningMonitor;
+import com.frontier.agent.observability.tracing.RecentSpans;
+import com.frontier.agent.observability.tracing.RecentSpansEndpoint;
+import com.frontier.agent.observability.tracing.SampledTracing;
 import io.micrometer.observation.ObservationRegistry;
 import io.micrometer.observation.aop.ObservedAspect;
 import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.brave.bridge.BraveBaggageManager;
+import io.micrometer.tracing.brave.bridge.BraveCurrentTraceContext;
 import io.micrometer.tracing.brave.bridge.BraveTracer;
+import io.prometheus.metrics.tracer.common.SpanContext;
 import jakarta.servlet.Filter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import zipkin2.reporter.AsyncReporter;
-import zipkin2.reporter.brave.BraveFinishedSpanHandler;
+import org.springframework.core.env.Environment;
+import zipkin2.reporter.BytesMessageSender;
+import zipkin2.reporter.brave.AsyncZipkinSpanHandler;
 import zipkin2.reporter.urlconnection.URLConnectionSender;
 
 /**
@@ -24,10 +39,11 @@ import zipkin2.reporter.urlconnection.URLConnectionSender;
  * log a warning instead of failing startup to avoid blocking deployments.
  */
 @Configuration(proxyBeanMethods = false)
-@EnableConfigurationProperties(TracingProperties.class)
+@EnableConfigurationProperties({TracingProperties.class, VirtualThreadProperties.class, AuditProperties.class})
 public class ObservabilityAutoConfiguration {
 
     private static final Logger log = LoggerFactory.getLogger(ObservabilityAutoConfiguration.class);
+    private static final String DEFAULT_ZIPKIN_ENDPOINT = "http://localhost:9411/api/v2/spans";
 
     @Bean
     @ConditionalOnMissingBean
@@ -42,28 +58,80 @@ public class ObservabilityAutoConfiguration {
     }
 
     @Bean
-    @ConditionalOnMissingBean
-    public Tracer tracer(TracingProperties properties) {
+    @ConditionalOnMissingBean(BytesMessageSender.class)
+    public URLConnectionSender zipkinSender(TracingProperties properties) {
+        var builder = URLConnectionSender.newBuilder()
+                .connectTimeout((int) properties.getConnectTimeout().toMillis())
+                .readTimeout((int) properties.getReadTimeout().toMillis())
+                .messageMaxBytes((int) properties.getMessageMaxBytes().toBytes());
         try {
-            var sender = URLConnectionSender.create(properties.getZipkinEndpoint());
-            var reporter = AsyncReporter.create(sender);
-            return BraveTracer.builder()
-                    .finishedSpanHandler(BraveFinishedSpanHandler.create(reporter))
-                    .build();
+            return builder.endpoint(properties.getZipkinEndpoint()).build();
         } catch (Exception ex) {
-            log.warn("Tracer fallback to no-op due to configuration issue", ex);
-            return BraveTracer.noop();
+            log.warn("Invalid Zipkin endpoint {}, falling back to {}", properties.getZipkinEndpoint(),
+                    DEFAULT_ZIPKIN_ENDPOINT, ex);
+            return builder.endpoint(DEFAULT_ZIPKIN_ENDPOINT).build();
         }
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public AsyncZipkinSpanHandler zipkinSpanHandler(BytesMessageSender zipkinSender, TracingProperties properties,
+                                                    MeterRegistry meterRegistry) {
+        return SampledTracing.exporter(zipkinSender, properties, meterRegistry);
+    }
+
+    @Bean
+    public RecentSpans recentSpans(TracingProperties properties) {
+        return new RecentSpans(properties.getRecentSpans());
+    }
+
+    @Bean
+    @ConditionalOnAvailableEndpoint
+    public RecentSpansEndpoint recentSpansEndpoint(RecentSpans recentSpans) {
+        return new RecentSpansEndpoint(recentSpans);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public Tracing braveTracing(Environment environment, TracingProperties properties, RecentSpans recentSpans,
+                                AsyncZipkinSpanHandler zipkinSpanHandler, MeterRegistry meterRegistry) {
+        return SampledTracing.tracing(environment.getProperty("spring.application.name", "frontier"), properties,
+                recentSpans, zipkinSpanHandler, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public Tracer tracer(Tracing tracing) {
+        return new BraveTracer(tracing.tracer(), new BraveCurrentTraceContext(tracing.currentTraceContext()),
+                new BraveBaggageManager());
+    }
+
     @Bean
     public Filter correlationIdFilter() {
         return new CorrelationIdFilter();
     }
 
     @Bean
-    public AuditLoggingAspect auditLoggingAspect() {
-        return new AuditLoggingAspect();
+    @ConditionalOnMissingBean
+    public SpanContext correlationIdSpanContext(Tracer tracer) {
+        return new CorrelationIdSpanContext(tracer);
+    }
+
+    @Bean(destroyMethod = "close")
+    public AuditRingBuffer auditRingBuffer(AuditProperties properties, MeterRegistry meterRegistry) {
+        return new AuditRingBuffer(properties.getBufferSize(), properties.getWriteWait(), meterRegistry);
+    }
+
+    @Bean
+    public AuditLoggingAspect auditLoggingAspect(AuditRingBuffer auditRingBuffer, AuditProperties properties) {
+        return new AuditLoggingAspect(auditRingBuffer, properties);
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    @ConditionalOnProperty(prefix = "frontier.virtual-threads", name = "pinning-detection", matchIfMissing = true)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(VirtualThreadProperties properties, MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(properties.getPinningThreshold(), meterRegistry);
     }
 
     @Bean
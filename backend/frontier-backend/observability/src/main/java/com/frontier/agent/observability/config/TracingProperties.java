@@ -1,7 +1,14 @@
 package com.frontier.agent.observability.config;
 
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
+/**
+ * Span sampling and export. Traces are sampled at the head; with tail sampling on, the rest
+ * are still recorded locally and exported only if they turn out slow or failed. Export goes
+ * through a bounded queue that drops, and counts, spans the collector cannot keep up with.
+ */
 @ConfigurationProperties(prefix = "frontier.tracing")
 public class TracingProperties {
 
@@ -11,6 +18,43 @@ public class TracingProperties {
      */
     private String zipkinEndpoint = "http://localhost:9411/api/v2/spans";
 
+    /** Share of traces exported on the head decision. */
+    private float sampleRate = 0.1f;
+
+    /** Record unsampled traces locally and export those that are slow or failed. */
+    private boolean tailSampling = true;
+
+    /** A trace whose local root span takes at least this long is exported by the tail sampler. */
+    private Duration slowThreshold = Duration.ofMillis(500);
+
+    /** Unsampled traces the tail sampler holds at once; spans of further traces are dropped. */
+    private int maxPendingTraces = 1_000;
+
+    /** Spans held per pending trace; the rest of a very wide trace is dropped. */
+    private int maxSpansPerTrace = 128;
+
+    /** Spans waiting for export; beyond this, new spans are dropped. */
+    private int queuedMaxSpans = 10_000;
+
+    /** Encoded bytes waiting for export; beyond this, new spans are dropped. */
+    private DataSize queuedMaxBytes = DataSize.ofMegabytes(8);
+
+    /** Largest request sent to the collector. Spans are batched up to this size. */
+    private DataSize messageMaxBytes = DataSize.ofKilobytes(512);
+
+    /** Longest a span waits for its batch to fill before the batch is sent anyway. */
+    private Duration messageTimeout = Duration.ofSeconds(1);
+
+    /** How long shutdown waits to flush queued spans. */
+    private Duration closeTimeout = Duration.ofSeconds(1);
+
+    private Duration connectTimeout = Duration.ofSeconds(1);
+
+    private Duration readTimeout = Duration.ofSeconds(5);
+
+    /** Recently finished spans kept in memory for the {@code spans} actuator endpoint; 0 disables. */
+    private int recentSpans = 2_048;
+
     public String getZipkinEndpoint() {
         return zipkinEndpoint;
     }
@@ -18,4 +62,108 @@ public class TracingProperties {
     public void setZipkinEndpoint(String zipkinEndpoint) {
         this.zipkinEndpoint = zipkinEndpoint;
     }
+
+    public float getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(float sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public boolean isTailSampling() {
+        return tailSampling;
+    }
+
+    public void setTailSampling(boolean tailSampling) {
+        this.tailSampling = tailSampling;
+    }
+
+    public Duration getSlowThreshold() {
+        return slowThreshold;
+    }
+
+    public void setSlowThreshold(Duration slowThreshold) {
+        this.slowThreshold = slowThreshold;
+    }
+
+    public int getMaxPendingTraces() {
+        return maxPendingTraces;
+    }
+
+    public void setMaxPendingTraces(int maxPendingTraces) {
+        this.maxPendingTraces = maxPendingTraces;
+    }
+
+    public int getMaxSpansPerTrace() {
+        return maxSpansPerTrace;
+    }
+
+    public void setMaxSpansPerTrace(int maxSpansPerTrace) {
+        this.maxSpansPerTrace = maxSpansPerTrace;
+    }
+
+    public int getQueuedMaxSpans() {
+        return queuedMaxSpans;
+    }
+
+    public void setQueuedMaxSpans(int queuedMaxSpans) {
+        this.queuedMaxSpans = queuedMaxSpans;
+    }
+
+    public DataSize getQueuedMaxBytes() {
+        return queuedMaxBytes;
+    }
+
+    public void setQueuedMaxBytes(DataSize queuedMaxBytes) {
+        this.queuedMaxBytes = queuedMaxBytes;
+    }
+
+    public DataSize getMessageMaxBytes() {
+        return messageMaxBytes;
+    }
+
+    public void setMessageMaxBytes(DataSize messageMaxBytes) {
+        this.messageMaxBytes = messageMaxBytes;
+    }
+
+    public Duration getMessageTimeout() {
+        return messageTimeout;
+    }
+
+    public void setMessageTimeout(Duration messageTimeout) {
+        this.messageTimeout = messageTimeout;
+    }
+
+    public Duration getCloseTimeout() {
+        return closeTimeout;
+    }
+
+    public void setCloseTimeout(Duration closeTimeout) {
+        this.closeTimeout = closeTimeout;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(Duration readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    public int getRecentSpans() {
+        return recentSpans;
+    }
+
+    public void setRecentSpans(int recentSpans) {
+        this.recentSpans = recentSpans;
+    }
 }
@@ -0,0 +1,33 @@
+package com.frontier.agent.observability.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Tuning for virtual-thread mode, which itself is switched on with Spring Boot's
+ * {@code spring.threads.virtual.enabled}.
+ */
+@ConfigurationProperties(prefix = "frontier.virtual-threads")
+public class VirtualThreadProperties {
+
+    private boolean pinningDetection = true;
+
+    /** Pinned blocking shorter than this is not reported. */
+    private Duration pinningThreshold = Duration.ofMillis(20);
+
+    public boolean isPinningDetection() {
+        return pinningDetection;
+    }
+
+    public void setPinningDetection(boolean pinningDetection) {
+        this.pinningDetection = pinningDetection;
+    }
+
+    public Duration getPinningThreshold() {
+        return pinningThreshold;
+    }
+
+    public void setPinningThreshold(Duration pinningThreshold) {
+        this.pinningThreshold = pinningThreshold;
+    }
+}
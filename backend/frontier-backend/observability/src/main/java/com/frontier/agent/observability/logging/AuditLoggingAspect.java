@@ -1,43 +1,75 @@
 package com.frontier.agent.observability.logging;
 
+import com.frontier.agent.observability.config.AuditProperties;
 import jakarta.servlet.http.HttpServletRequest;
-import org.aspectj.lang.JoinPoint;
-import org.aspectj.lang.annotation.AfterReturning;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Before;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.MDC;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 /**
- * Emits structured audit logs around controller invocations. Logged fields intentionally
+ * Emits one structured audit record per controller invocation. Logged fields intentionally
  * avoid sensitive payloads while still capturing the shape of the request for debugging
  * and security reviews.
+ * <p>
+ * Writes (any HTTP method other than GET, HEAD or OPTIONS) are always recorded. Reads are
+ * sampled per endpoint before anything is captured, so an unsampled call costs one random
+ * draw. Records go through {@link AuditRingBuffer}, which formats and logs them off the
+ * request thread.
  */
 @Aspect
 public class AuditLoggingAspect {
 
-    private static final Logger log = LoggerFactory.getLogger(AuditLoggingAspect.class);
+    private final AuditRingBuffer buffer;
+    private final AuditProperties properties;
+    private final Map<Method, Endpoint> endpoints = new ConcurrentHashMap<>();
 
-    @Before("within(@org.springframework.web.bind.annotation.RestController *)")
-    public void beforeRest(JoinPoint joinPoint) {
-        HttpServletRequest request = currentRequest();
-        log.info("audit.start method={} path={} correlationId={} args={}",
-                joinPoint.getSignature().toShortString(),
-                request != null ? request.getRequestURI() : "<no-request>",
-                MDC.get(CorrelationIdFilter.HEADER),
-                joinPoint.getArgs());
+    public AuditLoggingAspect(AuditRingBuffer buffer, AuditProperties properties) {
+        this.buffer = buffer;
+        this.properties = properties;
     }
 
-    @AfterReturning("within(@org.springframework.web.bind.annotation.RestController *)")
-    public void afterRest(JoinPoint joinPoint) {
+    @Around("within(@org.springframework.web.bind.annotation.RestController *)")
+    public Object auditRest(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!properties.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        var endpoint = endpoints.computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(), this::endpoint);
         HttpServletRequest request = currentRequest();
-        log.info("audit.finish method={} path={} correlationId={}",
-                joinPoint.getSignature().toShortString(),
-                request != null ? request.getRequestURI() : "<no-request>",
-                MDC.get(CorrelationIdFilter.HEADER));
+        var httpMethod = request != null ? request.getMethod() : null;
+        boolean write = httpMethod == null || isWrite(httpMethod);
+        if (!write && ThreadLocalRandom.current().nextDouble() >= endpoint.sampleRate()) {
+            buffer.skip();
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        String outcome = "ok";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            outcome = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            buffer.publish(endpoint.name(), httpMethod, request != null ? request.getRequestURI() : "<no-request>",
+                    MDC.get(CorrelationIdFilter.HEADER), joinPoint.getArgs(), write, write ? 1.0 : endpoint.sampleRate(),
+                    System.nanoTime() - start, outcome);
+        }
+    }
+
+    private Endpoint endpoint(Method method) {
+        var name = method.getDeclaringClass().getSimpleName() + '.' + method.getName();
+        return new Endpoint(name, properties.getSampleRates().getOrDefault(name, properties.getDefaultSampleRate()));
+    }
+
+    private static boolean isWrite(String httpMethod) {
+        return !("GET".equals(httpMethod) || "HEAD".equals(httpMethod) || "OPTIONS".equals(httpMethod));
     }
 
     private HttpServletRequest currentRequest() {
@@ -47,4 +79,7 @@ public class AuditLoggingAspect {
         }
         return null;
     }
+
+    private record Endpoint(String name, double sampleRate) {
+    }
 }
@@ -0,0 +1,216 @@
+package com.frontier.agent.observability.logging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.reflect.Array;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Multi-producer, single-consumer ring of preallocated {@link Slot}s. Request threads claim
+ * a sequence, fill the slot's fixed fields and publish it. They keep references to the
+ * arguments and allocate nothing else. The consumer thread turns each published slot into
+ * one {@code audit} log line. Argument shapes are rendered there too: type names, string
+ * lengths and collection sizes, never values.
+ */
+public class AuditRingBuffer implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger("audit");
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Slot[] slots;
+    private final int mask;
+    private final long writeWaitNanos;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+    private final Thread consumer;
+    private final Counter written;
+    private final Counter sampledOut;
+    private final Counter dropped;
+    private final Counter inline;
+    private volatile boolean running = true;
+
+    public AuditRingBuffer(int bufferSize, Duration writeWait, MeterRegistry meterRegistry) {
+        int capacity = Integer.highestOneBit(Math.max(2, bufferSize) * 2 - 1);
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = capacity - 1;
+        this.writeWaitNanos = writeWait.toNanos();
+        Gauge.builder("frontier.audit.buffer.depth", this, buffer -> buffer.claimed.get() - buffer.consumed.get())
+                .description("Audit records waiting to be written")
+                .register(meterRegistry);
+        this.written = eventCounter(meterRegistry, "written");
+        this.sampledOut = eventCounter(meterRegistry, "sampled_out");
+        this.dropped = eventCounter(meterRegistry, "dropped");
+        this.inline = eventCounter(meterRegistry, "inline");
+        this.consumer = new Thread(this::run, "audit-writer");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    /**
+     * Publishes one record. A full buffer drops a read; a write waits up to
+     * {@code write-wait} and is then logged on the calling thread.
+     */
+    void publish(String endpoint, String httpMethod, String path, String correlationId, Object[] args,
+                 boolean write, double sampleRate, long durationNanos, String outcome) {
+        long sequence = claim(write);
+        if (sequence < 0) {
+            if (write) {
+                inline.increment();
+                log(Instant.now().toEpochMilli(), endpoint, httpMethod, path, correlationId, args, true, sampleRate,
+                        durationNanos, outcome);
+            } else {
+                dropped.increment();
+            }
+            return;
+        }
+        var slot = slots[(int) sequence & mask];
+        slot.timestamp = System.currentTimeMillis();
+        slot.endpoint = endpoint;
+        slot.httpMethod = httpMethod;
+        slot.path = path;
+        slot.correlationId = correlationId;
+        slot.args = args;
+        slot.write = write;
+        slot.sampleRate = sampleRate;
+        slot.durationNanos = durationNanos;
+        slot.outcome = outcome;
+        slot.published = sequence;
+    }
+
+    /** Counts a read that sampling left out of the trail. */
+    void skip() {
+        sampledOut.increment();
+    }
+
+    private long claim(boolean write) {
+        long deadline = write ? System.nanoTime() + writeWaitNanos : 0;
+        while (running) {
+            long next = claimed.get();
+            if (next - consumed.get() >= slots.length) {
+                if (!write || System.nanoTime() - deadline >= 0) {
+                    return -1;
+                }
+                Thread.onSpinWait();
+                continue;
+            }
+            if (claimed.compareAndSet(next, next + 1)) {
+                return next;
+            }
+        }
+        return -1;
+    }
+
+    private void run() {
+        long next = 0;
+        while (running || next < claimed.get()) {
+            var slot = slots[(int) next & mask];
+            if (slot.published != next) {
+                if (!running && next >= claimed.get()) {
+                    break;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            try {
+                log(slot.timestamp, slot.endpoint, slot.httpMethod, slot.path, slot.correlationId, slot.args, slot.write,
+                        slot.sampleRate, slot.durationNanos, slot.outcome);
+                written.increment();
+            } catch (RuntimeException ex) {
+                LoggerFactory.getLogger(AuditRingBuffer.class).warn("Failed to write audit record", ex);
+            }
+            slot.args = null;
+            next++;
+            consumed.lazySet(next);
+        }
+    }
+
+    private static void log(long timestamp, String endpoint, String httpMethod, String path, String correlationId,
+                            Object[] args, boolean write, double sampleRate, long durationNanos, String outcome) {
+        log.info("audit method={} http={} path={} correlationId={} args={} write={} sampleRate={} durationMs={} outcome={} at={}",
+                endpoint, httpMethod, path, correlationId, shapes(args), write, sampleRate,
+                TimeUnit.NANOSECONDS.toMillis(durationNanos), outcome, Instant.ofEpochMilli(timestamp));
+    }
+
+    static String shapes(Object[] args) {
+        if (args == null || args.length == 0) {
+            return "[]";
+        }
+        var shapes = new StringBuilder("[");
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                shapes.append(", ");
+            }
+            shapes.append(shape(args[i]));
+        }
+        return shapes.append(']').toString();
+    }
+
+    private static String shape(Object arg) {
+        if (arg == null) {
+            return "null";
+        }
+        var type = arg.getClass().getSimpleName();
+        if (arg instanceof CharSequence text) {
+            return type + '(' + text.length() + ')';
+        }
+        // Collection implementations are often JDK-internal (List12, MapN); report the interface.
+        if (arg instanceof Collection<?> collection) {
+            var kind = arg instanceof List<?> ? "List" : arg instanceof Set<?> ? "Set" : "Collection";
+            return kind + '(' + collection.size() + ')';
+        }
+        if (arg instanceof Map<?, ?> map) {
+            return "Map(" + map.size() + ')';
+        }
+        if (arg.getClass().isArray()) {
+            return arg.getClass().getComponentType().getSimpleName() + '[' + Array.getLength(arg) + ']';
+        }
+        return type;
+    }
+
+    /** Stops the consumer after it has written everything already published. */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            consumer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Counter eventCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("frontier.audit.events")
+                .description("Audit records by how they were handled")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /** One preallocated record; {@code published} is written last and makes the rest visible. */
+    private static final class Slot {
+        private volatile long published = -1;
+        private long timestamp;
+        private String endpoint;
+        private String httpMethod;
+        private String path;
+        private String correlationId;
+        private Object[] args;
+        private boolean write;
+        private double sampleRate;
+        private long durationNanos;
+        private String outcome;
+    }
+}
@@ -0,0 +1,54 @@
+package com.frontier.agent.observability.logging;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.prometheus.metrics.tracer.common.SpanContext;
+import org.slf4j.MDC;
+
+/**
+ * Supplies Prometheus exemplars for histogram buckets. The active span wins when there is
+ * one; otherwise the correlation ID from the MDC stands in for both trace and span ID, so
+ * a slow SQS message in a latency bucket can be looked up in the logs and debug capsules.
+ */
+public class CorrelationIdSpanContext implements SpanContext {
+
+    private final Tracer tracer;
+
+    public CorrelationIdSpanContext(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public String getCurrentTraceId() {
+        Span span = currentSpan();
+        return span != null ? span.context().traceId() : MDC.get(CorrelationIdFilter.HEADER);
+    }
+
+    @Override
+    public String getCurrentSpanId() {
+        Span span = currentSpan();
+        return span != null ? span.context().spanId() : MDC.get(CorrelationIdFilter.HEADER);
+    }
+
+    @Override
+    public boolean isCurrentSpanSampled() {
+        Span span = currentSpan();
+        if (span != null) {
+            return Boolean.TRUE.equals(span.context().sampled());
+        }
+        return MDC.get(CorrelationIdFilter.HEADER) != null;
+    }
+
+    @Override
+    public void markCurrentSpanAsExemplar() {
+        Span span = currentSpan();
+        if (span != null) {
+            span.tag("exemplar", "true");
+        }
+    }
+
+    private Span currentSpan() {
+        Span span = tracer.currentSpan();
+        return span == null || span.isNoop() ? null : span;
+    }
+}
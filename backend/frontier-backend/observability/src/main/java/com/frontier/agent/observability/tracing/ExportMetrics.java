@@ -0,0 +1,91 @@
+package com.frontier.agent.observability.tracing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import zipkin2.reporter.ReporterMetrics;
+
+/**
+ * Publishes the Zipkin reporter's queue and drop accounting as {@code frontier.tracing.export.*}.
+ * A rising {@code spans.dropped} means the queue bounds are being hit, usually because the
+ * collector is slow or unreachable.
+ */
+public class ExportMetrics implements ReporterMetrics {
+
+    private final Counter spans;
+    private final Counter spansDropped;
+    private final Counter spanBytes;
+    private final Counter messages;
+    private final Counter messagesFailed;
+    private final Counter messageBytes;
+    private final AtomicInteger queuedSpans = new AtomicInteger();
+    private final AtomicInteger queuedBytes = new AtomicInteger();
+
+    public ExportMetrics(MeterRegistry meterRegistry) {
+        this.spans = Counter.builder("frontier.tracing.export.spans")
+                .description("Spans handed to the exporter")
+                .register(meterRegistry);
+        this.spansDropped = Counter.builder("frontier.tracing.export.spans.dropped")
+                .description("Spans dropped because the queue was full or their message failed")
+                .register(meterRegistry);
+        this.spanBytes = Counter.builder("frontier.tracing.export.bytes")
+                .tag("stage", "span")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.messages = Counter.builder("frontier.tracing.export.messages")
+                .description("Batches sent to the collector")
+                .register(meterRegistry);
+        this.messagesFailed = Counter.builder("frontier.tracing.export.messages.failed")
+                .register(meterRegistry);
+        this.messageBytes = Counter.builder("frontier.tracing.export.bytes")
+                .tag("stage", "message")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("frontier.tracing.export.queue.spans", queuedSpans, AtomicInteger::get)
+                .register(meterRegistry);
+        Gauge.builder("frontier.tracing.export.queue.bytes", queuedBytes, AtomicInteger::get)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void incrementMessages() {
+        messages.increment();
+    }
+
+    @Override
+    public void incrementMessagesDropped(Throwable cause) {
+        messagesFailed.increment();
+    }
+
+    @Override
+    public void incrementSpans(int quantity) {
+        spans.increment(quantity);
+    }
+
+    @Override
+    public void incrementSpanBytes(int quantity) {
+        spanBytes.increment(quantity);
+    }
+
+    @Override
+    public void incrementMessageBytes(int quantity) {
+        messageBytes.increment(quantity);
+    }
+
+    @Override
+    public void incrementSpansDropped(int quantity) {
+        spansDropped.increment(quantity);
+    }
+
+    @Override
+    public void updateQueuedSpans(int update) {
+        queuedSpans.set(update);
+    }
+
+    @Override
+    public void updateQueuedBytes(int update) {
+        queuedBytes.set(update);
+    }
+}
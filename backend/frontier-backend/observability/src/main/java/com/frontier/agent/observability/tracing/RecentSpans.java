@@ -0,0 +1,70 @@
+package com.frontier.agent.observability.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+/**
+ * Fixed-size ring of the most recently finished spans, so recent slow traces can be inspected
+ * through the {@code spans} actuator endpoint without a collector. With tail sampling this
+ * includes unsampled spans. Older spans are overwritten; nothing here blocks.
+ */
+public class RecentSpans extends SpanHandler {
+
+    private final AtomicReferenceArray<RecentSpan> slots;
+    private final AtomicLong next = new AtomicLong();
+
+    public RecentSpans(int capacity) {
+        this.slots = new AtomicReferenceArray<>(Math.max(0, capacity));
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (slots.length() > 0 && cause != Cause.ABANDONED) {
+            slots.set((int) (next.getAndIncrement() % slots.length()), RecentSpan.of(context, span));
+        }
+        return true;
+    }
+
+    /** Matching spans, newest first, at most {@code limit} of them. */
+    public List<RecentSpan> newest(Predicate<RecentSpan> filter, int limit) {
+        List<RecentSpan> result = new ArrayList<>();
+        long last = next.get();
+        for (long i = last - 1; i >= Math.max(0, last - slots.length()) && result.size() < limit; i--) {
+            RecentSpan span = slots.get((int) (i % slots.length()));
+            if (span != null && filter.test(span)) {
+                result.add(span);
+            }
+        }
+        return result;
+    }
+
+    public record RecentSpan(String traceId, String spanId, String parentId, String name, String kind,
+                             Instant start, Duration duration, boolean sampled, String error,
+                             Map<String, String> tags) {
+
+        static RecentSpan of(TraceContext context, MutableSpan span) {
+            long finish = span.finishTimestamp() == 0 ? span.startTimestamp() : span.finishTimestamp();
+            String error = span.error() != null ? span.error().toString() : span.tag("error");
+            return new RecentSpan(
+                    context.traceIdString(),
+                    context.spanIdString(),
+                    context.parentIdString(),
+                    span.name(),
+                    span.kind() == null ? null : span.kind().name(),
+                    Instant.EPOCH.plusNanos(span.startTimestamp() * 1_000),
+                    Duration.ofNanos((finish - span.startTimestamp()) * 1_000),
+                    Boolean.TRUE.equals(context.sampled()),
+                    error,
+                    span.tags());
+        }
+    }
+}
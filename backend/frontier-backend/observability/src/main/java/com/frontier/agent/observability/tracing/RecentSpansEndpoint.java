@@ -0,0 +1,41 @@
+package com.frontier.agent.observability.tracing;
+
+import com.frontier.agent.observability.tracing.RecentSpans.RecentSpan;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@code /actuator/spans} lists recently finished spans, newest first, optionally only those
+ * taking at least {@code minDuration}; {@code /actuator/spans/{traceId}} returns the spans of
+ * one trace still in the ring, in start order.
+ */
+@Endpoint(id = "spans")
+public class RecentSpansEndpoint {
+
+    private static final int DEFAULT_LIMIT = 100;
+
+    private final RecentSpans recentSpans;
+
+    public RecentSpansEndpoint(RecentSpans recentSpans) {
+        this.recentSpans = recentSpans;
+    }
+
+    @ReadOperation
+    public List<RecentSpan> recent(@Nullable Duration minDuration, @Nullable Integer limit) {
+        Duration threshold = minDuration == null ? Duration.ZERO : minDuration;
+        return recentSpans.newest(span -> span.duration().compareTo(threshold) >= 0,
+                limit == null ? DEFAULT_LIMIT : limit);
+    }
+
+    @ReadOperation
+    public List<RecentSpan> trace(@Selector String traceId) {
+        return recentSpans.newest(span -> span.traceId().equals(traceId), Integer.MAX_VALUE).stream()
+                .sorted(Comparator.comparing(RecentSpan::start))
+                .toList();
+    }
+}
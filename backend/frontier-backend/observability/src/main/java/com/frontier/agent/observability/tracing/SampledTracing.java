@@ -0,0 +1,55 @@
+package com.frontier.agent.observability.tracing;
+
+import brave.Tracing;
+import brave.handler.SpanHandler;
+import brave.sampler.Sampler;
+import com.frontier.agent.observability.config.TracingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.TimeUnit;
+import zipkin2.reporter.BytesMessageSender;
+import zipkin2.reporter.brave.AsyncZipkinSpanHandler;
+
+/**
+ * Assembles the Brave pipeline described by {@link TracingProperties}: head sampler, the
+ * recent-span ring, optional tail sampling and the bounded Zipkin exporter, in that order.
+ */
+public final class SampledTracing {
+
+    private SampledTracing() {
+    }
+
+    /**
+     * Batches spans into messages of at most {@code message-max-bytes} and queues at most
+     * {@code queued-max-spans} / {@code queued-max-bytes}; spans beyond that are dropped.
+     * Unsampled spans the tail sampler lets through are reported too.
+     */
+    @SuppressWarnings("deprecation") // queuedMaxBytes is deprecated in reporter 3.x but still bounds the queue
+    public static AsyncZipkinSpanHandler exporter(BytesMessageSender sender, TracingProperties properties,
+                                                  MeterRegistry meterRegistry) {
+        return AsyncZipkinSpanHandler.newBuilder(sender)
+                .queuedMaxSpans(properties.getQueuedMaxSpans())
+                .queuedMaxBytes((int) properties.getQueuedMaxBytes().toBytes())
+                .messageMaxBytes((int) properties.getMessageMaxBytes().toBytes())
+                .messageTimeout(properties.getMessageTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .closeTimeout(properties.getCloseTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .metrics(new ExportMetrics(meterRegistry))
+                .alwaysReportSpans(true)
+                .build();
+    }
+
+    public static Tracing tracing(String serviceName, TracingProperties properties, RecentSpans recentSpans,
+                                  SpanHandler exporter, MeterRegistry meterRegistry) {
+        var builder = Tracing.newBuilder()
+                .localServiceName(serviceName)
+                .sampler(Sampler.create(properties.getSampleRate()))
+                .addSpanHandler(recentSpans);
+        if (properties.isTailSampling()) {
+            builder.alwaysSampleLocal()
+                    .addSpanHandler(new TailSamplingSpanHandler(exporter, properties.getSlowThreshold(),
+                            properties.getMaxPendingTraces(), properties.getMaxSpansPerTrace(), meterRegistry));
+        } else {
+            builder.addSpanHandler(exporter);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,147 @@
+package com.frontier.agent.observability.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Forwards head-sampled spans straight to the exporter and holds the spans of unsampled
+ * traces until their local root finishes. If any of those spans failed, or the root took at
+ * least the slow threshold, the whole local trace is exported; otherwise it is discarded.
+ * <p>
+ * At most {@code maxPendingTraces} traces are held. Spans that would start another are
+ * dropped, and traces whose root never finishes locally are swept after {@link #PENDING_TTL}.
+ */
+public class TailSamplingSpanHandler extends SpanHandler {
+
+    static final Duration PENDING_TTL = Duration.ofMinutes(1);
+
+    private final SpanHandler delegate;
+    private final long slowThresholdMicros;
+    private final int maxPendingTraces;
+    private final int maxSpansPerTrace;
+    private final Map<Long, PendingTrace> pending = new ConcurrentHashMap<>();
+    private final Counter head;
+    private final Counter slow;
+    private final Counter failed;
+    private final Counter sampledOut;
+    private final Counter overflow;
+    private final Counter expired;
+
+    public TailSamplingSpanHandler(SpanHandler delegate, Duration slowThreshold, int maxPendingTraces,
+                                   int maxSpansPerTrace, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.slowThresholdMicros = slowThreshold.toNanos() / 1_000;
+        this.maxPendingTraces = Math.max(1, maxPendingTraces);
+        this.maxSpansPerTrace = Math.max(1, maxSpansPerTrace);
+        this.head = decisions(meterRegistry, "head");
+        this.slow = decisions(meterRegistry, "tail_slow");
+        this.failed = decisions(meterRegistry, "tail_error");
+        this.sampledOut = decisions(meterRegistry, "sampled_out");
+        this.overflow = decisions(meterRegistry, "overflow");
+        this.expired = decisions(meterRegistry, "expired");
+        Gauge.builder("frontier.tracing.sampling.pending", pending, Map::size)
+                .description("Unsampled traces held until their local root span finishes")
+                .register(meterRegistry);
+    }
+
+    private static Counter decisions(MeterRegistry meterRegistry, String decision) {
+        return Counter.builder("frontier.tracing.sampling.spans")
+                .description("Finished spans by sampling decision")
+                .tag("decision", decision)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause == Cause.ABANDONED) {
+            return true;
+        }
+        if (Boolean.TRUE.equals(context.sampled())) {
+            head.increment();
+            return delegate.end(context, span, cause);
+        }
+        if (context.isLocalRoot()) {
+            PendingTrace trace = pending.remove(context.localRootId());
+            List<Finished> spans = trace == null ? new ArrayList<>(1) : trace.close();
+            spans.add(new Finished(context, span, cause));
+            String reason = trace != null && trace.reason != null ? trace.reason : reason(span);
+            if (reason == null) {
+                sampledOut.increment(spans.size());
+                return true;
+            }
+            (reason.equals("error") ? failed : slow).increment(spans.size());
+            for (Finished finished : spans) {
+                delegate.end(finished.context(), finished.span(), finished.cause());
+            }
+            return true;
+        }
+        PendingTrace trace = pending.get(context.localRootId());
+        if (trace == null) {
+            if (pending.size() >= maxPendingTraces && sweep() == 0) {
+                overflow.increment();
+                return true;
+            }
+            trace = pending.computeIfAbsent(context.localRootId(), id -> new PendingTrace());
+        }
+        if (!trace.add(new Finished(context, span, cause), reason(span), maxSpansPerTrace)) {
+            overflow.increment();
+        }
+        return true;
+    }
+
+    private String reason(MutableSpan span) {
+        if (span.error() != null || span.tag("error") != null) {
+            return "error";
+        }
+        long finish = span.finishTimestamp();
+        return finish != 0 && finish - span.startTimestamp() >= slowThresholdMicros ? "slow" : null;
+    }
+
+    private int sweep() {
+        long cutoff = System.nanoTime() - PENDING_TTL.toNanos();
+        int swept = 0;
+        for (var entry : pending.entrySet()) {
+            if (entry.getValue().createdNanos - cutoff < 0 && pending.remove(entry.getKey(), entry.getValue())) {
+                expired.increment(entry.getValue().close().size());
+                swept++;
+            }
+        }
+        return swept;
+    }
+
+    private record Finished(TraceContext context, MutableSpan span, Cause cause) {
+    }
+
+    private static final class PendingTrace {
+
+        final long createdNanos = System.nanoTime();
+        private final List<Finished> spans = new ArrayList<>();
+        private boolean closed;
+        volatile String reason;
+
+        synchronized boolean add(Finished finished, String spanReason, int maxSpans) {
+            if (spanReason != null && reason == null) {
+                reason = spanReason;
+            }
+            if (closed || spans.size() >= maxSpans) {
+                return false;
+            }
+            spans.add(finished);
+            return true;
+        }
+
+        synchronized List<Finished> close() {
+            closed = true;
+            return new ArrayList<>(spans);
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.frontier.agent.worker;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = "com.frontier.agent")
+@EnableScheduling
 public class WorkerApplication {
 
     public static void main(String[] args) {
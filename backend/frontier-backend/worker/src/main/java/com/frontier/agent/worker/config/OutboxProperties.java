@@ -0,0 +1,59 @@
+package com.frontier.agent.worker.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "frontier.outbox")
+public class OutboxProperties {
+
+    private int batchSize = 100;
+    private Duration pollInterval = Duration.ofMillis(500);
+    private Duration publishTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Backoff doubles per attempt from {@code initialBackoff} and is capped here so a long
+     * DynamoDB outage does not push retries out indefinitely.
+     */
+    private Duration maxBackoff = Duration.ofMinutes(5);
+    private Duration initialBackoff = Duration.ofSeconds(1);
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public Duration getPublishTimeout() {
+        return publishTimeout;
+    }
+
+    public void setPublishTimeout(Duration publishTimeout) {
+        this.publishTimeout = publishTimeout;
+    }
+
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public void setMaxBackoff(Duration maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public void setInitialBackoff(Duration initialBackoff) {
+        this.initialBackoff = initialBackoff;
+    }
+}
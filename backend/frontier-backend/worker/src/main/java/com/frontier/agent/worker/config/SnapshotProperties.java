@@ -0,0 +1,113 @@
+package com.frontier.agent.worker.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "frontier.snapshot")
+public class SnapshotProperties {
+
+    private boolean enabled = true;
+
+    /** Width of a snapshot window; windows are aligned to the epoch in UTC. */
+    private Duration window = Duration.ofHours(1);
+
+    /** How long after its end a window stays open for stragglers before it is sealed. */
+    private Duration sealDelay = Duration.ofMinutes(10);
+
+    /**
+     * How far ahead of now windows are aggregated in memory. Entries for later windows, such
+     * as far-off due dates, are counted from the table once their window comes within range.
+     */
+    private Duration horizon = Duration.ofDays(1);
+
+    /** Users whose open windows are counted per query when the windows are rebuilt. */
+    private int rebuildUserBatchSize = 500;
+
+    private Duration pollInterval = Duration.ofSeconds(5);
+    private int batchSize = 2_000;
+    private int maxBatchesPerRun = 20;
+    private int writeBatchSize = 500;
+
+    /** Entries per window that count as a load score of 100. */
+    private int fullLoadEntries = 50;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public Duration getSealDelay() {
+        return sealDelay;
+    }
+
+    public void setSealDelay(Duration sealDelay) {
+        this.sealDelay = sealDelay;
+    }
+
+    public Duration getHorizon() {
+        return horizon;
+    }
+
+    public void setHorizon(Duration horizon) {
+        this.horizon = horizon;
+    }
+
+    public int getRebuildUserBatchSize() {
+        return rebuildUserBatchSize;
+    }
+
+    public void setRebuildUserBatchSize(int rebuildUserBatchSize) {
+        this.rebuildUserBatchSize = rebuildUserBatchSize;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxBatchesPerRun() {
+        return maxBatchesPerRun;
+    }
+
+    public void setMaxBatchesPerRun(int maxBatchesPerRun) {
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    public int getWriteBatchSize() {
+        return writeBatchSize;
+    }
+
+    public void setWriteBatchSize(int writeBatchSize) {
+        this.writeBatchSize = writeBatchSize;
+    }
+
+    public int getFullLoadEntries() {
+        return fullLoadEntries;
+    }
+
+    public void setFullLoadEntries(int fullLoadEntries) {
+        this.fullLoadEntries = fullLoadEntries;
+    }
+}
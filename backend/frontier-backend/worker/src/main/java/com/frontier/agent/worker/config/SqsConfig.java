@@ -14,6 +14,8 @@ public class SqsConfig {
     public SqsMessagingMessageConverter messageConverter() {
         MappingJackson2MessageConverter delegate = new MappingJackson2MessageConverter();
         delegate.setStrictContentTypeMatch(false);
-        return new SqsMessagingMessageConverter(delegate);
+        SqsMessagingMessageConverter converter = new SqsMessagingMessageConverter();
+        converter.setPayloadMessageConverter(delegate);
+        return converter;
     }
 }
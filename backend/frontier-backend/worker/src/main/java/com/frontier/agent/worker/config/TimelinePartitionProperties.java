@@ -0,0 +1,84 @@
+package com.frontier.agent.worker.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "frontier.timeline-partitions")
+public class TimelinePartitionProperties {
+
+    public enum ExpiredAction { ARCHIVE, DROP }
+
+    private boolean enabled = true;
+
+    /** Monthly partitions kept ready ahead of the current month. */
+    private int premakeMonths = 3;
+
+    /** Whole months of timeline kept attached; 0 keeps everything. */
+    private int retentionMonths = 24;
+
+    /** ARCHIVE moves a detached partition into {@code archive-schema}; DROP deletes it. */
+    private ExpiredAction expiredAction = ExpiredAction.ARCHIVE;
+
+    private String archiveSchema = "timeline_archive";
+
+    /** Longest a maintenance step waits for a table lock before giving up until the next run. */
+    private Duration lockTimeout = Duration.ofSeconds(5);
+
+    private Duration interval = Duration.ofHours(6);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getPremakeMonths() {
+        return premakeMonths;
+    }
+
+    public void setPremakeMonths(int premakeMonths) {
+        this.premakeMonths = premakeMonths;
+    }
+
+    public int getRetentionMonths() {
+        return retentionMonths;
+    }
+
+    public void setRetentionMonths(int retentionMonths) {
+        this.retentionMonths = retentionMonths;
+    }
+
+    public ExpiredAction getExpiredAction() {
+        return expiredAction;
+    }
+
+    public void setExpiredAction(ExpiredAction expiredAction) {
+        this.expiredAction = expiredAction;
+    }
+
+    public String getArchiveSchema() {
+        return archiveSchema;
+    }
+
+    public void setArchiveSchema(String archiveSchema) {
+        this.archiveSchema = archiveSchema;
+    }
+
+    public Duration getLockTimeout() {
+        return lockTimeout;
+    }
+
+    public void setLockTimeout(Duration lockTimeout) {
+        this.lockTimeout = lockTimeout;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+}
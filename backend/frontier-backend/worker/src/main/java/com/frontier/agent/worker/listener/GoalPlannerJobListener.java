@@ -3,17 +3,22 @@ package com.frontier.agent.worker.listener;
 import com.frontier.agent.clients.debug.S3DebugCapsuleWriter;
 import com.frontier.agent.domain.model.AgentRun;
 import com.frontier.agent.domain.model.Goal;
-import com.frontier.agent.domain.repository.AgentRunRepository;
+import com.frontier.agent.domain.model.Uuids;
 import com.frontier.agent.domain.repository.GoalRepository;
+import com.frontier.agent.domain.service.AgentRunJournal;
 import com.frontier.agent.domain.service.IdempotencyService;
+import com.frontier.agent.domain.service.PayloadFingerprint;
+import com.frontier.agent.worker.listener.ListenerMetrics.Stage;
 import io.awspring.cloud.sqs.annotation.SqsListener;
 import java.time.Instant;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Component
 public class GoalPlannerJobListener {
@@ -21,26 +26,44 @@ public class GoalPlannerJobListener {
     private static final Logger log = LoggerFactory.getLogger(GoalPlannerJobListener.class);
 
     private final GoalRepository goalRepository;
-    private final AgentRunRepository agentRunRepository;
+    private final AgentRunJournal agentRunJournal;
     private final IdempotencyService idempotencyService;
     private final S3DebugCapsuleWriter capsuleWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final ListenerDispatcher dispatcher;
+    private final ListenerMetrics.Instruments metrics;
 
     public GoalPlannerJobListener(
             GoalRepository goalRepository,
-            AgentRunRepository agentRunRepository,
+            AgentRunJournal agentRunJournal,
             IdempotencyService idempotencyService,
-            S3DebugCapsuleWriter capsuleWriter) {
+            S3DebugCapsuleWriter capsuleWriter,
+            TransactionTemplate transactionTemplate,
+            ListenerDispatcher dispatcher,
+            ListenerMetrics listenerMetrics) {
         this.goalRepository = goalRepository;
-        this.agentRunRepository = agentRunRepository;
+        this.agentRunJournal = agentRunJournal;
         this.idempotencyService = idempotencyService;
         this.capsuleWriter = capsuleWriter;
+        this.transactionTemplate = transactionTemplate;
+        this.dispatcher = dispatcher;
+        this.metrics = listenerMetrics.register("goal_planner");
     }
 
     @SqsListener(value = "goal-planner-queue")
-    public void handle(Map<String, Object> payload, @Header(name = "correlation_id", required = false) String correlationId) {
-        String bodyHash = Integer.toHexString(payload.toString().hashCode());
+    public CompletableFuture<Void> handle(Map<String, Object> payload,
+            @Header(name = "correlation_id", required = false) String correlationId,
+            @Header(name = ListenerMetrics.SENT_TIMESTAMP, required = false) String sentTimestamp) {
+        metrics.received(sentTimestamp);
+        return dispatcher.dispatch(() -> ListenerMetrics.withCorrelationId(correlationId, () -> process(payload, correlationId)));
+    }
+
+    private void process(Map<String, Object> payload, String correlationId) {
+        String bodyHash = PayloadFingerprint.of(payload);
         String idempotencyKey = "goal-planner-" + bodyHash;
-        if (!idempotencyService.tryAcquire(idempotencyKey, "GoalPlanner", java.time.Duration.ofHours(2))) {
+        if (!metrics.time(Stage.CLAIM,
+                () -> idempotencyService.tryAcquire(idempotencyKey, "GoalPlanner", java.time.Duration.ofHours(2)))) {
+            metrics.duplicate();
             log.info("duplicate goal planner invocation skipped for key {}", idempotencyKey);
             return;
         }
@@ -50,22 +73,27 @@ public class GoalPlannerJobListener {
         run.setInputHash(bodyHash);
         run.setStatus("STARTED");
         run.setStartedAt(Instant.now());
-        agentRunRepository.save(run);
+        agentRunJournal.start(run);
 
         try {
-            Goal goal = goalRepository.findById(UUID.fromString((String) payload.get("goal_id")))
-                    .orElseThrow();
-            goal.setPlanId(UUID.randomUUID());
-            goalRepository.save(goal);
+            // One read-write transaction keeps the load on the primary: a read-only findById
+            // would be routed to a replica that may not have the goal yet, or only a stale copy.
+            transactionTemplate.executeWithoutResult(status -> {
+                Goal goal = metrics.time(Stage.LOAD,
+                        () -> goalRepository.findById(UUID.fromString((String) payload.get("goal_id"))).orElseThrow());
+                goal.setPlanId(idempotencyService.replayIdentity("plan", idempotencyKey).orElseGet(Uuids::timeOrdered));
+                metrics.time(Stage.SAVE, () -> goalRepository.save(goal));
+            });
             run.setStatus("SUCCEEDED");
         } catch (Exception ex) {
             log.error("Goal planning failed", ex);
             run.setStatus("FAILED");
             run.setLastError(ex.getMessage());
-            capsuleWriter.write("debug-capsules", idempotencyKey + ".json", payload);
+            metrics.time(Stage.CAPSULE, () -> capsuleWriter.write("debug-capsules", idempotencyKey + ".json", payload)
+                    .thenAccept(location -> log.info("debug capsule for key {} stored at {}", idempotencyKey, location)));
         } finally {
             run.setFinishedAt(Instant.now());
-            agentRunRepository.save(run);
+            agentRunJournal.finish(run);
         }
     }
 }
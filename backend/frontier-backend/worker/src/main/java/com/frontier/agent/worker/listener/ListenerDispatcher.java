@@ -0,0 +1,47 @@
+package com.frontier.agent.worker.listener;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides where SQS listener bodies run. spring-cloud-aws requires its container threads to
+ * be {@code MessageExecutionThread}s, so the container itself cannot use virtual threads;
+ * in virtual-thread mode listeners instead hand their blocking work to a fresh virtual
+ * thread and return the future, which keeps the message in flight until it completes.
+ * Otherwise the work runs inline on the container thread, as before.
+ */
+@Component
+class ListenerDispatcher implements DisposableBean {
+
+    private final ExecutorService virtualThreads;
+
+    ListenerDispatcher(Environment environment) {
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment)
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sqs-listener-", 0).factory())
+                : null;
+    }
+
+    CompletableFuture<Void> dispatch(Runnable work) {
+        if (virtualThreads != null) {
+            return CompletableFuture.runAsync(work, virtualThreads);
+        }
+        try {
+            work.run();
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (virtualThreads != null) {
+            virtualThreads.close();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.frontier.agent.worker.listener;
+
+import io.awspring.cloud.sqs.listener.SqsHeaders;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-listener meters for the SQS hot path, registered once so recording is a field read
+ * and an atomic update. Stage timers publish histograms. On the Prometheus endpoint their
+ * exemplars carry the correlation ID that {@link #withCorrelationId} puts in the MDC.
+ */
+@Component
+class ListenerMetrics {
+
+    /** Age header set by spring-cloud-aws from the SentTimestamp system attribute, in epoch millis. */
+    static final String SENT_TIMESTAMP = SqsHeaders.MessageSystemAttributes.SQS_SENT_TIMESTAMP;
+
+    static final String CORRELATION_MDC_KEY = "X-Correlation-Id";
+
+    enum Stage { CLAIM, LOAD, SAVE, CAPSULE }
+
+    private final MeterRegistry meterRegistry;
+
+    ListenerMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    Instruments register(String listener) {
+        return new Instruments(listener);
+    }
+
+    /** Runs {@code work} with the correlation ID in the MDC, as the HTTP filter does for requests. */
+    static <T> T withCorrelationId(String correlationId, Supplier<T> work) {
+        if (correlationId == null) {
+            return work.get();
+        }
+        MDC.put(CORRELATION_MDC_KEY, correlationId);
+        try {
+            return work.get();
+        } finally {
+            MDC.remove(CORRELATION_MDC_KEY);
+        }
+    }
+
+    static void withCorrelationId(String correlationId, Runnable work) {
+        withCorrelationId(correlationId, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    final class Instruments {
+
+        private final Map<Stage, Timer> stages = new EnumMap<>(Stage.class);
+        private final Timer messageAge;
+        private final Counter duplicates;
+
+        private Instruments(String listener) {
+            for (var stage : Stage.values()) {
+                stages.put(stage, Timer.builder("frontier.listener.stage")
+                        .description("Time spent in each stage of handling a message")
+                        .tag("listener", listener)
+                        .tag("stage", stage.name().toLowerCase())
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+            }
+            this.messageAge = Timer.builder("frontier.listener.message.age")
+                    .description("Time from SQS SentTimestamp to the listener receiving the message")
+                    .tag("listener", listener)
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(Duration.ofHours(1))
+                    .register(meterRegistry);
+            this.duplicates = Counter.builder("frontier.listener.duplicates")
+                    .description("Messages skipped because their idempotency key was already claimed")
+                    .tag("listener", listener)
+                    .register(meterRegistry);
+        }
+
+        <T> T time(Stage stage, Supplier<T> work) {
+            long start = System.nanoTime();
+            try {
+                return work.get();
+            } finally {
+                stages.get(stage).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        void time(Stage stage, Runnable work) {
+            long start = System.nanoTime();
+            try {
+                work.run();
+            } finally {
+                stages.get(stage).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        /** Records the age of a message from its {@link #SENT_TIMESTAMP} header; ignored when absent. */
+        void received(Object sentTimestamp) {
+            if (sentTimestamp == null) {
+                return;
+            }
+            try {
+                long age = System.currentTimeMillis() - Long.parseLong(sentTimestamp.toString());
+                messageAge.record(Math.max(0, age), TimeUnit.MILLISECONDS);
+            } catch (NumberFormatException ignored) {
+                // Not a timestamp; nothing to record.
+            }
+        }
+
+        void duplicate() {
+            duplicates.increment();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.frontier.agent.worker.listener;
+
+import com.frontier.agent.clients.debug.S3DebugCapsuleWriter;
+import com.frontier.agent.domain.model.AgentRun;
+import com.frontier.agent.domain.model.Note;
+import com.frontier.agent.domain.repository.AgentRunRepository;
+import com.frontier.agent.domain.repository.NoteRepository;
+import com.frontier.agent.domain.service.IdempotencyService;
+import com.frontier.agent.domain.service.PayloadFingerprint;
+import com.frontier.agent.worker.listener.ListenerMetrics.Stage;
+import io.awspring.cloud.sqs.annotation.SqsListener;
+import io.awspring.cloud.sqs.listener.acknowledgement.BatchAcknowledgement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Batch variant of {@link NoteParserJobListener}, enabled with
+ * {@code frontier.note-parser.batch-enabled}. A poll of up to ten messages claims all of
+ * its idempotency keys in one statement and inserts every note and agent run in a single
+ * transaction, relying on Hibernate JDBC batching. If that transaction fails, the
+ * messages are retried one by one so a single bad payload cannot hold back the others;
+ * each message is acknowledged only once it has been handled.
+ */
+@Component
+@ConditionalOnProperty(prefix = "frontier.note-parser", name = "batch-enabled", havingValue = "true")
+public class NoteParserBatchJobListener {
+
+    private static final Logger log = LoggerFactory.getLogger(NoteParserBatchJobListener.class);
+    private static final String AGENT_NAME = "NoteParserAgent";
+    private static final Duration IDEMPOTENCY_TTL = Duration.ofHours(1);
+
+    private final NoteRepository noteRepository;
+    private final AgentRunRepository agentRunRepository;
+    private final IdempotencyService idempotencyService;
+    private final S3DebugCapsuleWriter capsuleWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final ListenerDispatcher dispatcher;
+    private final ListenerMetrics.Instruments metrics;
+
+    public NoteParserBatchJobListener(
+            NoteRepository noteRepository,
+            AgentRunRepository agentRunRepository,
+            IdempotencyService idempotencyService,
+            S3DebugCapsuleWriter capsuleWriter,
+            TransactionTemplate transactionTemplate,
+            ListenerDispatcher dispatcher,
+            ListenerMetrics listenerMetrics) {
+        this.noteRepository = noteRepository;
+        this.agentRunRepository = agentRunRepository;
+        this.idempotencyService = idempotencyService;
+        this.capsuleWriter = capsuleWriter;
+        this.transactionTemplate = transactionTemplate;
+        this.dispatcher = dispatcher;
+        this.metrics = listenerMetrics.register("note_parser_batch");
+    }
+
+    @SqsListener(
+            value = "note-parser-queue",
+            maxMessagesPerPoll = "${frontier.note-parser.max-messages-per-poll:10}",
+            acknowledgementMode = "MANUAL")
+    public CompletableFuture<Void> handle(List<Message<Map<String, Object>>> messages,
+            BatchAcknowledgement<Map<String, Object>> acknowledgement) {
+        messages.forEach(message -> metrics.received(message.getHeaders().get(ListenerMetrics.SENT_TIMESTAMP)));
+        return dispatcher.dispatch(() -> process(messages, acknowledgement));
+    }
+
+    private void process(List<Message<Map<String, Object>>> messages, BatchAcknowledgement<Map<String, Object>> acknowledgement) {
+        var jobs = messages.stream().map(Job::new).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(jobs));
+            acknowledgement.acknowledge(messages);
+            return;
+        } catch (RuntimeException ex) {
+            log.warn("note parser batch of {} messages failed, retrying them individually", jobs.size(), ex);
+        }
+        List<Message<Map<String, Object>>> handled = new ArrayList<>(jobs.size());
+        for (var job : jobs) {
+            if (ListenerMetrics.withCorrelationId(job.correlationId(), () -> handleIndividually(job))) {
+                handled.add(job.message());
+            }
+        }
+        if (!handled.isEmpty()) {
+            acknowledgement.acknowledge(handled);
+        }
+    }
+
+    private void persist(List<Job> jobs) {
+        Set<String> claimed = new HashSet<>(metrics.time(Stage.CLAIM, () -> idempotencyService.claimAll(
+                jobs.stream().map(Job::idempotencyKey).toList(), AGENT_NAME, IDEMPOTENCY_TTL)));
+        List<Note> notes = new ArrayList<>(jobs.size());
+        List<AgentRun> runs = new ArrayList<>(jobs.size());
+        for (var job : jobs) {
+            // remove() so a payload delivered twice in the same poll is only processed once
+            if (!claimed.remove(job.idempotencyKey())) {
+                metrics.duplicate();
+                log.info("duplicate note parser invocation skipped for key {}", job.idempotencyKey());
+                continue;
+            }
+            Instant startedAt = Instant.now();
+            Note note = new Note();
+            idempotencyService.replayIdentity("note", job.idempotencyKey()).ifPresent(id -> note.assignIdentity(id, startedAt));
+            note.setUserId((String) job.payload().get("user_id"));
+            note.setContent((String) job.payload().getOrDefault("content", ""));
+            notes.add(note);
+            // The run is only written once it has an outcome, saving the STARTED insert and
+            // the follow-up update of the one-message path.
+            AgentRun run = newRun(job, startedAt);
+            run.setStatus("SUCCEEDED");
+            runs.add(run);
+        }
+        metrics.time(Stage.SAVE, () -> {
+            noteRepository.saveAll(notes);
+            agentRunRepository.saveAll(runs);
+        });
+    }
+
+    /**
+     * Handles one message of a failed batch. A message that fails again is recorded the way
+     * {@link NoteParserJobListener} does, as a FAILED run with a debug capsule, and then
+     * acknowledged; it stays on the queue only if not even that can be written.
+     */
+    private boolean handleIndividually(Job job) {
+        Instant startedAt = Instant.now();
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(List.of(job)));
+            return true;
+        } catch (RuntimeException ex) {
+            log.error("Note parsing failed", ex);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    idempotencyService.claimAll(List.of(job.idempotencyKey()), AGENT_NAME, IDEMPOTENCY_TTL);
+                    AgentRun run = newRun(job, startedAt);
+                    run.setStatus("FAILED");
+                    run.setLastError(ex.getMessage());
+                    agentRunRepository.save(run);
+                });
+            } catch (RuntimeException recordFailure) {
+                log.error("could not record failed note parser run for key {}", job.idempotencyKey(), recordFailure);
+                return false;
+            }
+            metrics.time(Stage.CAPSULE,
+                    () -> capsuleWriter.write("debug-capsules", job.idempotencyKey() + ".json", job.payload())
+                            .thenAccept(location -> log.info("debug capsule for key {} stored at {}",
+                                    job.idempotencyKey(), location)));
+            return true;
+        }
+    }
+
+    private static AgentRun newRun(Job job, Instant startedAt) {
+        AgentRun run = new AgentRun();
+        run.setAgentName(AGENT_NAME);
+        run.setCorrelationId(job.correlationId() != null ? job.correlationId() : UUID.randomUUID().toString());
+        run.setInputHash(job.fingerprint());
+        run.setStartedAt(startedAt);
+        run.setFinishedAt(Instant.now());
+        return run;
+    }
+
+    private record Job(Message<Map<String, Object>> message, String fingerprint) {
+
+        Job(Message<Map<String, Object>> message) {
+            this(message, PayloadFingerprint.of(message.getPayload()));
+        }
+
+        Map<String, Object> payload() {
+            return message.getPayload();
+        }
+
+        String idempotencyKey() {
+            return "note-parser-" + fingerprint;
+        }
+
+        String correlationId() {
+            return message.getHeaders().get("correlation_id", String.class);
+        }
+    }
+}
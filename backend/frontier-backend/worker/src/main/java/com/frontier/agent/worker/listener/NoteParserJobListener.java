@@ -3,44 +3,64 @@ package com.frontier.agent.worker.listener;
 import com.frontier.agent.clients.debug.S3DebugCapsuleWriter;
 import com.frontier.agent.domain.model.AgentRun;
 import com.frontier.agent.domain.model.Note;
-import com.frontier.agent.domain.repository.AgentRunRepository;
 import com.frontier.agent.domain.repository.NoteRepository;
+import com.frontier.agent.domain.service.AgentRunJournal;
 import com.frontier.agent.domain.service.IdempotencyService;
+import com.frontier.agent.domain.service.PayloadFingerprint;
+import com.frontier.agent.worker.listener.ListenerMetrics.Stage;
 import io.awspring.cloud.sqs.annotation.SqsListener;
 import java.time.Instant;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
 @Component
+@ConditionalOnProperty(prefix = "frontier.note-parser", name = "batch-enabled", havingValue = "false", matchIfMissing = true)
 public class NoteParserJobListener {
 
     private static final Logger log = LoggerFactory.getLogger(NoteParserJobListener.class);
 
     private final NoteRepository noteRepository;
-    private final AgentRunRepository agentRunRepository;
+    private final AgentRunJournal agentRunJournal;
     private final IdempotencyService idempotencyService;
     private final S3DebugCapsuleWriter capsuleWriter;
+    private final ListenerDispatcher dispatcher;
+    private final ListenerMetrics.Instruments metrics;
 
     public NoteParserJobListener(
             NoteRepository noteRepository,
-            AgentRunRepository agentRunRepository,
+            AgentRunJournal agentRunJournal,
             IdempotencyService idempotencyService,
-            S3DebugCapsuleWriter capsuleWriter) {
+            S3DebugCapsuleWriter capsuleWriter,
+            ListenerDispatcher dispatcher,
+            ListenerMetrics listenerMetrics) {
         this.noteRepository = noteRepository;
-        this.agentRunRepository = agentRunRepository;
+        this.agentRunJournal = agentRunJournal;
         this.idempotencyService = idempotencyService;
         this.capsuleWriter = capsuleWriter;
+        this.dispatcher = dispatcher;
+        this.metrics = listenerMetrics.register("note_parser");
     }
 
     @SqsListener(value = "note-parser-queue")
-    public void handle(Map<String, Object> payload, @Header(name = "correlation_id", required = false) String correlationId) {
-        String bodyHash = Integer.toHexString(payload.toString().hashCode());
+    public CompletableFuture<Void> handle(Map<String, Object> payload,
+            @Header(name = "correlation_id", required = false) String correlationId,
+            @Header(name = ListenerMetrics.SENT_TIMESTAMP, required = false) String sentTimestamp) {
+        metrics.received(sentTimestamp);
+        return dispatcher.dispatch(() -> ListenerMetrics.withCorrelationId(correlationId, () -> process(payload, correlationId)));
+    }
+
+    private void process(Map<String, Object> payload, String correlationId) {
+        String bodyHash = PayloadFingerprint.of(payload);
         String idempotencyKey = "note-parser-" + bodyHash;
-        if (!idempotencyService.tryAcquire(idempotencyKey, "NoteParserAgent", java.time.Duration.ofHours(1))) {
+        if (!metrics.time(Stage.CLAIM,
+                () -> idempotencyService.tryAcquire(idempotencyKey, "NoteParserAgent", java.time.Duration.ofHours(1)))) {
+            metrics.duplicate();
             log.info("duplicate note parser invocation skipped for key {}", idempotencyKey);
             return;
         }
@@ -50,22 +70,24 @@ public class NoteParserJobListener {
         run.setInputHash(bodyHash);
         run.setStatus("STARTED");
         run.setStartedAt(Instant.now());
-        agentRunRepository.save(run);
+        agentRunJournal.start(run);
 
         try {
             Note note = new Note();
+            idempotencyService.replayIdentity("note", idempotencyKey).ifPresent(id -> note.assignIdentity(id, run.getStartedAt()));
             note.setUserId((String) payload.get("user_id"));
             note.setContent((String) payload.getOrDefault("content", ""));
-            noteRepository.save(note);
+            metrics.time(Stage.SAVE, () -> noteRepository.save(note));
             run.setStatus("SUCCEEDED");
         } catch (Exception ex) {
             log.error("Note parsing failed", ex);
             run.setStatus("FAILED");
             run.setLastError(ex.getMessage());
-            capsuleWriter.write("debug-capsules", idempotencyKey + ".json", payload);
+            metrics.time(Stage.CAPSULE, () -> capsuleWriter.write("debug-capsules", idempotencyKey + ".json", payload)
+                    .thenAccept(location -> log.info("debug capsule for key {} stored at {}", idempotencyKey, location)));
         } finally {
             run.setFinishedAt(Instant.now());
-            agentRunRepository.save(run);
+            agentRunJournal.finish(run);
         }
     }
 }
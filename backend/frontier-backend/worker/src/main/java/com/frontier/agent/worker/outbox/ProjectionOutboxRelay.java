@@ -0,0 +1,156 @@
+package com.frontier.agent.worker.outbox;
+
+import com.frontier.agent.clients.aws.DynamoProjectionWriter;
+import com.frontier.agent.domain.model.ProjectionOutbox;
+import com.frontier.agent.domain.repository.ProjectionOutboxRepository;
+import com.frontier.agent.worker.config.OutboxProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Drains {@code projection_outbox} into DynamoDB. Each batch runs under a Postgres
+ * advisory lock so only one worker relays at a time. Every row of the batch is submitted
+ * up front, so the batch pipeline can fill {@code BatchWriteItem} calls; only rows that
+ * target the same DynamoDB item wait for each other, in id order. The first failure for a
+ * user parks the rest of that user's undelivered rows until its retry succeeds.
+ */
+@Component
+@EnableConfigurationProperties(OutboxProperties.class)
+public class ProjectionOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectionOutboxRelay.class);
+    private static final long RELAY_LOCK_KEY = 0x6f7574626f78L;
+
+    private final ProjectionOutboxRepository repository;
+    private final DynamoProjectionWriter projectionWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+    private final Counter published;
+    private final Counter failed;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public ProjectionOutboxRelay(
+            ProjectionOutboxRepository repository,
+            DynamoProjectionWriter projectionWriter,
+            TransactionTemplate transactionTemplate,
+            OutboxProperties properties,
+            MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.projectionWriter = projectionWriter;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.published = meterRegistry.counter("frontier.outbox.published");
+        this.failed = meterRegistry.counter("frontier.outbox.failed");
+        TimeGauge.builder("frontier.outbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest undelivered projection")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${frontier.outbox.poll-interval:PT0.5S}")
+    public void drain() {
+        Integer drained;
+        do {
+            drained = transactionTemplate.execute(status -> drainBatch());
+        } while (drained != null && drained >= properties.getBatchSize());
+        var oldest = repository.findOldestCreatedAt();
+        lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, Instant.now()).toMillis()));
+    }
+
+    private int drainBatch() {
+        if (!repository.tryRelayLock(RELAY_LOCK_KEY)) {
+            return 0;
+        }
+        var batch = repository.findDueBatch(Instant.now(), properties.getBatchSize());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Map<String, List<ProjectionOutbox>> byUser = new LinkedHashMap<>();
+        Map<String, List<ProjectionOutbox>> byItem = new LinkedHashMap<>();
+        for (var row : batch) {
+            byUser.computeIfAbsent(row.getUserId(), ignore -> new ArrayList<>()).add(row);
+            var itemKey = DynamoProjectionWriter.timelineItemKey(
+                    row.getTargetTable(), row.getUserId(), row.getOccurredAt(), row.getEntryType());
+            byItem.computeIfAbsent(itemKey, ignore -> new ArrayList<>()).add(row);
+        }
+
+        Set<Long> delivered = ConcurrentHashMap.newKeySet();
+        Map<Long, Throwable> errors = new ConcurrentHashMap<>();
+        var chains = byItem.values().stream()
+                .map(rows -> publishInOrder(rows, delivered, errors))
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(chains).get(properties.getPublishTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            // Per-row outcomes are collected below.
+        } catch (TimeoutException ex) {
+            log.warn("Outbox batch of {} rows did not finish within {}", batch.size(), properties.getPublishTimeout());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Delivered rows are done even after a failure for the same user, since they went to
+        // other items. The user's first undelivered row backs off, and findDueBatch holds back
+        // every later row of that user behind it.
+        List<Long> done = new ArrayList<>();
+        for (var rows : byUser.values()) {
+            boolean parked = false;
+            for (var row : rows) {
+                if (delivered.contains(row.getId())) {
+                    done.add(row.getId());
+                } else if (!parked) {
+                    parked = true;
+                    var error = errors.get(row.getId());
+                    row.scheduleRetry(Instant.now().plus(backoff(row.getAttempts())),
+                            error != null ? String.valueOf(error.getMessage()) : "timed out");
+                    failed.increment();
+                    log.warn("Projection {} for user {} failed on attempt {}", row.getEntryId(), row.getUserId(), row.getAttempts(), error);
+                }
+            }
+        }
+        repository.deleteAllByIdInBatch(done);
+        published.increment(done.size());
+        return batch.size();
+    }
+
+    private CompletableFuture<Void> publishInOrder(List<ProjectionOutbox> rows, Set<Long> delivered, Map<Long, Throwable> errors) {
+        CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+        for (var row : rows) {
+            chain = chain.thenCompose(ignore -> projectionWriter.writeTimelineEntry(
+                            row.getTargetTable(), row.getUserId(), row.getOccurredAt(), row.getEntryType(),
+                            row.getEntryId().toString(), row.getMetadata())
+                    .whenComplete((result, throwable) -> {
+                        if (throwable == null) {
+                            delivered.add(row.getId());
+                        } else {
+                            errors.put(row.getId(), throwable);
+                        }
+                    }));
+        }
+        return chain;
+    }
+
+    private Duration backoff(int attempts) {
+        var delay = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts, 20));
+        return delay.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : delay;
+    }
+}
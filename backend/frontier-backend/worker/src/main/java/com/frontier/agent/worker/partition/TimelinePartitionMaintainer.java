@@ -0,0 +1,199 @@
+package com.frontier.agent.worker.partition;
+
+import com.frontier.agent.worker.config.TimelinePartitionProperties;
+import com.frontier.agent.worker.config.TimelinePartitionProperties.ExpiredAction;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps {@code timeline_entry} partitioned by month (see V8 to V11). Each run creates the
+ * partitions for the coming {@code premake-months} and detaches the ones that fell out of
+ * {@code retention-months}, archiving or dropping them. Retention therefore never deletes
+ * rows one by one, and autovacuum only has recent months to work through.
+ * <p>
+ * Every partition is created or detached in its own short transaction under an advisory
+ * lock and {@code lock-timeout}, so two workers never race and a busy table just defers
+ * the step to the next run. The single legacy partition that holds everything before the
+ * migration expires as a whole once its upper bound leaves the retention window.
+ */
+@Component
+@EnableConfigurationProperties(TimelinePartitionProperties.class)
+public class TimelinePartitionMaintainer {
+
+    static final String PARENT = "timeline_entry";
+    static final String DEFAULT_PARTITION = "timeline_entry_default";
+    static final String LEGACY_PARTITION = "timeline_entry_legacy";
+
+    private static final Logger log = LoggerFactory.getLogger(TimelinePartitionMaintainer.class);
+    private static final long MAINTENANCE_LOCK_KEY = 0x74696d656c696eL;
+    private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final DateTimeFormatter BOUND = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ssx");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TimelinePartitionProperties properties;
+    private final Clock clock = Clock.systemUTC();
+    private final Counter created;
+    private final Counter archived;
+    private final Counter dropped;
+    private final Counter failures;
+
+    public TimelinePartitionMaintainer(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                       TimelinePartitionProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.created = meterRegistry.counter("frontier.timeline_partitions", "action", "created");
+        this.archived = meterRegistry.counter("frontier.timeline_partitions", "action", "archived");
+        this.dropped = meterRegistry.counter("frontier.timeline_partitions", "action", "dropped");
+        this.failures = meterRegistry.counter("frontier.timeline_partitions.failures");
+    }
+
+    @Scheduled(initialDelayString = "${frontier.timeline-partitions.initial-delay:PT1M}",
+            fixedDelayString = "${frontier.timeline-partitions.interval:PT6H}")
+    public void maintain() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        var current = YearMonth.now(clock);
+        for (int i = 0; i <= properties.getPremakeMonths(); i++) {
+            var month = current.plusMonths(i);
+            step("create " + partitionName(month), () -> createMonth(month));
+        }
+        if (properties.getRetentionMonths() > 0) {
+            var threshold = monthStart(current.minusMonths(properties.getRetentionMonths()));
+            for (var partition : expiredPartitions(threshold)) {
+                step("expire " + partition, () -> expire(partition, threshold));
+            }
+        }
+    }
+
+    /**
+     * Rows already sitting in the default partition for this month are moved into the new
+     * partition in the same transaction; Postgres refuses to create it while they are there.
+     */
+    private void createMonth(YearMonth month) {
+        var name = partitionName(month);
+        if (exists(name)) {
+            return;
+        }
+        var from = monthStart(month);
+        var to = monthStart(month.plusMonths(1));
+        jdbcTemplate.execute("LOCK TABLE " + PARENT + " IN ACCESS EXCLUSIVE MODE");
+        var stray = Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION + " WHERE occurred_at >= ? AND occurred_at < ?)",
+                Boolean.class, from, to));
+        if (stray) {
+            jdbcTemplate.execute("CREATE TEMP TABLE timeline_entry_moving (LIKE " + PARENT + ") ON COMMIT DROP");
+            jdbcTemplate.update("""
+                            WITH moved AS (
+                                DELETE FROM %s WHERE occurred_at >= ? AND occurred_at < ? RETURNING *
+                            )
+                            INSERT INTO timeline_entry_moving SELECT * FROM moved
+                            """.formatted(DEFAULT_PARTITION),
+                    from, to);
+        }
+        jdbcTemplate.execute("CREATE TABLE %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')"
+                .formatted(name, PARENT, from.format(BOUND), to.format(BOUND)));
+        if (stray) {
+            var moved = jdbcTemplate.update("INSERT INTO " + PARENT + " SELECT * FROM timeline_entry_moving");
+            log.info("Moved {} timeline entries out of the default partition into {}", moved, name);
+        }
+        created.increment();
+        log.info("Created timeline partition {}", name);
+    }
+
+    private void expire(String partition, OffsetDateTime threshold) {
+        if (!expiredPartitions(threshold).contains(partition)) {
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE " + PARENT + " DETACH PARTITION " + partition);
+        if (properties.getExpiredAction() == ExpiredAction.DROP) {
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            dropped.increment();
+        } else {
+            var schema = quoteIdentifier(properties.getArchiveSchema());
+            jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + schema);
+            jdbcTemplate.execute("ALTER TABLE " + partition + " SET SCHEMA " + schema);
+            archived.increment();
+        }
+        log.info("Expired timeline partition {} ({})", partition, properties.getExpiredAction());
+    }
+
+    /** Attached partitions whose upper bound is at or before {@code threshold}. */
+    private List<String> expiredPartitions(OffsetDateTime threshold) {
+        var children = jdbcTemplate.queryForList("""
+                        SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                        WHERE i.inhparent = CAST(? AS regclass)
+                        ORDER BY c.relname
+                        """,
+                String.class, PARENT);
+        return children.stream()
+                .filter(child -> upperBound(child).filter(upper -> !upper.isAfter(threshold)).isPresent())
+                .toList();
+    }
+
+    private Optional<OffsetDateTime> upperBound(String partition) {
+        if (partition.equals(LEGACY_PARTITION)) {
+            return jdbcTemplate.queryForList("SELECT legacy_until FROM timeline_partition_state", OffsetDateTime.class)
+                    .stream().findFirst();
+        }
+        var prefix = PARENT + "_p";
+        if (!partition.startsWith(prefix)) {
+            return Optional.empty();
+        }
+        try {
+            var month = YearMonth.parse(partition.substring(prefix.length()), MONTH_SUFFIX);
+            return Optional.of(monthStart(month.plusMonths(1)));
+        } catch (RuntimeException ex) {
+            return Optional.empty();
+        }
+    }
+
+    private void step(String description, Runnable action) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                        "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, MAINTENANCE_LOCK_KEY))) {
+                    return;
+                }
+                jdbcTemplate.execute("SET LOCAL lock_timeout = " + Math.max(1, properties.getLockTimeout().toMillis()));
+                action.run();
+            });
+        } catch (DataAccessException ex) {
+            failures.increment();
+            log.warn("Timeline partition maintenance could not {}; retrying next run", description, ex);
+        }
+    }
+
+    private boolean exists(String table) {
+        return jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table);
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARENT + "_p" + month.format(MONTH_SUFFIX);
+    }
+
+    private static OffsetDateTime monthStart(YearMonth month) {
+        return month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+
+    private static String quoteIdentifier(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+}
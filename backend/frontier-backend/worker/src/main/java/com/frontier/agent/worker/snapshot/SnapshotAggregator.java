@@ -0,0 +1,258 @@
+package com.frontier.agent.worker.snapshot;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frontier.agent.worker.config.SnapshotProperties;
+import com.frontier.agent.worker.snapshot.SnapshotStore.Cursor;
+import com.frontier.agent.worker.snapshot.SnapshotStore.SealedWindow;
+import com.frontier.agent.worker.snapshot.SnapshotStore.TailRow;
+import com.frontier.agent.worker.snapshot.SnapshotStore.WindowCount;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Builds {@code snapshot} rows from {@code timeline_entry} without rescanning it. Each run tails
+ * new entries past the cursor, in the commit order of their inserting transactions, and folds
+ * them into their user's open window in memory. Windows
+ * whose end plus {@code seal-delay} has passed are sealed, and all snapshot rows are upserted
+ * in JDBC batches. The cursor moves in the same transaction.
+ * <p>
+ * An entry for a window that was already sealed is late. Only that user's affected windows
+ * are recounted from the table and upserted again. Windows starting beyond {@code horizon}
+ * are not kept in memory; their entries are skipped by the tail and counted from the table,
+ * up to the cursor, once the horizon reaches them. The in-memory state is trusted only while
+ * this worker was the last to move the cursor. After a failover or a failed run, the open
+ * windows up to the horizon are rebuilt with grouped queries over pages of users.
+ */
+@Component
+@EnableConfigurationProperties(SnapshotProperties.class)
+public class SnapshotAggregator {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotAggregator.class);
+
+    private final SnapshotStore store;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final SnapshotProperties properties;
+    private final long windowSeconds;
+    private final Map<WindowKey, WindowAggregate> openWindows = new HashMap<>();
+    private final Counter folded;
+    private final Counter late;
+    private final Counter deferred;
+    private final Counter sealed;
+    private final Counter reaggregated;
+    private Cursor owned;
+    private Instant horizonEnd;
+    private volatile int openWindowCount;
+
+    public SnapshotAggregator(SnapshotStore store, TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+                              SnapshotProperties properties, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.windowSeconds = Math.max(1, properties.getWindow().toSeconds());
+        this.folded = meterRegistry.counter("frontier.snapshot.entries", "result", "folded");
+        this.late = meterRegistry.counter("frontier.snapshot.entries", "result", "late");
+        this.deferred = meterRegistry.counter("frontier.snapshot.entries", "result", "deferred");
+        this.sealed = meterRegistry.counter("frontier.snapshot.windows", "result", "sealed");
+        this.reaggregated = meterRegistry.counter("frontier.snapshot.windows", "result", "reaggregated");
+        Gauge.builder("frontier.snapshot.open_windows", this, aggregator -> aggregator.openWindowCount)
+                .description("User windows being aggregated in memory")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${frontier.snapshot.poll-interval:PT5S}")
+    public void run() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        synchronized (openWindows) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> aggregate());
+            } catch (RuntimeException ex) {
+                log.warn("Snapshot aggregation failed; open windows will be rebuilt", ex);
+                owned = null;
+                openWindows.clear();
+            }
+            openWindowCount = openWindows.size();
+        }
+    }
+
+    private void aggregate() {
+        var locked = store.lockCursor();
+        if (locked.isEmpty()) {
+            owned = null;
+            return;
+        }
+        var cursor = locked.get();
+        var now = Instant.now();
+        if (!cursor.samePosition(owned)) {
+            rebuild(cursor, now);
+        } else {
+            extendHorizon(cursor, now);
+        }
+        Set<WindowKey> lateWindows = new HashSet<>();
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            var rows = store.tail(cursor, properties.getBatchSize());
+            for (var row : rows) {
+                fold(row, now, lateWindows);
+            }
+            if (!rows.isEmpty()) {
+                var last = rows.get(rows.size() - 1);
+                cursor = new Cursor(last.txId(), last.id(), cursor.sealedThrough());
+            }
+            if (rows.size() < properties.getBatchSize()) {
+                break;
+            }
+        }
+        List<SealedWindow> writes = new ArrayList<>();
+        sealClosed(now, writes);
+        reaggregate(lateWindows, writes);
+        store.upsert(writes, properties.getWriteBatchSize());
+        cursor = new Cursor(cursor.txId(), cursor.entryId(), now);
+        store.saveCursor(cursor);
+        owned = cursor;
+    }
+
+    private void fold(TailRow row, Instant now, Set<WindowKey> lateWindows) {
+        var key = new WindowKey(row.userId(), windowStart(row.occurredAt()));
+        if (!key.windowStart().isBefore(horizonEnd)) {
+            deferred.increment();
+            return;
+        }
+        var aggregate = openWindows.get(key);
+        if (aggregate == null) {
+            if (isClosed(key.windowStart(), now)) {
+                lateWindows.add(key);
+                late.increment();
+                return;
+            }
+            aggregate = new WindowAggregate();
+            openWindows.put(key, aggregate);
+        }
+        aggregate.add(row.entryType(), row.occurredAt());
+        folded.increment();
+    }
+
+    private void sealClosed(Instant now, List<SealedWindow> writes) {
+        var iterator = openWindows.entrySet().iterator();
+        while (iterator.hasNext()) {
+            var entry = iterator.next();
+            if (isClosed(entry.getKey().windowStart(), now)) {
+                writes.add(toSnapshot(entry.getKey(), entry.getValue()));
+                iterator.remove();
+                sealed.increment();
+            }
+        }
+    }
+
+    /** Recounts late windows, one query per user spanning that user's earliest to latest late window. */
+    private void reaggregate(Set<WindowKey> lateWindows, List<SealedWindow> writes) {
+        Map<String, TreeSet<Instant>> byUser = new HashMap<>();
+        for (var key : lateWindows) {
+            byUser.computeIfAbsent(key.userId(), ignore -> new TreeSet<>()).add(key.windowStart());
+        }
+        for (var user : byUser.entrySet()) {
+            var starts = user.getValue();
+            Map<WindowKey, WindowAggregate> recounted = new HashMap<>();
+            for (var count : store.countWindows(List.of(user.getKey()), starts.first(), windowEnd(starts.last()), null,
+                    windowSeconds)) {
+                if (starts.contains(count.windowStart())) {
+                    add(recounted, count);
+                }
+            }
+            recounted.forEach((key, aggregate) -> writes.add(toSnapshot(key, aggregate)));
+            reaggregated.increment(recounted.size());
+        }
+    }
+
+    /**
+     * Restores the windows that were still open when the cursor was last saved, up to the
+     * horizon, counting only entries at or before the cursor so the tail does not fold them
+     * twice. Users are counted a page at a time so each query stays on their index range.
+     */
+    private void rebuild(Cursor cursor, Instant now) {
+        openWindows.clear();
+        var openFrom = windowStart(cursor.sealedThrough().minus(properties.getSealDelay())
+                .minus(properties.getWindow())).plusSeconds(windowSeconds);
+        horizonEnd = horizonEnd(now);
+        int pageSize = Math.max(1, properties.getRebuildUserBatchSize());
+        var after = "";
+        while (true) {
+            var users = store.users(after, pageSize);
+            if (!users.isEmpty()) {
+                for (var count : store.countWindows(users, openFrom, horizonEnd, cursor, windowSeconds)) {
+                    add(openWindows, count);
+                }
+                after = users.get(users.size() - 1);
+            }
+            if (users.size() < pageSize) {
+                break;
+            }
+        }
+        log.info("Rebuilt {} open snapshot windows from {} to {}", openWindows.size(), openFrom, horizonEnd);
+    }
+
+    /** Brings windows the horizon has just reached into memory with what the tail already skipped. */
+    private void extendHorizon(Cursor cursor, Instant now) {
+        var next = horizonEnd(now);
+        if (!next.isAfter(horizonEnd)) {
+            return;
+        }
+        for (var count : store.countWindows(null, horizonEnd, next, cursor, windowSeconds)) {
+            add(openWindows, count);
+        }
+        horizonEnd = next;
+    }
+
+    /** Start of the first window kept out of memory. */
+    private Instant horizonEnd(Instant now) {
+        return windowStart(now.plus(properties.getHorizon())).plusSeconds(windowSeconds);
+    }
+
+    private static void add(Map<WindowKey, WindowAggregate> target, WindowCount count) {
+        target.computeIfAbsent(new WindowKey(count.userId(), count.windowStart()), ignore -> new WindowAggregate())
+                .add(count.entryType(), count.count(), count.firstAt(), count.lastAt());
+    }
+
+    private SealedWindow toSnapshot(WindowKey key, WindowAggregate aggregate) {
+        try {
+            return new SealedWindow(key.userId(), key.windowStart(), windowEnd(key.windowStart()),
+                    objectMapper.writeValueAsString(aggregate.insights()),
+                    aggregate.loadScore(properties.getFullLoadEntries()));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize snapshot insights", ex);
+        }
+    }
+
+    private boolean isClosed(Instant windowStart, Instant now) {
+        return !windowEnd(windowStart).plus(properties.getSealDelay()).isAfter(now);
+    }
+
+    private Instant windowStart(Instant at) {
+        return Instant.ofEpochSecond(Math.floorDiv(at.getEpochSecond(), windowSeconds) * windowSeconds);
+    }
+
+    private Instant windowEnd(Instant windowStart) {
+        return windowStart.plusSeconds(windowSeconds);
+    }
+
+    private record WindowKey(String userId, Instant windowStart) {
+    }
+}
@@ -0,0 +1,164 @@
+package com.frontier.agent.worker.snapshot;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/** SQL behind {@link SnapshotAggregator}; every method expects the caller's transaction. */
+@Component
+class SnapshotStore {
+
+    static final String CURSOR_NAME = "timeline";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    SnapshotStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Empty when another worker holds the cursor. */
+    Optional<Cursor> lockCursor() {
+        return jdbcTemplate.query("""
+                        SELECT CAST(tx_id AS text), entry_id, sealed_through FROM snapshot_cursor
+                        WHERE name = ? FOR UPDATE SKIP LOCKED
+                        """,
+                (rs, row) -> new Cursor(Long.parseLong(rs.getString(1)), rs.getObject(2, UUID.class), instant(rs, 3)),
+                CURSOR_NAME).stream().findFirst();
+    }
+
+    void saveCursor(Cursor cursor) {
+        jdbcTemplate.update("""
+                        UPDATE snapshot_cursor SET tx_id = CAST(? AS xid8), entry_id = ?, sealed_through = ?, updated_at = now()
+                        WHERE name = ?
+                        """,
+                Long.toString(cursor.txId()), cursor.entryId(), timestamp(cursor.sealedThrough()), CURSOR_NAME);
+    }
+
+    /**
+     * Entries after the cursor in commit order. Only transactions older than every one still
+     * in flight are read, so no row can later commit behind the cursor; a long-running
+     * transaction delays the tail rather than being skipped by it.
+     */
+    List<TailRow> tail(Cursor after, int limit) {
+        return jdbcTemplate.query("""
+                        SELECT id, CAST(tx_id AS text), user_id, entry_type, occurred_at FROM timeline_entry
+                        WHERE tx_id IS NOT NULL AND (tx_id, id) > (CAST(? AS xid8), ?)
+                          AND tx_id < pg_snapshot_xmin(pg_current_snapshot())
+                        ORDER BY tx_id, id
+                        LIMIT ?
+                        """,
+                (rs, row) -> new TailRow(rs.getObject(1, UUID.class), Long.parseLong(rs.getString(2)), rs.getString(3),
+                        rs.getString(4), instant(rs, 5)),
+                Long.toString(after.txId()), after.entryId(), limit);
+    }
+
+    /**
+     * Up to {@code limit} users with timeline entries, in order, after {@code after}. Skips
+     * from one user to the next through {@code idx_timeline_user_time} instead of reading
+     * every entry.
+     */
+    List<String> users(String after, int limit) {
+        return jdbcTemplate.queryForList("""
+                        WITH RECURSIVE users (user_id) AS (
+                            (SELECT user_id FROM timeline_entry WHERE user_id > ? ORDER BY user_id LIMIT 1)
+                            UNION ALL
+                            SELECT (SELECT t.user_id FROM timeline_entry t WHERE t.user_id > u.user_id
+                                    ORDER BY t.user_id LIMIT 1)
+                            FROM users u WHERE u.user_id IS NOT NULL
+                        )
+                        SELECT user_id FROM users WHERE user_id IS NOT NULL LIMIT ?
+                        """,
+                String.class, after, limit);
+    }
+
+    /**
+     * Per-window, per-type counts straight from {@code timeline_entry}. Used to rebuild open
+     * windows after taking over the cursor ({@code upTo} set) and to re-aggregate one user's
+     * sealed windows. {@code userIds} limits the count to those users; {@code null} counts
+     * everyone, which callers only do for a narrow time range.
+     */
+    List<WindowCount> countWindows(List<String> userIds, Instant from, Instant to, Cursor upTo, long windowSeconds) {
+        var sql = new StringBuilder("""
+                SELECT user_id, to_timestamp(floor(extract(epoch FROM occurred_at) / ?) * ?) AS window_start,
+                       entry_type, count(*), min(occurred_at), max(occurred_at)
+                FROM timeline_entry
+                WHERE occurred_at >= ?
+                """);
+        List<Object> args = new ArrayList<>(List.of(windowSeconds, windowSeconds, timestamp(from)));
+        if (to != null) {
+            sql.append(" AND occurred_at < ?");
+            args.add(timestamp(to));
+        }
+        if (userIds != null) {
+            sql.append(" AND user_id = ANY (?)");
+            args.add(userIds.toArray(String[]::new));
+        }
+        if (upTo != null) {
+            // NULL tx_id marks rows folded before V18, all of them behind any cursor.
+            sql.append(" AND (tx_id IS NULL OR (tx_id, id) <= (CAST(? AS xid8), ?))");
+            args.add(Long.toString(upTo.txId()));
+            args.add(upTo.entryId());
+        }
+        sql.append(" GROUP BY 1, 2, 3");
+        return jdbcTemplate.query(sql.toString(),
+                (rs, row) -> new WindowCount(rs.getString(1), instant(rs, 2), rs.getString(3), rs.getLong(4),
+                        instant(rs, 5), instant(rs, 6)),
+                args.toArray());
+    }
+
+    void upsert(List<SealedWindow> windows, int batchSize) {
+        if (windows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO snapshot (user_id, window_start, window_end, insights, load_score)
+                        VALUES (?, ?, ?, CAST(? AS jsonb), ?)
+                        ON CONFLICT (user_id, window_start) DO UPDATE
+                        SET window_end = EXCLUDED.window_end,
+                            insights = EXCLUDED.insights,
+                            load_score = EXCLUDED.load_score,
+                            updated_at = now(),
+                            version = snapshot.version + 1
+                        """,
+                windows, batchSize, (ps, window) -> {
+                    ps.setString(1, window.userId());
+                    ps.setObject(2, timestamp(window.windowStart()));
+                    ps.setObject(3, timestamp(window.windowEnd()));
+                    ps.setString(4, window.insights());
+                    ps.setShort(5, window.loadScore());
+                });
+    }
+
+    private static Instant instant(ResultSet rs, int column) throws SQLException {
+        var value = rs.getObject(column, OffsetDateTime.class);
+        return value != null ? value.toInstant() : null;
+    }
+
+    private static OffsetDateTime timestamp(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+
+    record Cursor(long txId, UUID entryId, Instant sealedThrough) {
+
+        boolean samePosition(Cursor other) {
+            return other != null && txId == other.txId && entryId.equals(other.entryId);
+        }
+    }
+
+    record TailRow(UUID id, long txId, String userId, String entryType, Instant occurredAt) {
+    }
+
+    record WindowCount(String userId, Instant windowStart, String entryType, long count, Instant firstAt, Instant lastAt) {
+    }
+
+    record SealedWindow(String userId, Instant windowStart, Instant windowEnd, String insights, short loadScore) {
+    }
+}
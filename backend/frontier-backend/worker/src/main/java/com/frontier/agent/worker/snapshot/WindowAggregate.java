@@ -0,0 +1,49 @@
+package com.frontier.agent.worker.snapshot;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/** Running state of one user's window; each fold is constant time. */
+final class WindowAggregate {
+
+    private final Map<String, long[]> countsByType = new LinkedHashMap<>(8);
+    private long total;
+    private Instant firstAt;
+    private Instant lastAt;
+
+    void add(String entryType, Instant occurredAt) {
+        add(entryType, 1, occurredAt, occurredAt);
+    }
+
+    void add(String entryType, long count, Instant first, Instant last) {
+        countsByType.computeIfAbsent(entryType, ignore -> new long[1])[0] += count;
+        total += count;
+        if (firstAt == null || first.isBefore(firstAt)) {
+            firstAt = first;
+        }
+        if (lastAt == null || last.isAfter(lastAt)) {
+            lastAt = last;
+        }
+    }
+
+    long total() {
+        return total;
+    }
+
+    short loadScore(int fullLoadEntries) {
+        return (short) Math.min(100, Math.round(100.0 * total / Math.max(1, fullLoadEntries)));
+    }
+
+    Map<String, Object> insights() {
+        Map<String, Long> byType = new TreeMap<>();
+        countsByType.forEach((type, count) -> byType.put(type, count[0]));
+        Map<String, Object> insights = new LinkedHashMap<>();
+        insights.put("entries", total);
+        insights.put("byType", byType);
+        insights.put("firstAt", firstAt != null ? firstAt.toString() : null);
+        insights.put("lastAt", lastAt != null ? lastAt.toString() : null);
+        return insights;
+    }
+}